@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
 import org.springaicommunity.agentcore.context.AgentCoreContext;
+import org.springaicommunity.agentcore.context.AgentCoreContextHolder;
 import org.springaicommunity.agentcore.context.AgentCoreHeaders;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.web.bind.annotation.RestController;
@@ -34,7 +35,12 @@ public class SseChatController {
 						.subscribeOn(Schedulers.parallel())
 						// Converting chunks to upper case in parallel threads
 						.map(c -> {
-							System.out.println("Processing chunk '" + c + "' on thread: " + Thread.currentThread().getName());
+							// The invocation's context follows the chunks to the parallel threads when
+							// Micrometer context-propagation is on the classpath and automatic
+							// propagation is enabled, otherwise there is none
+							var context = AgentCoreContextHolder.getContext();
+							var sessionId = context != null ? context.getSessionId() : "unknown";
+							System.out.println("Processing chunk '" + c + "' of session " + sessionId + " on thread: " + Thread.currentThread().getName());
 							return c.toUpperCase();
 						}));
 	}
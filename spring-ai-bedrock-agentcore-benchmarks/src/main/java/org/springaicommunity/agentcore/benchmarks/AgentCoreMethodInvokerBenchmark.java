@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springaicommunity.agentcore.context.AgentCoreContext;
+import org.springaicommunity.agentcore.context.AgentCoreHeaders;
+import org.springaicommunity.agentcore.service.AgentCoreMethodInvoker;
+import org.springaicommunity.agentcore.service.AgentCoreMethodRegistry;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Benchmarks {@link AgentCoreMethodInvoker#invokeAgentMethod(Object, HttpHeaders)} for
+ * each supported method signature. Requests have the shape the invocations controller
+ * hands over: a {@code String} for {@code text/plain} bodies and a {@code Map} for JSON
+ * bodies.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AgentCoreMethodInvokerBenchmark {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final HttpHeaders headers = new HttpHeaders();
+
+	private final String textRequest = "What is the weather in Seattle?";
+
+	private final Map<String, Object> jsonRequest = Map.of("prompt", "What is the weather in Seattle?", "sessionId",
+			"session-1234");
+
+	private AgentCoreMethodInvoker stringInvoker;
+
+	private AgentCoreMethodInvoker stringWithContextInvoker;
+
+	private AgentCoreMethodInvoker pojoInvoker;
+
+	private AgentCoreMethodInvoker pojoWithContextInvoker;
+
+	private AgentCoreMethodInvoker mapInvoker;
+
+	private AgentCoreMethodInvoker mapWithContextInvoker;
+
+	@Setup
+	public void setUp() throws NoSuchMethodException {
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		headers.set(AgentCoreHeaders.SESSION_ID, "session-1234");
+		headers.set(AgentCoreHeaders.REQUEST_ID, "2c5c5a8e-8f4e-4b6a-9d1e-2f3a4b5c6d7e");
+		headers.set(AgentCoreHeaders.TRACE_ID, "Root=1-5759e988-bd862e3fe1be46a994272793");
+
+		stringInvoker = invoker("prompt", String.class);
+		stringWithContextInvoker = invoker("promptWithContext", String.class, AgentCoreContext.class);
+		pojoInvoker = invoker("request", PromptRequest.class);
+		pojoWithContextInvoker = invoker("requestWithContext", PromptRequest.class, AgentCoreContext.class);
+		mapInvoker = invoker("map", Map.class);
+		mapWithContextInvoker = invoker("mapWithContext", Map.class, AgentCoreContext.class);
+	}
+
+	@Benchmark
+	public Object string() throws Exception {
+		return stringInvoker.invokeAgentMethod(textRequest, headers);
+	}
+
+	@Benchmark
+	public Object stringWithContext() throws Exception {
+		return stringWithContextInvoker.invokeAgentMethod(textRequest, headers);
+	}
+
+	@Benchmark
+	public Object pojo() throws Exception {
+		return pojoInvoker.invokeAgentMethod(jsonRequest, headers);
+	}
+
+	@Benchmark
+	public Object pojoWithContext() throws Exception {
+		return pojoWithContextInvoker.invokeAgentMethod(jsonRequest, headers);
+	}
+
+	@Benchmark
+	public Object map() throws Exception {
+		return mapInvoker.invokeAgentMethod(jsonRequest, headers);
+	}
+
+	@Benchmark
+	public Object mapWithContext() throws Exception {
+		return mapWithContextInvoker.invokeAgentMethod(jsonRequest, headers);
+	}
+
+	private AgentCoreMethodInvoker invoker(String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
+		var registry = new AgentCoreMethodRegistry();
+		registry.registerMethod(new Agent(), Agent.class.getMethod(methodName, parameterTypes));
+		return AgentCoreMethodInvoker.builder(objectMapper, registry).build();
+	}
+
+	public record PromptRequest(String prompt, String sessionId) {
+	}
+
+	public record PromptResponse(String answer) {
+	}
+
+	public static class Agent {
+
+		public String prompt(String prompt) {
+			return prompt;
+		}
+
+		public String promptWithContext(String prompt, AgentCoreContext context) {
+			return context.getHeader(AgentCoreHeaders.SESSION_ID);
+		}
+
+		public PromptResponse request(PromptRequest request) {
+			return new PromptResponse(request.prompt());
+		}
+
+		public PromptResponse requestWithContext(PromptRequest request, AgentCoreContext context) {
+			return new PromptResponse(context.getHeader(AgentCoreHeaders.SESSION_ID));
+		}
+
+		public Map<String, Object> map(Map<String, Object> request) {
+			return request;
+		}
+
+		public Map<String, Object> mapWithContext(Map<String, Object> request, AgentCoreContext context) {
+			return Map.of("sessionId", context.getHeader(AgentCoreHeaders.SESSION_ID));
+		}
+
+	}
+
+}
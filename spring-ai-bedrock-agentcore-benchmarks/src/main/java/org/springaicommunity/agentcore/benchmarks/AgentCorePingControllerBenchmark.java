@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springaicommunity.agentcore.controller.AgentCorePingController;
+import org.springaicommunity.agentcore.ping.AgentCoreTaskTracker;
+import org.springaicommunity.agentcore.ping.StaticAgentCorePingService;
+
+/**
+ * Benchmarks {@link AgentCorePingController#ping()} with the static ping service, idle
+ * and with background tasks in flight.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AgentCorePingControllerBenchmark {
+
+	private AgentCorePingController idle;
+
+	private AgentCorePingController busy;
+
+	@Setup
+	public void setUp() {
+		idle = new AgentCorePingController(new StaticAgentCorePingService(new AgentCoreTaskTracker()));
+		var tracker = new AgentCoreTaskTracker();
+		tracker.increment();
+		busy = new AgentCorePingController(new StaticAgentCorePingService(tracker));
+	}
+
+	@Benchmark
+	public Object healthy() {
+		return idle.ping();
+	}
+
+	@Benchmark
+	public Object healthyBusy() {
+		return busy.ping();
+	}
+
+}
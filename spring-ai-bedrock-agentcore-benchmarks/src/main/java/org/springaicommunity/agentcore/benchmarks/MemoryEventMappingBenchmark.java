@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.benchmarks;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepository;
+import software.amazon.awssdk.services.bedrockagentcore.BedrockAgentCoreClient;
+import software.amazon.awssdk.services.bedrockagentcore.model.Content;
+import software.amazon.awssdk.services.bedrockagentcore.model.Conversational;
+import software.amazon.awssdk.services.bedrockagentcore.model.Event;
+import software.amazon.awssdk.services.bedrockagentcore.model.ListEventsRequest;
+import software.amazon.awssdk.services.bedrockagentcore.model.ListEventsResponse;
+import software.amazon.awssdk.services.bedrockagentcore.model.PayloadType;
+import software.amazon.awssdk.services.bedrockagentcore.model.Role;
+
+import org.springframework.ai.chat.messages.Message;
+
+/**
+ * Benchmarks the mapping of AgentCore Memory events to Spring AI messages in
+ * {@link AgentCoreShortMemoryRepository#findByConversationId(String)}. The client returns
+ * a precomputed page, so the measurement covers request building, the event to message
+ * mapping and the repository bookkeeping but no network I/O.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemoryEventMappingBenchmark {
+
+	@Param({ "10", "100" })
+	public int events;
+
+	private AgentCoreShortMemoryRepository repository;
+
+	@Setup
+	public void setUp() {
+		var page = ListEventsResponse.builder()
+			.events(IntStream.range(0, events).mapToObj(MemoryEventMappingBenchmark::event).toList())
+			.build();
+		repository = new AgentCoreShortMemoryRepository("benchmark-memory", new ConstantClient(page), null,
+				"default-session", events, false);
+	}
+
+	@Benchmark
+	public List<Message> findByConversationId() {
+		return repository.findByConversationId("actor:session");
+	}
+
+	private static Event event(int i) {
+		return Event.builder()
+			.memoryId("benchmark-memory")
+			.actorId("actor")
+			.sessionId("session")
+			.eventId("event-" + i)
+			.eventTimestamp(Instant.ofEpochSecond(1_700_000_000L + i))
+			.payload(PayloadType.builder()
+				.conversational(Conversational.builder()
+					.role(i % 2 == 0 ? Role.USER : Role.ASSISTANT)
+					.content(Content.builder().text("Message " + i + " of a typical chat turn").build())
+					.build())
+				.build())
+			.build();
+	}
+
+	private static final class ConstantClient implements BedrockAgentCoreClient {
+
+		private final ListEventsResponse page;
+
+		ConstantClient(ListEventsResponse page) {
+			this.page = page;
+		}
+
+		@Override
+		public ListEventsResponse listEvents(ListEventsRequest request) {
+			return page;
+		}
+
+		@Override
+		public String serviceName() {
+			return SERVICE_NAME;
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springaicommunity.agentcore.throttle.RateLimitingFilter;
+import org.springaicommunity.agentcore.throttle.ThrottleConfiguration;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Benchmarks {@link RateLimitingFilter#doFilter} on the invocations path, for a single
+ * client and for requests spread over many clients (distinct {@code X-Forwarded-For}
+ * addresses, each with its own bucket), plus the pass-through of paths that are not rate
+ * limited. Limits are high enough that requests are never rejected.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimitingFilterBenchmark {
+
+	private static final int CLIENTS = 1024;
+
+	private static final FilterChain CHAIN = (request, response) -> {
+	};
+
+	private RateLimitingFilter filter;
+
+	@Setup
+	public void setUp() {
+		filter = new RateLimitingFilter(Integer.MAX_VALUE, Integer.MAX_VALUE);
+	}
+
+	@State(Scope.Thread)
+	public static class Requests {
+
+		MockHttpServletRequest invocation;
+
+		MockHttpServletRequest[] clients;
+
+		MockHttpServletRequest other;
+
+		MockHttpServletResponse response;
+
+		int next;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			invocation = request(ThrottleConfiguration.INVOCATIONS_PATH);
+			invocation.setRemoteAddr("10.0.0.1");
+			clients = new MockHttpServletRequest[CLIENTS];
+			for (int i = 0; i < CLIENTS; i++) {
+				clients[i] = request(ThrottleConfiguration.INVOCATIONS_PATH);
+				clients[i].addHeader("X-Forwarded-For", "10.0." + (i / 256) + "." + (i % 256) + ", 172.16.0.1");
+			}
+			other = request("/actuator/health");
+			response = new MockHttpServletResponse();
+		}
+
+		private static MockHttpServletRequest request(String path) {
+			var request = new MockHttpServletRequest("POST", path);
+			request.setRequestURI(path);
+			return request;
+		}
+
+	}
+
+	@Benchmark
+	public void singleClient(Requests requests) throws IOException, ServletException {
+		filter.doFilter(requests.invocation, requests.response, CHAIN);
+	}
+
+	@Benchmark
+	public void manyClients(Requests requests) throws IOException, ServletException {
+		var request = requests.clients[requests.next++ & (CLIENTS - 1)];
+		filter.doFilter(request, requests.response, CHAIN);
+	}
+
+	@Benchmark
+	public void notRateLimited(Requests requests) throws IOException, ServletException {
+		filter.doFilter(requests.other, requests.response, CHAIN);
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+/**
+ * {@link ChatModel} that answers every prompt with the same text after a fixed delay, so
+ * that load tests measure the agent rather than a model provider. Streaming emits one
+ * token at a time.
+ */
+public class FakeChatModel implements ChatModel {
+
+	private final Duration latency;
+
+	private final Duration tokenDelay;
+
+	private final List<String> tokens;
+
+	private final String answer;
+
+	public FakeChatModel(Duration latency, int tokens, Duration tokenDelay) {
+		this.latency = latency;
+		this.tokenDelay = tokenDelay;
+		this.tokens = IntStream.range(0, tokens).mapToObj(i -> "token" + i + " ").toList();
+		this.answer = this.tokens.stream().collect(Collectors.joining());
+	}
+
+	@Override
+	public ChatResponse call(Prompt prompt) {
+		try {
+			Thread.sleep(latency.plus(tokenDelay.multipliedBy(tokens.size())).toMillis());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return response(answer);
+	}
+
+	@Override
+	public Flux<ChatResponse> stream(Prompt prompt) {
+		return Flux.fromIterable(tokens)
+			.delayElements(tokenDelay)
+			.delaySubscription(latency)
+			.map(FakeChatModel::response);
+	}
+
+	private static ChatResponse response(String text) {
+		return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+	}
+
+}
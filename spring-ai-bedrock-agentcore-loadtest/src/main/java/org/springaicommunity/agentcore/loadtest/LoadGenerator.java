@@ -0,0 +1,242 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.agentcore.context.AgentCoreHeaders;
+import org.springaicommunity.agentcore.throttle.ThrottleConfiguration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/**
+ * Drives an agent with a fixed number of virtual users. Each user sends invocations back
+ * to back on its own session, picking the request type by the configured
+ * {@link LoadTestProperties.Mix}, while a separate prober calls {@code /ping} at a fixed
+ * interval. Requests started during the warmup are not recorded.
+ */
+public class LoadGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+	private static final String PROMPT = "Summarize the status of my last order in two sentences.";
+
+	private final LoadTestProperties properties;
+
+	private final URI invocationsUri;
+
+	private final URI pingUri;
+
+	private final HttpClient httpClient;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Scenario[] weightedScenarios;
+
+	private final Map<Scenario, ScenarioRecorder> recorders = new EnumMap<>(Scenario.class);
+
+	public LoadGenerator(LoadTestProperties properties, URI baseUri) {
+		this.properties = properties;
+		this.invocationsUri = baseUri.resolve(ThrottleConfiguration.INVOCATIONS_PATH);
+		this.pingUri = baseUri.resolve(ThrottleConfiguration.PING_PATH);
+		this.httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(properties.requestTimeout())
+			.executor(Executors.newCachedThreadPool(daemonThreads("loadtest-http-")))
+			.build();
+		var mix = properties.mix();
+		var scenarios = new ArrayList<Scenario>();
+		scenarios.addAll(Collections.nCopies(mix.json(), Scenario.JSON));
+		scenarios.addAll(Collections.nCopies(mix.text(), Scenario.TEXT));
+		scenarios.addAll(Collections.nCopies(mix.sse(), Scenario.SSE));
+		if (scenarios.isEmpty()) {
+			throw new IllegalArgumentException("At least one invocation type needs a positive weight");
+		}
+		this.weightedScenarios = scenarios.toArray(Scenario[]::new);
+		for (var scenario : Scenario.values()) {
+			recorders.put(scenario, new ScenarioRecorder());
+		}
+	}
+
+	/**
+	 * Runs the warmup and the measurement and returns the recorded outcome of each
+	 * scenario.
+	 */
+	public Map<Scenario, ScenarioRecorder> run() throws InterruptedException {
+		long measureFrom = System.nanoTime() + properties.warmup().toNanos();
+		long end = measureFrom + properties.duration().toNanos();
+		logger.info("Starting {} virtual users against {}, warmup {}, measuring {}", properties.concurrency(),
+				invocationsUri, properties.warmup(), properties.duration());
+
+		var pinger = Executors.newSingleThreadScheduledExecutor(daemonThreads("loadtest-ping-"));
+		pinger.scheduleAtFixedRate(() -> ping(measureFrom), 0, properties.pingInterval().toNanos(),
+				TimeUnit.NANOSECONDS);
+		ExecutorService users = Executors.newFixedThreadPool(properties.concurrency(), daemonThreads("loadtest-user-"));
+		for (int i = 0; i < properties.concurrency(); i++) {
+			var sessionId = "loadtest-session-" + i;
+			users.execute(() -> {
+				while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+					invoke(nextScenario(), sessionId, measureFrom);
+				}
+			});
+		}
+		users.shutdown();
+		var grace = properties.warmup().plus(properties.duration()).plus(properties.requestTimeout().multipliedBy(2));
+		if (!users.awaitTermination(grace.toMillis(), TimeUnit.MILLISECONDS)) {
+			logger.warn("Virtual users did not finish in time");
+			users.shutdownNow();
+		}
+		pinger.shutdownNow();
+		pinger.awaitTermination(properties.requestTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		return recorders;
+	}
+
+	private Scenario nextScenario() {
+		return weightedScenarios[ThreadLocalRandom.current().nextInt(weightedScenarios.length)];
+	}
+
+	private void invoke(Scenario scenario, String sessionId, long measureFrom) {
+		var request = HttpRequest.newBuilder(invocationsUri)
+			.timeout(properties.requestTimeout())
+			.header(AgentCoreHeaders.SESSION_ID, sessionId);
+		switch (scenario) {
+			case JSON -> request.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+				.POST(BodyPublishers.ofString(json(false)));
+			case TEXT -> request.header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+				.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+				.POST(BodyPublishers.ofString(PROMPT));
+			case SSE -> request.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+				.POST(BodyPublishers.ofString(json(true)));
+			default -> throw new IllegalArgumentException("Not an invocation: " + scenario);
+		}
+		long start = System.nanoTime();
+		var recorder = start >= measureFrom ? recorders.get(scenario) : null;
+		try {
+			if (scenario == Scenario.SSE) {
+				var response = httpClient.send(request.build(), BodyHandlers.ofLines());
+				try (var lines = response.body()) {
+					boolean firstEvent = true;
+					for (var iterator = lines.iterator(); iterator.hasNext();) {
+						if (iterator.next().startsWith("data:") && firstEvent) {
+							firstEvent = false;
+							if (recorder != null && response.statusCode() == HttpStatus.OK.value()) {
+								recorder.recordFirstEvent(System.nanoTime() - start);
+							}
+						}
+					}
+				}
+				record(recorder, response.statusCode(), start);
+			}
+			else {
+				var response = httpClient.send(request.build(), BodyHandlers.discarding());
+				record(recorder, response.statusCode(), start);
+			}
+		}
+		catch (IOException e) {
+			logger.debug("{} request failed", scenario, e);
+			if (recorder != null) {
+				recorder.recordError();
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void ping(long measureFrom) {
+		var request = HttpRequest.newBuilder(pingUri).timeout(properties.requestTimeout()).GET().build();
+		long start = System.nanoTime();
+		var recorder = start >= measureFrom ? recorders.get(Scenario.PING) : null;
+		try {
+			var response = httpClient.send(request, BodyHandlers.ofString());
+			record(recorder, response.statusCode(), start);
+			if (recorder != null) {
+				recorder.recordStatus(pingStatus(response));
+			}
+		}
+		catch (IOException e) {
+			logger.debug("Ping failed", e);
+			if (recorder != null) {
+				recorder.recordError();
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private String pingStatus(HttpResponse<String> response) {
+		try {
+			return objectMapper.readTree(response.body()).path("status").asText("HTTP " + response.statusCode());
+		}
+		catch (IOException e) {
+			return "HTTP " + response.statusCode();
+		}
+	}
+
+	private static void record(ScenarioRecorder recorder, int statusCode, long start) {
+		if (recorder == null) {
+			return;
+		}
+		if (statusCode == HttpStatus.TOO_MANY_REQUESTS.value()) {
+			recorder.recordThrottled();
+		}
+		else if (statusCode >= 400) {
+			recorder.recordError();
+		}
+		else {
+			recorder.recordSuccess(System.nanoTime() - start);
+		}
+	}
+
+	private static String json(boolean stream) {
+		return "{\"prompt\":\"" + PROMPT + "\",\"stream\":" + stream + "}";
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		var count = new AtomicInteger();
+		return runnable -> {
+			var thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+}
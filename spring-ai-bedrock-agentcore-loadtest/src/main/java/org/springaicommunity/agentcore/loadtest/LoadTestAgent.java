@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.loadtest;
+
+import java.util.Map;
+
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
+import org.springaicommunity.agentcore.context.AgentCoreContext;
+import org.springaicommunity.agentcore.context.AgentCoreHeaders;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Agent under test. Keeps a chat memory per session and answers JSON requests with a JSON
+ * body, or with a token stream when the request sets {@code "stream": true}, and
+ * {@code text/plain} requests with plain text.
+ */
+@Component
+public class LoadTestAgent {
+
+	private final ChatClient chatClient;
+
+	public LoadTestAgent(ChatModel chatModel, ChatMemoryRepository chatMemoryRepository) {
+		var chatMemory = MessageWindowChatMemory.builder()
+			.chatMemoryRepository(chatMemoryRepository)
+			.maxMessages(20)
+			.build();
+		this.chatClient = ChatClient.builder(chatModel)
+			.defaultAdvisors(MessageChatMemoryAdvisor.builder(chatMemory).build())
+			.build();
+	}
+
+	@AgentCoreInvocation
+	public Object invoke(Object request, AgentCoreContext context) {
+		var sessionId = context.getHeader(AgentCoreHeaders.SESSION_ID);
+		var conversationId = "loadtest:" + (sessionId != null ? sessionId : "default");
+		if (request instanceof Map<?, ?> json) {
+			var prompt = chatClient.prompt()
+				.user(String.valueOf(json.get("prompt")))
+				.advisors(advisor -> advisor.param(ChatMemory.CONVERSATION_ID, conversationId));
+			if (Boolean.TRUE.equals(json.get("stream"))) {
+				return prompt.stream().content();
+			}
+			return Map.of("answer", prompt.call().content());
+		}
+		return chatClient.prompt()
+			.user(request.toString())
+			.advisors(advisor -> advisor.param(ChatMemory.CONVERSATION_ID, conversationId))
+			.call()
+			.content();
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Boots the {@link LoadTestAgent} with a {@link FakeChatModel} and the local AgentCore
+ * Memory stand-in on a random port, runs the {@link LoadGenerator} against it and writes
+ * the report. Exits with status {@code 1} when a regression against the baseline is
+ * found.
+ */
+@SpringBootApplication
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestApplication {
+
+	@Bean
+	ChatModel chatModel(LoadTestProperties properties) {
+		var model = properties.model();
+		return new FakeChatModel(model.latency(), model.tokens(), model.tokenDelay());
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		var context = SpringApplication.run(LoadTestApplication.class, args);
+		boolean failed;
+		try {
+			var report = run(context);
+			failed = !report.regressions().isEmpty()
+					&& context.getBean(LoadTestProperties.class).report().failOnRegression();
+		}
+		finally {
+			context.close();
+		}
+		System.exit(failed ? 1 : 0);
+	}
+
+	/**
+	 * Runs the load test against the agent served by {@code context} and writes
+	 * {@code report.json} and one latency histogram per scenario to the report directory.
+	 */
+	static LoadTestReport run(ConfigurableApplicationContext context) throws IOException, InterruptedException {
+		var properties = context.getBean(LoadTestProperties.class);
+		var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		var recorders = new LoadGenerator(properties, URI.create("http://localhost:" + port)).run();
+
+		var directory = Path.of(properties.report().directory());
+		Files.createDirectories(directory);
+		var summaries = new TreeMap<Scenario, LoadTestReport.ScenarioSummary>();
+		for (var entry : recorders.entrySet()) {
+			summaries.put(entry.getKey(), entry.getValue().summarize(properties.duration()));
+			entry.getValue()
+				.writeHistogram(directory.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm"));
+		}
+		var report = new LoadTestReport(properties.concurrency(), properties.duration().toSeconds(), summaries,
+				List.of());
+		var objectMapper = new ObjectMapper();
+		if (properties.report().baseline() != null) {
+			var baseline = objectMapper.readValue(Path.of(properties.report().baseline()).toFile(),
+					LoadTestReport.class);
+			report = report.compareWith(baseline, properties.report().tolerance());
+		}
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(directory.resolve("report.json").toFile(), report);
+		System.out.println(report.format());
+		return report;
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.loadtest;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the load test.
+ *
+ * @param concurrency number of virtual users sending invocations back to back, defaults
+ * to {@code 1000}
+ * @param duration how long to measure, defaults to 60 seconds
+ * @param warmup how long to send load before measuring, defaults to 10 seconds
+ * @param requestTimeout timeout of a single request, defaults to 30 seconds
+ * @param pingInterval interval between two {@code /ping} probes, defaults to 1 second
+ * @param mix relative weights of the invocation types
+ * @param model behaviour of the stubbed chat model
+ * @param report where to write the report and what to compare it with
+ */
+@ConfigurationProperties(prefix = "loadtest")
+public record LoadTestProperties(Integer concurrency, Duration duration, Duration warmup, Duration requestTimeout,
+		Duration pingInterval, Mix mix, Model model, Report report) {
+
+	public LoadTestProperties {
+		concurrency = concurrency != null && concurrency > 0 ? concurrency : 1000;
+		duration = duration != null ? duration : Duration.ofSeconds(60);
+		warmup = warmup != null ? warmup : Duration.ofSeconds(10);
+		requestTimeout = requestTimeout != null ? requestTimeout : Duration.ofSeconds(30);
+		pingInterval = pingInterval != null ? pingInterval : Duration.ofSeconds(1);
+		mix = mix != null ? mix : new Mix(null, null, null);
+		model = model != null ? model : new Model(null, null, null);
+		report = report != null ? report : new Report(null, null, null, null);
+	}
+
+	/**
+	 * Relative weights of the invocation types sent by each virtual user.
+	 *
+	 * @param json JSON request and response, defaults to {@code 4}
+	 * @param text {@code text/plain} request, defaults to {@code 2}
+	 * @param sse JSON request with a streamed {@code text/event-stream} response,
+	 * defaults to {@code 4}
+	 */
+	public record Mix(Integer json, Integer text, Integer sse) {
+
+		public Mix {
+			json = json != null ? json : 4;
+			text = text != null ? text : 2;
+			sse = sse != null ? sse : 4;
+		}
+
+	}
+
+	/**
+	 * Behaviour of the {@link FakeChatModel}.
+	 *
+	 * @param latency time to the first token, defaults to 200 milliseconds
+	 * @param tokens number of tokens in each answer, defaults to {@code 20}
+	 * @param tokenDelay time between two tokens, defaults to 10 milliseconds
+	 */
+	public record Model(Duration latency, Integer tokens, Duration tokenDelay) {
+
+		public Model {
+			latency = latency != null ? latency : Duration.ofMillis(200);
+			tokens = tokens != null && tokens > 0 ? tokens : 20;
+			tokenDelay = tokenDelay != null ? tokenDelay : Duration.ofMillis(10);
+		}
+
+	}
+
+	/**
+	 * Output of the load test.
+	 *
+	 * @param directory directory to write the report and histograms to, defaults to
+	 * {@code target/loadtest}
+	 * @param baseline report of an earlier run to compare with, e.g.
+	 * {@code target/loadtest/baseline.json}; no comparison when not set
+	 * @param tolerance relative degradation of latency or throughput tolerated before
+	 * reporting a regression, defaults to {@code 0.1}
+	 * @param failOnRegression whether to exit with a non-zero status when a regression is
+	 * reported, defaults to {@code true}
+	 */
+	public record Report(String directory, String baseline, Double tolerance, Boolean failOnRegression) {
+
+		public Report {
+			directory = directory != null ? directory : "target/loadtest";
+			tolerance = tolerance != null ? tolerance : 0.1;
+			failOnRegression = failOnRegression != null ? failOnRegression : Boolean.TRUE;
+		}
+
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Outcome of a load test run, written as {@code report.json} and usable as the baseline
+ * of later runs.
+ *
+ * @param concurrency number of virtual users
+ * @param durationSeconds length of the measurement
+ * @param scenarios summary of each request type
+ * @param regressions degradations compared to the baseline, empty without a baseline
+ */
+public record LoadTestReport(int concurrency, long durationSeconds, Map<Scenario, ScenarioSummary> scenarios,
+		List<String> regressions) {
+
+	/**
+	 * Returns this report with the regressions found by comparing it to {@code baseline}.
+	 * A scenario regresses when its median or p99 latency grows, or its throughput
+	 * shrinks, by more than {@code tolerance}. Scenarios without successful requests in
+	 * the baseline are not compared.
+	 */
+	public LoadTestReport compareWith(LoadTestReport baseline, double tolerance) {
+		var found = new ArrayList<String>();
+		scenarios.forEach((scenario, current) -> {
+			var previous = baseline.scenarios().get(scenario);
+			if (previous == null || previous.latency().max() == 0) {
+				return;
+			}
+			checkIncrease(found, scenario + " p50 latency", current.latency().p50(), previous.latency().p50(),
+					tolerance, "ms");
+			checkIncrease(found, scenario + " p99 latency", current.latency().p99(), previous.latency().p99(),
+					tolerance, "ms");
+			if (current.throughput() < previous.throughput() * (1 - tolerance)) {
+				found.add(String.format(Locale.ROOT, "%s throughput %.1f/s is below baseline %.1f/s", scenario,
+						current.throughput(), previous.throughput()));
+			}
+		});
+		return new LoadTestReport(concurrency, durationSeconds, scenarios, List.copyOf(found));
+	}
+
+	/**
+	 * Formats the report as a table for the console.
+	 */
+	public String format() {
+		var table = new StringBuilder();
+		table
+			.append(String.format(Locale.ROOT, "Load test: %d virtual users for %d s%n", concurrency, durationSeconds));
+		table.append(String.format(Locale.ROOT, "%-6s %10s %8s %9s %10s %9s %9s %9s %9s %9s%n", "", "requests",
+				"errors", "throttled", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+		scenarios.forEach((scenario, summary) -> {
+			row(table, scenario.name(), summary, summary.latency());
+			if (summary.firstEvent() != null) {
+				row(table, "  TTFE", summary, summary.firstEvent());
+			}
+			if (summary.statuses() != null) {
+				table.append(String.format(Locale.ROOT, "%-6s %s%n", "", summary.statuses()));
+			}
+		});
+		if (!regressions.isEmpty()) {
+			table.append(String.format("Regressions:%n"));
+			regressions.forEach(regression -> table.append("  ").append(regression).append(System.lineSeparator()));
+		}
+		return table.toString();
+	}
+
+	private static void row(StringBuilder table, String name, ScenarioSummary summary, Latency latency) {
+		table.append(String.format(Locale.ROOT, "%-6s %10d %8d %9d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n", name,
+				summary.requests(), summary.errors(), summary.throttled(), summary.throughput(), latency.p50(),
+				latency.p90(), latency.p99(), latency.p999(), latency.max()));
+	}
+
+	private static void checkIncrease(List<String> found, String metric, double current, double previous,
+			double tolerance, String unit) {
+		if (current > previous * (1 + tolerance)) {
+			found.add(String.format(Locale.ROOT, "%s %.1f %s exceeds baseline %.1f %s", metric, current, unit, previous,
+					unit));
+		}
+	}
+
+	/**
+	 * Summary of the requests of one {@link Scenario}.
+	 *
+	 * @param requests completed requests, including failed and throttled ones
+	 * @param errors requests that failed, timed out or returned an error status
+	 * @param throttled requests rejected with {@code 429 Too Many Requests}
+	 * @param throughput requests per second
+	 * @param latency latency of the successful requests
+	 * @param firstEvent time to the first event of streamed responses
+	 * @param statuses reported {@code /ping} statuses and their counts
+	 */
+	public record ScenarioSummary(long requests, long errors, long throttled, double throughput, Latency latency,
+			Latency firstEvent, Map<String, Long> statuses) {
+	}
+
+	/**
+	 * Latency percentiles in milliseconds.
+	 */
+	public record Latency(double p50, double p90, double p99, double p999, double max) {
+	}
+
+}
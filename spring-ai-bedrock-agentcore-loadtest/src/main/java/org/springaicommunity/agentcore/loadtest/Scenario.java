@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.loadtest;
+
+/**
+ * Request types sent by the load generator.
+ */
+public enum Scenario {
+
+	/**
+	 * JSON request to {@code /invocations} answered with a JSON body.
+	 */
+	JSON,
+
+	/**
+	 * {@code text/plain} request to {@code /invocations}.
+	 */
+	TEXT,
+
+	/**
+	 * JSON request to {@code /invocations} answered with a {@code text/event-stream}.
+	 */
+	SSE,
+
+	/**
+	 * Health probe on {@code /ping}.
+	 */
+	PING
+
+}
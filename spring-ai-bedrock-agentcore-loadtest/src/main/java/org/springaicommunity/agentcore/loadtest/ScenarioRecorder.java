@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springaicommunity.agentcore.loadtest.LoadTestReport.Latency;
+import org.springaicommunity.agentcore.loadtest.LoadTestReport.ScenarioSummary;
+
+/**
+ * Records the outcome of the requests of one {@link Scenario}. Latencies are kept in
+ * microseconds.
+ */
+final class ScenarioRecorder {
+
+	private final Histogram latency = new ConcurrentHistogram(3);
+
+	private final Histogram firstEvent = new ConcurrentHistogram(3);
+
+	private final LongAdder errors = new LongAdder();
+
+	private final LongAdder throttled = new LongAdder();
+
+	private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+	void recordSuccess(long latencyNanos) {
+		latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+	}
+
+	void recordFirstEvent(long latencyNanos) {
+		firstEvent.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+	}
+
+	void recordThrottled() {
+		throttled.increment();
+	}
+
+	void recordError() {
+		errors.increment();
+	}
+
+	void recordStatus(String status) {
+		statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+	}
+
+	ScenarioSummary summarize(Duration duration) {
+		long requests = latency.getTotalCount() + errors.sum() + throttled.sum();
+		var statusCounts = new TreeMap<String, Long>();
+		statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+		return new ScenarioSummary(requests, errors.sum(), throttled.sum(),
+				requests / (double) Math.max(duration.toMillis(), 1) * 1000, latency(latency),
+				firstEvent.getTotalCount() > 0 ? latency(firstEvent) : null,
+				statusCounts.isEmpty() ? null : statusCounts);
+	}
+
+	/**
+	 * Writes the latency distribution in milliseconds in the HdrHistogram percentile
+	 * format, which can be plotted with the HdrHistogram plotter.
+	 */
+	void writeHistogram(Path file) throws IOException {
+		try (var out = new PrintStream(Files.newOutputStream(file))) {
+			latency.outputPercentileDistribution(out, 1000.0);
+		}
+	}
+
+	private static Latency latency(Histogram histogram) {
+		return new Latency(millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+				histogram.getMaxValue() / 1000.0);
+	}
+
+	private static double millis(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+}
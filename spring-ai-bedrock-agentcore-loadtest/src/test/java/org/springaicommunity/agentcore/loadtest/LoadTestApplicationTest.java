@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springaicommunity.agentcore.loadtest.LoadTestReport.Latency;
+import org.springaicommunity.agentcore.loadtest.LoadTestReport.ScenarioSummary;
+import org.springaicommunity.agentcore.memory.AgentCoreMemoryCircuitBreaker;
+import org.springaicommunity.agentcore.memory.CircuitBreakingChatMemoryRepository;
+
+import org.springframework.boot.SpringApplication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadTestApplicationTest {
+
+	@Test
+	void shouldDriveAllScenariosWithoutErrors(@TempDir Path directory) throws Exception {
+		try (var context = SpringApplication.run(LoadTestApplication.class, "--loadtest.concurrency=4",
+				"--loadtest.warmup=0s", "--loadtest.duration=2s", "--loadtest.ping-interval=100ms",
+				"--loadtest.model.latency=5ms", "--loadtest.model.tokens=3", "--loadtest.model.token-delay=1ms",
+				"--agentcore.memory.local.latency=0ms", "--agentcore.memory.local.latency-jitter=0ms",
+				"--loadtest.report.directory=" + directory)) {
+			var report = LoadTestApplication.run(context);
+
+			assertThat(report.scenarios()).containsOnlyKeys(Scenario.values());
+			report.scenarios().forEach((scenario, summary) -> {
+				assertThat(summary.requests()).as(scenario.name()).isPositive();
+				assertThat(summary.errors()).as(scenario.name()).isZero();
+			});
+			assertThat(report.scenarios().get(Scenario.SSE).firstEvent()).isNotNull();
+			assertThat(report.scenarios().get(Scenario.PING).statuses()).containsKey("Healthy");
+			assertThat(directory.resolve("report.json")).exists();
+			assertThat(directory.resolve("sse.hgrm")).exists();
+		}
+	}
+
+	@Test
+	void shouldStayHealthyWhileMemoryCircuitBreakerIsOpen() throws Exception {
+		try (var context = SpringApplication.run(LoadTestApplication.class, "--agentcore.memory.local.latency=0ms",
+				"--agentcore.memory.local.latency-jitter=0ms", "--agentcore.memory.local.throttle-rate=1")) {
+			var repository = context.getBean(CircuitBreakingChatMemoryRepository.class);
+			for (int i = 0; i < 5; i++) {
+				repository.findByConversationId("actor-" + i);
+			}
+			assertThat(repository.getCircuitBreaker().getState()).isEqualTo(AgentCoreMemoryCircuitBreaker.State.OPEN);
+
+			var port = context.getEnvironment().getProperty("local.server.port");
+			var response = HttpClient.newHttpClient()
+				.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/ping")).build(),
+						HttpResponse.BodyHandlers.ofString());
+
+			assertThat(response.statusCode()).isEqualTo(200);
+			assertThat(response.body()).contains("\"Healthy\"");
+		}
+	}
+
+	@Test
+	void shouldReportRegressionsAgainstBaseline() {
+		var baseline = report(new ScenarioSummary(100, 0, 0, 10.0, new Latency(50, 80, 100, 120, 150), null, null));
+		var slower = report(new ScenarioSummary(100, 0, 0, 10.0, new Latency(50, 80, 120, 140, 150), null, null));
+		var fewer = report(new ScenarioSummary(80, 0, 0, 8.0, new Latency(50, 80, 105, 120, 150), null, null));
+
+		assertThat(baseline.compareWith(baseline, 0.1).regressions()).isEmpty();
+		assertThat(slower.compareWith(baseline, 0.1).regressions()).singleElement()
+			.asString()
+			.startsWith("JSON p99 latency");
+		assertThat(fewer.compareWith(baseline, 0.1).regressions()).singleElement()
+			.asString()
+			.startsWith("JSON throughput");
+	}
+
+	private static LoadTestReport report(ScenarioSummary json) {
+		return new LoadTestReport(10, 60, Map.of(Scenario.JSON, json), List.of());
+	}
+
+}
@@ -31,4 +31,17 @@ import java.lang.annotation.Target;
 @Documented
 public @interface AgentCoreInvocation {
 
+	/**
+	 * Whether results can be cached and returned for later requests with the same body
+	 * and {@link #cacheKeyHeaders() key headers} without invoking the method. Only for
+	 * deterministic methods that return a value rather than a stream or a future.
+	 */
+	boolean cacheable() default false;
+
+	/**
+	 * Request headers that are part of the cache key besides the request body, e.g.
+	 * {@code AgentCoreHeaders.USER_ID} when results differ per user.
+	 */
+	String[] cacheKeyHeaders() default {};
+
 }
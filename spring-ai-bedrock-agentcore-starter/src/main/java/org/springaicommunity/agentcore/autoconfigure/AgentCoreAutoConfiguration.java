@@ -16,25 +16,58 @@
 
 package org.springaicommunity.agentcore.autoconfigure;
 
+import java.util.Locale;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
+import org.springaicommunity.agentcore.compression.CompressionConfiguration;
 import org.springaicommunity.agentcore.controller.AgentCoreInvocationsController;
 import org.springaicommunity.agentcore.controller.AgentCoreInvocationsHandler;
 import org.springaicommunity.agentcore.controller.AgentCorePingController;
 import org.springaicommunity.agentcore.controller.AgentCorePingHandler;
+import org.springaicommunity.agentcore.idempotency.IdempotencyConfiguration;
 import org.springaicommunity.agentcore.ping.AgentCorePingService;
 import org.springaicommunity.agentcore.ping.AgentCoreTaskTracker;
+import org.springaicommunity.agentcore.service.AgentCoreCancellationHandler;
 import org.springaicommunity.agentcore.service.AgentCoreMethodInvoker;
 import org.springaicommunity.agentcore.service.AgentCoreMethodRegistry;
 import org.springaicommunity.agentcore.service.AgentCoreMethodScanner;
+import org.springaicommunity.agentcore.service.AgentCorePayloadMapper;
+import org.springaicommunity.agentcore.service.AgentCoreResultCache;
+import org.springaicommunity.agentcore.service.AgentCoreResultStore;
+import org.springaicommunity.agentcore.service.AgentCoreStreamCoalescer;
+import org.springaicommunity.agentcore.service.InMemoryAgentCoreResultStore;
+import org.springaicommunity.agentcore.session.AgentCoreSessionListener;
+import org.springaicommunity.agentcore.session.AgentCoreSessionStore;
 import org.springaicommunity.agentcore.throttle.ThrottleConfiguration;
 
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -42,26 +75,119 @@ import org.springframework.web.bind.annotation.RestController;
  * necessary beans when AgentCoreInvocation is on the classpath.
  */
 @Configuration
+@AutoConfigureAfter(TaskExecutionAutoConfiguration.class)
 @ConditionalOnClass({ AgentCoreInvocation.class, RestController.class })
-@Import({ AgentCorePingAutoConfiguration.class, AgentCoreActuatorAutoConfiguration.class, ThrottleConfiguration.class })
+@Import({ AgentCorePingAutoConfiguration.class, AgentCoreActuatorAutoConfiguration.class, ThrottleConfiguration.class,
+		CompressionConfiguration.class, IdempotencyConfiguration.class })
+@EnableConfigurationProperties(AgentCoreInvocationsProperties.class)
 public class AgentCoreAutoConfiguration {
 
+	public static final String INVOCATION_EXECUTOR_BEAN_NAME = "agentCoreInvocationExecutor";
+
 	@Bean
 	@ConditionalOnMissingBean
 	public ObjectMapper objectMapper() {
 		return new ObjectMapper();
 	}
 
+	/**
+	 * Mapper for agent payloads. Not an {@code ObjectMapper} bean so that it neither
+	 * replaces the application's mapper nor makes injecting it ambiguous.
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public AgentCorePayloadMapper agentCorePayloadMapper(ObjectMapper mapper,
+			AgentCoreInvocationsProperties properties) {
+		var json = properties.getJson();
+		return new AgentCorePayloadMapper(json.isDedicatedMapper() ? dedicatedObjectMapper(json) : mapper);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public AgentCoreMethodInvoker agentCoreMethodInvoker(AgentCorePayloadMapper payloadMapper,
+			AgentCoreMethodRegistry registry, AgentCoreInvocationsProperties properties,
+			ObjectProvider<AgentCoreStreamCoalescer> streamCoalescer, ObjectProvider<AgentCoreResultCache> resultCache,
+			ObjectProvider<AgentCoreSessionStore> sessionStore) {
+		return AgentCoreMethodInvoker.builder(payloadMapper, registry)
+			.responseFastPath(properties.isResponseFastPath())
+			.streamCoalescer(streamCoalescer.getIfAvailable())
+			.resultCache(resultCache.getIfAvailable())
+			.sessionStore(sessionStore.getIfAvailable())
+			.build();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "agentcore.invocations.session", name = "enabled", havingValue = "true")
+	public AgentCoreSessionStore agentCoreSessionStore(AgentCoreInvocationsProperties properties,
+			ObjectProvider<AgentCoreSessionListener> listeners) {
+		var session = properties.getSession();
+		return new AgentCoreSessionStore(session.getMaxSessions(), session.getMaxSize().toBytes(),
+				session.getIdleTimeout(), listeners.orderedStream().toList());
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
-	public AgentCoreMethodInvoker agentCoreMethodInvoker(ObjectMapper mapper, AgentCoreMethodRegistry registry) {
-		return new AgentCoreMethodInvoker(mapper, registry);
+	public AgentCoreResultStore agentCoreResultStore(AgentCoreInvocationsProperties properties) {
+		return new InMemoryAgentCoreResultStore(properties.getCache().getMaxSize().toBytes());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public AgentCoreResultCache agentCoreResultCache(AgentCorePayloadMapper payloadMapper,
+			AgentCoreResultStore resultStore, AgentCoreInvocationsProperties properties) {
+		return new AgentCoreResultCache(payloadMapper, resultStore, properties.getCache().getTimeToLive());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnClass(name = "reactor.core.publisher.Flux")
+	@ConditionalOnProperty(prefix = "agentcore.invocations.stream", name = "coalesce", havingValue = "true")
+	public AgentCoreStreamCoalescer agentCoreStreamCoalescer(AgentCoreInvocationsProperties properties) {
+		var stream = properties.getStream();
+		return new AgentCoreStreamCoalescer((int) stream.getCoalesceMaxSize().toBytes(), stream.getCoalesceMaxChunks(),
+				stream.getCoalesceMaxDelay());
 	}
 
 	@Bean
 	@ConditionalOnMissingBean(AgentCoreInvocationsHandler.class)
-	public AgentCoreInvocationsController agentCoreController(AgentCoreMethodInvoker invoker) {
-		return new AgentCoreInvocationsController(invoker);
+	public AgentCoreInvocationsController agentCoreController(AgentCoreMethodInvoker invoker,
+			ObjectProvider<AgentCoreCancellationHandler> cancellationHandler) {
+		return new AgentCoreInvocationsController(invoker, cancellationHandler.getIfAvailable());
+	}
+
+	/**
+	 * Executor of cancellable invocations. It has no queue, so that invocations beyond
+	 * its threads are rejected, and answered with {@code 503 Service Unavailable}, rather
+	 * than held until a thread is free. It is not an autowire candidate, and registered
+	 * after the application's executor, which an {@code Executor} bean would replace.
+	 */
+	@Bean(name = INVOCATION_EXECUTOR_BEAN_NAME, autowireCandidate = false)
+	@ConditionalOnMissingBean(name = INVOCATION_EXECUTOR_BEAN_NAME)
+	@Conditional(CancellationOrDeadlineCondition.class)
+	public ThreadPoolTaskExecutor agentCoreInvocationExecutor(AgentCoreInvocationsProperties properties) {
+		var executor = new ThreadPoolTaskExecutor();
+		var maxConcurrentInvocations = properties.getDeadline().getMaxConcurrentInvocations();
+		executor.setCorePoolSize(maxConcurrentInvocations);
+		executor.setMaxPoolSize(maxConcurrentInvocations);
+		executor.setQueueCapacity(0);
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setThreadNamePrefix("agentcore-invocation-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		return executor;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@Conditional(CancellationOrDeadlineCondition.class)
+	public AgentCoreCancellationHandler agentCoreCancellationHandler(AgentCoreTaskTracker taskTracker,
+			AgentCoreInvocationsProperties properties, BeanFactory beanFactory) {
+		var deadline = properties.getDeadline();
+		var executor = beanFactory.getBean(INVOCATION_EXECUTOR_BEAN_NAME, AsyncTaskExecutor.class);
+		var handler = new AgentCoreCancellationHandler(taskTracker, deadline.getDefaultTimeout(),
+				deadline.getMaxTimeout(), executor);
+		handler.setTrackTasks(properties.getCancellation().isTrackTasks());
+		return handler;
 	}
 
 	@Bean
@@ -88,4 +214,119 @@ public class AgentCoreAutoConfiguration {
 		return new AgentCoreMethodScanner(registry);
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+	static class MetricsConfiguration {
+
+		static final String CACHE_GETS = "agentcore.invocations.cache.gets";
+
+		static final String SESSIONS_ACTIVE = "agentcore.sessions.active";
+
+		static final String SESSIONS_SIZE = "agentcore.sessions.size";
+
+		static final String SESSIONS_EVICTIONS = "agentcore.sessions.evictions";
+
+		/**
+		 * Counts cache hits and misses of {@code cacheable} agent methods.
+		 */
+		@Bean
+		@ConditionalOnMissingBean(name = "agentCoreResultCacheMetrics")
+		MeterBinder agentCoreResultCacheMetrics(AgentCoreResultCache resultCache) {
+			return registry -> {
+				FunctionCounter.builder(CACHE_GETS, resultCache, AgentCoreResultCache::getHitCount)
+					.description("Invocations of cacheable agent methods, by cache result")
+					.tag("result", "hit")
+					.register(registry);
+				FunctionCounter.builder(CACHE_GETS, resultCache, AgentCoreResultCache::getMissCount)
+					.description("Invocations of cacheable agent methods, by cache result")
+					.tag("result", "miss")
+					.register(registry);
+			};
+		}
+
+		/**
+		 * Reports the number and accounted size of kept sessions, and their evictions.
+		 */
+		@Bean
+		@ConditionalOnMissingBean(name = "agentCoreSessionStoreMetrics")
+		MeterBinder agentCoreSessionStoreMetrics(ObjectProvider<AgentCoreSessionStore> sessionStores) {
+			return registry -> sessionStores.ifAvailable(sessionStore -> {
+				Gauge.builder(SESSIONS_ACTIVE, sessionStore, AgentCoreSessionStore::getSessionCount)
+					.description("Sessions whose state is kept in memory")
+					.register(registry);
+				Gauge.builder(SESSIONS_SIZE, sessionStore, AgentCoreSessionStore::getSize)
+					.description("Accounted size of the state of kept sessions")
+					.baseUnit("bytes")
+					.register(registry);
+				for (var cause : AgentCoreSessionListener.EvictionCause.values()) {
+					FunctionCounter.builder(SESSIONS_EVICTIONS, sessionStore, store -> store.getEvictionCount(cause))
+						.description("Sessions evicted from memory, by cause")
+						.tag("cause", cause.name().toLowerCase(Locale.ROOT))
+						.register(registry);
+				}
+			});
+		}
+
+	}
+
+	private static ObjectMapper dedicatedObjectMapper(AgentCoreInvocationsProperties.Json json) {
+		var defaults = StreamReadConstraints.defaults();
+		var constraints = StreamReadConstraints.builder()
+			.maxStringLength(
+					json.getMaxStringLength() != null ? json.getMaxStringLength() : defaults.getMaxStringLength())
+			.maxNestingDepth(
+					json.getMaxNestingDepth() != null ? json.getMaxNestingDepth() : defaults.getMaxNestingDepth())
+			.maxNumberLength(
+					json.getMaxNumberLength() != null ? json.getMaxNumberLength() : defaults.getMaxNumberLength())
+			.build();
+		var builder = Jackson2ObjectMapperBuilder.json()
+			.factory(JsonFactory.builder().streamReadConstraints(constraints).build())
+			.failOnUnknownProperties(json.isFailOnUnknownProperties())
+			// Spring Boot's defaults, so that results render as with the application's
+			// mapper
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+					SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+		if (json.getAccelerator() != AgentCoreInvocationsProperties.Accelerator.NONE) {
+			builder.modulesToInstall(acceleratorModule(json.getAccelerator()));
+		}
+		return builder.build();
+	}
+
+	private static Module acceleratorModule(AgentCoreInvocationsProperties.Accelerator accelerator) {
+		var className = accelerator.getModuleClassName();
+		var classLoader = AgentCoreAutoConfiguration.class.getClassLoader();
+		if (!ClassUtils.isPresent(className, classLoader)) {
+			throw new IllegalStateException("agentcore.invocations.json.accelerator is " + accelerator + " but "
+					+ className + " is not on the classpath");
+		}
+		return (Module) BeanUtils.instantiateClass(ClassUtils.resolveClassName(className, classLoader));
+	}
+
+	/**
+	 * Matches when cancellation is enabled or invocations are bounded by a deadline,
+	 * which both run invocations on threads of their own.
+	 */
+	static class CancellationOrDeadlineCondition extends AnyNestedCondition {
+
+		CancellationOrDeadlineCondition() {
+			super(ConfigurationPhase.REGISTER_BEAN);
+		}
+
+		@ConditionalOnProperty(prefix = "agentcore.invocations.cancellation", name = "enabled", havingValue = "true")
+		static class Cancellation {
+
+		}
+
+		@ConditionalOnProperty(prefix = "agentcore.invocations.deadline", name = "default-timeout")
+		static class DefaultDeadline {
+
+		}
+
+		@ConditionalOnProperty(prefix = "agentcore.invocations.deadline", name = "max-timeout")
+		static class MaxDeadline {
+
+		}
+
+	}
+
 }
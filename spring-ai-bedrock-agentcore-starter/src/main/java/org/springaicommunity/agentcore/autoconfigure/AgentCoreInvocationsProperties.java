@@ -0,0 +1,443 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.autoconfigure;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the {@code /invocations} endpoint.
+ */
+@ConfigurationProperties(prefix = "agentcore.invocations")
+public class AgentCoreInvocationsProperties {
+
+	/**
+	 * Whether to write results of agent methods declared to return {@code String} or a
+	 * JSON-serializable type straight to the response, bypassing content negotiation,
+	 * {@code HttpMessageConverter}s and {@code ResponseBodyAdvice}. Only applies to
+	 * requests that accept {@code application/json}.
+	 */
+	private boolean responseFastPath = true;
+
+	private final Json json = new Json();
+
+	private final Stream stream = new Stream();
+
+	private final Cancellation cancellation = new Cancellation();
+
+	private final Deadline deadline = new Deadline();
+
+	private final Cache cache = new Cache();
+
+	private final Session session = new Session();
+
+	public boolean isResponseFastPath() {
+		return responseFastPath;
+	}
+
+	public void setResponseFastPath(boolean responseFastPath) {
+		this.responseFastPath = responseFastPath;
+	}
+
+	public Json getJson() {
+		return json;
+	}
+
+	public Stream getStream() {
+		return stream;
+	}
+
+	public Cancellation getCancellation() {
+		return cancellation;
+	}
+
+	public Deadline getDeadline() {
+		return deadline;
+	}
+
+	public Cache getCache() {
+		return cache;
+	}
+
+	public Session getSession() {
+		return session;
+	}
+
+	/**
+	 * Settings of the {@code ObjectMapper} that converts agent payloads.
+	 */
+	public static class Json {
+
+		/**
+		 * Whether to use a mapper of its own, independent of the application's
+		 * {@code ObjectMapper} and {@code spring.jackson.*} settings. When disabled, the
+		 * application's {@code ObjectMapper} bean is used.
+		 */
+		private boolean dedicatedMapper = true;
+
+		/**
+		 * Whether unknown properties in a request fail its conversion to the agent
+		 * method's parameter type.
+		 */
+		private boolean failOnUnknownProperties;
+
+		/**
+		 * Bytecode accelerator module to register; the module must be on the classpath.
+		 */
+		private Accelerator accelerator = Accelerator.NONE;
+
+		/**
+		 * Maximum length of a string value in a request, e.g. a prompt. Jackson's default
+		 * when not set.
+		 */
+		private Integer maxStringLength;
+
+		/**
+		 * Maximum nesting depth of a request. Jackson's default when not set.
+		 */
+		private Integer maxNestingDepth;
+
+		/**
+		 * Maximum length of a number value in a request. Jackson's default when not set.
+		 */
+		private Integer maxNumberLength;
+
+		public boolean isDedicatedMapper() {
+			return dedicatedMapper;
+		}
+
+		public void setDedicatedMapper(boolean dedicatedMapper) {
+			this.dedicatedMapper = dedicatedMapper;
+		}
+
+		public boolean isFailOnUnknownProperties() {
+			return failOnUnknownProperties;
+		}
+
+		public void setFailOnUnknownProperties(boolean failOnUnknownProperties) {
+			this.failOnUnknownProperties = failOnUnknownProperties;
+		}
+
+		public Accelerator getAccelerator() {
+			return accelerator;
+		}
+
+		public void setAccelerator(Accelerator accelerator) {
+			this.accelerator = accelerator;
+		}
+
+		public Integer getMaxStringLength() {
+			return maxStringLength;
+		}
+
+		public void setMaxStringLength(Integer maxStringLength) {
+			this.maxStringLength = maxStringLength;
+		}
+
+		public Integer getMaxNestingDepth() {
+			return maxNestingDepth;
+		}
+
+		public void setMaxNestingDepth(Integer maxNestingDepth) {
+			this.maxNestingDepth = maxNestingDepth;
+		}
+
+		public Integer getMaxNumberLength() {
+			return maxNumberLength;
+		}
+
+		public void setMaxNumberLength(Integer maxNumberLength) {
+			this.maxNumberLength = maxNumberLength;
+		}
+
+	}
+
+	/**
+	 * Settings of streamed invocation results.
+	 */
+	public static class Stream {
+
+		/**
+		 * Whether to merge the {@code String} chunks of streamed results into fewer
+		 * Server-Sent Events. Only applies to requests that accept
+		 * {@code text/event-stream}.
+		 */
+		private boolean coalesce;
+
+		/**
+		 * Largest size of merged chunks, unless a single chunk is larger already.
+		 */
+		private DataSize coalesceMaxSize = DataSize.ofBytes(512);
+
+		/**
+		 * Largest number of chunks merged into one event.
+		 */
+		private int coalesceMaxChunks = 128;
+
+		/**
+		 * Longest time a chunk is held back to be merged with the following ones.
+		 */
+		private Duration coalesceMaxDelay = Duration.ofMillis(20);
+
+		public boolean isCoalesce() {
+			return coalesce;
+		}
+
+		public void setCoalesce(boolean coalesce) {
+			this.coalesce = coalesce;
+		}
+
+		public DataSize getCoalesceMaxSize() {
+			return coalesceMaxSize;
+		}
+
+		public void setCoalesceMaxSize(DataSize coalesceMaxSize) {
+			this.coalesceMaxSize = coalesceMaxSize;
+		}
+
+		public int getCoalesceMaxChunks() {
+			return coalesceMaxChunks;
+		}
+
+		public void setCoalesceMaxChunks(int coalesceMaxChunks) {
+			this.coalesceMaxChunks = coalesceMaxChunks;
+		}
+
+		public Duration getCoalesceMaxDelay() {
+			return coalesceMaxDelay;
+		}
+
+		public void setCoalesceMaxDelay(Duration coalesceMaxDelay) {
+			this.coalesceMaxDelay = coalesceMaxDelay;
+		}
+
+	}
+
+	/**
+	 * Settings of cancelling invocations when the client disconnects.
+	 */
+	public static class Cancellation {
+
+		/**
+		 * Whether to run invocations on cancellable threads and cancel them, and the
+		 * streams and futures they return, when the client disconnects. Also enabled by a
+		 * default or maximum deadline.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Whether running invocations, streams and futures count as tasks of the
+		 * {@code AgentCoreTaskTracker}, so that {@code /ping} reports {@code HealthyBusy}
+		 * while any of them runs.
+		 */
+		private boolean trackTasks;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public boolean isTrackTasks() {
+			return trackTasks;
+		}
+
+		public void setTrackTasks(boolean trackTasks) {
+			this.trackTasks = trackTasks;
+		}
+
+	}
+
+	/**
+	 * Settings of invocation deadlines.
+	 */
+	public static class Deadline {
+
+		/**
+		 * Time an invocation may take unless the request sets its own deadline. Not
+		 * bounded when not set.
+		 */
+		private Duration defaultTimeout;
+
+		/**
+		 * Longest deadline a request may set. Not bounded when not set.
+		 */
+		private Duration maxTimeout;
+
+		/**
+		 * Maximum number of cancellable invocations running at the same time; further
+		 * requests are rejected with {@code 503 Service Unavailable}.
+		 */
+		private int maxConcurrentInvocations = 200;
+
+		public Duration getDefaultTimeout() {
+			return defaultTimeout;
+		}
+
+		public void setDefaultTimeout(Duration defaultTimeout) {
+			this.defaultTimeout = defaultTimeout;
+		}
+
+		public Duration getMaxTimeout() {
+			return maxTimeout;
+		}
+
+		public void setMaxTimeout(Duration maxTimeout) {
+			this.maxTimeout = maxTimeout;
+		}
+
+		public int getMaxConcurrentInvocations() {
+			return maxConcurrentInvocations;
+		}
+
+		public void setMaxConcurrentInvocations(int maxConcurrentInvocations) {
+			this.maxConcurrentInvocations = maxConcurrentInvocations;
+		}
+
+	}
+
+	/**
+	 * Settings of the cache of agent methods declared {@code cacheable}.
+	 */
+	public static class Cache {
+
+		/**
+		 * How long a cached result is returned.
+		 */
+		private Duration timeToLive = Duration.ofMinutes(10);
+
+		/**
+		 * Maximum total size of the results kept by the in-memory store; the least
+		 * recently used are evicted first.
+		 */
+		private DataSize maxSize = DataSize.ofMegabytes(16);
+
+		public Duration getTimeToLive() {
+			return timeToLive;
+		}
+
+		public void setTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		public DataSize getMaxSize() {
+			return maxSize;
+		}
+
+		public void setMaxSize(DataSize maxSize) {
+			this.maxSize = maxSize;
+		}
+
+	}
+
+	/**
+	 * Settings of the in-memory state of AgentCore Runtime sessions.
+	 */
+	public static class Session {
+
+		/**
+		 * Whether to keep the state of sessions in memory across invocations. Otherwise
+		 * agent methods receive sessions that are not kept.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum number of sessions kept; the least recently used are evicted first.
+		 */
+		private int maxSessions = 1000;
+
+		/**
+		 * Maximum total size of the sessions' state; the least recently used sessions are
+		 * evicted first.
+		 */
+		private DataSize maxSize = DataSize.ofMegabytes(64);
+
+		/**
+		 * Time after which a session that is not used is evicted. AgentCore Runtime ends
+		 * sessions after 15 minutes of inactivity.
+		 */
+		private Duration idleTimeout = Duration.ofMinutes(15);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaxSessions() {
+			return maxSessions;
+		}
+
+		public void setMaxSessions(int maxSessions) {
+			this.maxSessions = maxSessions;
+		}
+
+		public DataSize getMaxSize() {
+			return maxSize;
+		}
+
+		public void setMaxSize(DataSize maxSize) {
+			this.maxSize = maxSize;
+		}
+
+		public Duration getIdleTimeout() {
+			return idleTimeout;
+		}
+
+		public void setIdleTimeout(Duration idleTimeout) {
+			this.idleTimeout = idleTimeout;
+		}
+
+	}
+
+	/**
+	 * Jackson modules that generate bytecode to speed up (de)serialization.
+	 */
+	public enum Accelerator {
+
+		NONE(null),
+
+		/**
+		 * {@code jackson-module-afterburner}.
+		 */
+		AFTERBURNER("com.fasterxml.jackson.module.afterburner.AfterburnerModule"),
+
+		/**
+		 * {@code jackson-module-blackbird}, the successor of Afterburner for Java 11 and
+		 * later.
+		 */
+		BLACKBIRD("com.fasterxml.jackson.module.blackbird.BlackbirdModule");
+
+		private final String moduleClassName;
+
+		Accelerator(String moduleClassName) {
+			this.moduleClassName = moduleClassName;
+		}
+
+		public String getModuleClassName() {
+			return moduleClassName;
+		}
+
+	}
+
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Response that compresses its body with a negotiated {@link ContentEncoding} once it
+ * turns out to be large enough. The first {@code minResponseSize} bytes are buffered to
+ * decide; a flush before that sends them uncompressed. Event streams are compressed from
+ * the first byte, and every flush sends the events written so far.
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+	private final ContentEncoding encoding;
+
+	private final int minResponseSize;
+
+	private final List<MediaType> mimeTypes;
+
+	private long contentLength = -1;
+
+	private CompressingOutputStream outputStream;
+
+	private PrintWriter writer;
+
+	CompressingResponseWrapper(HttpServletResponse response, ContentEncoding encoding, int minResponseSize,
+			List<MediaType> mimeTypes) {
+		super(response);
+		this.encoding = encoding;
+		this.minResponseSize = minResponseSize;
+		this.mimeTypes = mimeTypes;
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (writer != null) {
+			throw new IllegalStateException("getWriter() has already been called for this response");
+		}
+		return outputStream();
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (writer == null) {
+			if (outputStream != null) {
+				throw new IllegalStateException("getOutputStream() has already been called for this response");
+			}
+			writer = new PrintWriter(new OutputStreamWriter(outputStream(), getCharacterEncoding()));
+		}
+		return writer;
+	}
+
+	@Override
+	public void setContentLength(int len) {
+		setContentLengthLong(len);
+	}
+
+	@Override
+	public void setContentLengthLong(long len) {
+		if (outputStream != null && outputStream.decided) {
+			if (!outputStream.compressed) {
+				super.setContentLengthLong(len);
+			}
+			return;
+		}
+		this.contentLength = len;
+	}
+
+	@Override
+	public void setHeader(String name, String value) {
+		if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			setContentLengthLong(value != null ? Long.parseLong(value) : -1);
+		}
+		else {
+			super.setHeader(name, value);
+		}
+	}
+
+	@Override
+	public void addHeader(String name, String value) {
+		if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			setContentLengthLong(value != null ? Long.parseLong(value) : -1);
+		}
+		else {
+			super.addHeader(name, value);
+		}
+	}
+
+	@Override
+	public void setIntHeader(String name, int value) {
+		if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			setContentLengthLong(value);
+		}
+		else {
+			super.setIntHeader(name, value);
+		}
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		if (writer != null) {
+			writer.flush();
+		}
+		else if (outputStream != null || isEventStream()) {
+			// Settles the coding of an event stream before the headers are committed
+			outputStream().flush();
+		}
+		super.flushBuffer();
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		resetState();
+	}
+
+	@Override
+	public void resetBuffer() {
+		super.resetBuffer();
+		if (outputStream != null && !outputStream.decided) {
+			outputStream.buffer.reset();
+		}
+	}
+
+	/**
+	 * Writes what is still buffered and completes the compressed body.
+	 */
+	void finish() throws IOException {
+		if (writer != null) {
+			// Push what the writer encoded without settling the coding on flush
+			outputStream.finishing = true;
+			writer.flush();
+		}
+		if (outputStream != null) {
+			outputStream.finish();
+		}
+		else if (contentLength >= 0) {
+			super.setContentLengthLong(contentLength);
+		}
+	}
+
+	private void resetState() {
+		this.contentLength = -1;
+		this.outputStream = null;
+		this.writer = null;
+	}
+
+	private CompressingOutputStream outputStream() throws IOException {
+		if (outputStream == null) {
+			outputStream = new CompressingOutputStream();
+			if (isEventStream()) {
+				outputStream.decide(true);
+			}
+			else if (contentLength >= 0 && contentLength < minResponseSize) {
+				outputStream.decide(false);
+			}
+		}
+		return outputStream;
+	}
+
+	private boolean isCompressible() {
+		var contentType = getContentType();
+		if (contentType == null || getResponse().isCommitted() || getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+			return false;
+		}
+		var mediaType = MediaType.parseMediaType(contentType);
+		for (var mimeType : mimeTypes) {
+			if (mimeType.includes(mediaType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isEventStream() {
+		var contentType = getContentType();
+		return contentType != null
+				&& MediaType.TEXT_EVENT_STREAM.isCompatibleWith(MediaType.parseMediaType(contentType));
+	}
+
+	private final class CompressingOutputStream extends ServletOutputStream {
+
+		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.min(minResponseSize, 8192));
+
+		private boolean decided;
+
+		private boolean compressed;
+
+		private OutputStream target;
+
+		private boolean finishing;
+
+		private boolean finished;
+
+		@Override
+		public void write(int b) throws IOException {
+			if (decided) {
+				target.write(b);
+				return;
+			}
+			buffer.write(b);
+			if (buffer.size() >= minResponseSize) {
+				decide(true);
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (decided) {
+				target.write(b, off, len);
+				return;
+			}
+			buffer.write(b, off, len);
+			if (buffer.size() >= minResponseSize) {
+				decide(true);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (finishing) {
+				return;
+			}
+			if (!decided) {
+				decide(false);
+			}
+			target.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			finish();
+		}
+
+		@Override
+		public boolean isReady() {
+			// Writes block, there is no write listener to notify
+			return true;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			throw new UnsupportedOperationException("Non-blocking writes of compressed responses are not supported");
+		}
+
+		/**
+		 * Settles whether the body is compressed, {@code compress} only having an effect
+		 * for compressible content types, and writes what was buffered so far.
+		 */
+		void decide(boolean compress) throws IOException {
+			var compressible = isCompressible();
+			var response = (HttpServletResponse) getResponse();
+			var out = response.getOutputStream();
+			if (compressible) {
+				response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			}
+			if (compress && compressible) {
+				response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+				target = encoding.encode(out);
+				compressed = true;
+			}
+			else {
+				if (contentLength >= 0) {
+					response.setContentLengthLong(contentLength);
+				}
+				target = out;
+			}
+			decided = true;
+			buffer.writeTo(target);
+			buffer.reset();
+		}
+
+		void finish() throws IOException {
+			if (finished) {
+				return;
+			}
+			finished = true;
+			finishing = true;
+			if (!decided) {
+				// The whole body is buffered and below the minimum size
+				if (contentLength < 0) {
+					contentLength = buffer.size();
+				}
+				decide(false);
+			}
+			if (compressed) {
+				target.close();
+			}
+		}
+
+	}
+
+}
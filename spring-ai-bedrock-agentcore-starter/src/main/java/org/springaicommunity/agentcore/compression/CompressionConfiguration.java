@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.compression;
+
+import java.util.List;
+
+import jakarta.servlet.DispatcherType;
+import org.springaicommunity.agentcore.throttle.ThrottleConfiguration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+@ConfigurationProperties(prefix = "agentcore.compression")
+@ConditionalOnProperty(prefix = "agentcore.compression", name = "enabled", havingValue = "true")
+public class CompressionConfiguration {
+
+	private boolean enabled;
+
+	private DataSize maxRequestSize = DataSize.ofMegabytes(10);
+
+	private DataSize minResponseSize = DataSize.ofKilobytes(2);
+
+	private List<MediaType> mimeTypes = List.of(MediaType.APPLICATION_JSON, MediaType.valueOf("application/*+json"),
+			MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM, MediaType.TEXT_PLAIN);
+
+	@Bean
+	public FilterRegistrationBean<CompressionFilter> compressionFilter() {
+		FilterRegistrationBean<CompressionFilter> registrationBean = new FilterRegistrationBean<>();
+		registrationBean
+			.setFilter(new CompressionFilter(maxRequestSize.toBytes(), (int) minResponseSize.toBytes(), mimeTypes));
+		registrationBean.addUrlPatterns(ThrottleConfiguration.INVOCATIONS_PATH);
+		registrationBean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+		// After rate limiting, so that rejected requests are not decoded
+		registrationBean.setOrder(2);
+		return registrationBean;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public DataSize getMaxRequestSize() {
+		return maxRequestSize;
+	}
+
+	public void setMaxRequestSize(DataSize maxRequestSize) {
+		this.maxRequestSize = maxRequestSize;
+	}
+
+	public DataSize getMinResponseSize() {
+		return minResponseSize;
+	}
+
+	public void setMinResponseSize(DataSize minResponseSize) {
+		this.minResponseSize = minResponseSize;
+	}
+
+	public List<MediaType> getMimeTypes() {
+		return mimeTypes;
+	}
+
+	public void setMimeTypes(List<MediaType> mimeTypes) {
+		this.mimeTypes = mimeTypes;
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.compression;
+
+import java.io.IOException;
+import java.util.List;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Decodes {@code gzip} and {@code zstd} request bodies while they are read, and
+ * compresses responses with the coding negotiated through {@code Accept-Encoding}.
+ * Requests in any other coding are rejected with {@code 415 Unsupported Media Type}, and
+ * requests that decode to more than {@code maxRequestSize} bytes with
+ * {@code 413 Payload Too Large}.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+	private final long maxRequestSize;
+
+	private final int minResponseSize;
+
+	private final List<MediaType> mimeTypes;
+
+	public CompressionFilter(long maxRequestSize, int minResponseSize, List<MediaType> mimeTypes) {
+		this.maxRequestSize = maxRequestSize;
+		this.minResponseSize = minResponseSize;
+		this.mimeTypes = mimeTypes;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		var wrapper = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+		if (wrapper == null) {
+			var contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+			if (contentEncoding != null && !contentEncoding.isBlank()
+					&& !contentEncoding.trim().equalsIgnoreCase("identity")) {
+				var encoding = ContentEncoding.forToken(contentEncoding);
+				if (encoding == null) {
+					response.setHeader(HttpHeaders.ACCEPT_ENCODING, acceptedEncodings());
+					response.sendError(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+							"Unsupported Content-Encoding " + contentEncoding);
+					return;
+				}
+				request = new DecompressingRequestWrapper(request, encoding, maxRequestSize);
+			}
+			var encoding = ContentEncoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+			if (encoding != null) {
+				wrapper = new CompressingResponseWrapper(response, encoding, minResponseSize, mimeTypes);
+				response = wrapper;
+			}
+		}
+		try {
+			chain.doFilter(request, response);
+		}
+		catch (DecompressingRequestWrapper.BodyTooLargeException e) {
+			// Read by a filter, outside of Spring MVC's exception handling
+			if (response.isCommitted()) {
+				throw e;
+			}
+			response.sendError(e.getStatusCode().value(), e.getReason());
+			return;
+		}
+		// Streams complete in a later async dispatch that goes through the filter again
+		if (wrapper != null && !isAsyncStarted(request)) {
+			wrapper.finish();
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	private static String acceptedEncodings() {
+		var encodings = new StringBuilder();
+		for (var encoding : ContentEncoding.values()) {
+			if (encoding.isAvailable()) {
+				encodings.append(encodings.isEmpty() ? "" : ", ").append(encoding.getToken());
+			}
+		}
+		return encodings.toString();
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Content codings supported for request and response bodies on {@code /invocations}.
+ */
+public enum ContentEncoding {
+
+	/**
+	 * Zstandard, requires {@code com.github.luben:zstd-jni} and its native library for
+	 * the current platform.
+	 */
+	ZSTD("zstd") {
+
+		@Override
+		InputStream decode(InputStream in) throws IOException {
+			return Zstd.decode(in);
+		}
+
+		@Override
+		OutputStream encode(OutputStream out) throws IOException {
+			return Zstd.encode(out);
+		}
+
+	},
+
+	GZIP("gzip") {
+
+		@Override
+		InputStream decode(InputStream in) throws IOException {
+			return new GZIPInputStream(in);
+		}
+
+		@Override
+		OutputStream encode(OutputStream out) throws IOException {
+			// Sync flush so that flushing the response, e.g. after an SSE event, sends
+			// everything written so far
+			return new GZIPOutputStream(out, true);
+		}
+
+	};
+
+	private static final boolean ZSTD_AVAILABLE = ClassUtils.isPresent("com.github.luben.zstd.ZstdOutputStream",
+			ContentEncoding.class.getClassLoader()) && Zstd.probe();
+
+	private final String token;
+
+	ContentEncoding(String token) {
+		this.token = token;
+	}
+
+	/**
+	 * Returns the token of this coding in {@code Content-Encoding} and
+	 * {@code Accept-Encoding} headers.
+	 */
+	public String getToken() {
+		return token;
+	}
+
+	public boolean isAvailable() {
+		return this != ZSTD || ZSTD_AVAILABLE;
+	}
+
+	abstract InputStream decode(InputStream in) throws IOException;
+
+	abstract OutputStream encode(OutputStream out) throws IOException;
+
+	/**
+	 * Returns the available coding named {@code token}, or {@code null} if there is none.
+	 */
+	public static ContentEncoding forToken(String token) {
+		var name = token.trim();
+		if (name.equalsIgnoreCase("x-gzip")) {
+			return GZIP;
+		}
+		for (var encoding : values()) {
+			if (encoding.token.equalsIgnoreCase(name) && encoding.isAvailable()) {
+				return encoding;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the preferred available coding accepted by an {@code Accept-Encoding}
+	 * header, {@link #ZSTD} over {@link #GZIP}, or {@code null} if none is accepted.
+	 */
+	public static ContentEncoding negotiate(String acceptEncoding) {
+		if (acceptEncoding == null || acceptEncoding.isBlank()) {
+			return null;
+		}
+		boolean wildcard = false;
+		boolean[] accepted = new boolean[values().length];
+		boolean[] refused = new boolean[values().length];
+		for (var element : acceptEncoding.split(",")) {
+			var parts = element.split(";");
+			var name = parts[0].trim();
+			var zeroQuality = false;
+			for (int i = 1; i < parts.length; i++) {
+				var parameter = parts[i].trim();
+				if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+					zeroQuality = isZero(parameter.substring(2));
+				}
+			}
+			if (name.equals("*")) {
+				wildcard = !zeroQuality;
+				continue;
+			}
+			var encoding = forToken(name);
+			if (encoding != null) {
+				(zeroQuality ? refused : accepted)[encoding.ordinal()] = true;
+			}
+		}
+		for (var encoding : values()) {
+			if (encoding.isAvailable() && !refused[encoding.ordinal()]
+					&& (accepted[encoding.ordinal()] || (wildcard && encoding == GZIP))) {
+				return encoding;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isZero(String quality) {
+		try {
+			return Double.parseDouble(quality.trim()) == 0;
+		}
+		catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Keeps zstd-jni classes from being loaded unless the coding is used.
+	 */
+	private static final class Zstd {
+
+		static InputStream decode(InputStream in) throws IOException {
+			return new ZstdInputStream(in);
+		}
+
+		static OutputStream encode(OutputStream out) throws IOException {
+			return new ZstdOutputStream(out);
+		}
+
+		/**
+		 * Encodes and decodes an empty body, which fails when zstd-jni has no native
+		 * library for the current platform.
+		 */
+		static boolean probe() {
+			try {
+				var encoded = new ByteArrayOutputStream();
+				encode(encoded).close();
+				try (var decoded = decode(new ByteArrayInputStream(encoded.toByteArray()))) {
+					return decoded.read() == -1;
+				}
+			}
+			catch (IOException | RuntimeException | LinkageError e) {
+				return false;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.compression;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Request whose body is decoded from its {@code Content-Encoding} while it is read. The
+ * coding and the length of the encoded body are hidden from the application. Reading more
+ * than {@code maxSize} decoded bytes fails with a {@link BodyTooLargeException}, so that
+ * a small encoded body cannot expand without bound.
+ */
+class DecompressingRequestWrapper extends HttpServletRequestWrapper {
+
+	private final ContentEncoding encoding;
+
+	private final long maxSize;
+
+	private ServletInputStream inputStream;
+
+	private BufferedReader reader;
+
+	DecompressingRequestWrapper(HttpServletRequest request, ContentEncoding encoding, long maxSize) {
+		super(request);
+		this.encoding = encoding;
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public ServletInputStream getInputStream() throws IOException {
+		if (reader != null) {
+			throw new IllegalStateException("getReader() has already been called for this request");
+		}
+		if (inputStream == null) {
+			inputStream = new DecodingInputStream(super.getInputStream(), encoding, maxSize);
+		}
+		return inputStream;
+	}
+
+	@Override
+	public BufferedReader getReader() throws IOException {
+		if (reader == null) {
+			var encodingName = getCharacterEncoding();
+			var charset = encodingName != null ? Charset.forName(encodingName) : StandardCharsets.ISO_8859_1;
+			reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+		}
+		return reader;
+	}
+
+	@Override
+	public int getContentLength() {
+		return -1;
+	}
+
+	@Override
+	public long getContentLengthLong() {
+		return -1;
+	}
+
+	@Override
+	public String getHeader(String name) {
+		return isHidden(name) ? null : super.getHeader(name);
+	}
+
+	@Override
+	public Enumeration<String> getHeaders(String name) {
+		return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+	}
+
+	@Override
+	public Enumeration<String> getHeaderNames() {
+		var names = Collections.list(super.getHeaderNames());
+		names.removeIf(DecompressingRequestWrapper::isHidden);
+		return Collections.enumeration(names);
+	}
+
+	@Override
+	public long getDateHeader(String name) {
+		return isHidden(name) ? -1 : super.getDateHeader(name);
+	}
+
+	@Override
+	public int getIntHeader(String name) {
+		return isHidden(name) ? -1 : super.getIntHeader(name);
+	}
+
+	private static boolean isHidden(String name) {
+		return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+	}
+
+	/**
+	 * Decodes the body lazily, so that the codec only reads its header once the
+	 * application starts reading.
+	 */
+	private static final class DecodingInputStream extends ServletInputStream {
+
+		private final ServletInputStream source;
+
+		private final ContentEncoding encoding;
+
+		private final long maxSize;
+
+		private InputStream decoded;
+
+		private long size;
+
+		private boolean finished;
+
+		DecodingInputStream(ServletInputStream source, ContentEncoding encoding, long maxSize) {
+			this.source = source;
+			this.encoding = encoding;
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = decoded().read();
+			finished = b == -1;
+			count(finished ? 0 : 1);
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = decoded().read(b, off, len);
+			finished = read == -1;
+			count(Math.max(read, 0));
+			return read;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return decoded != null ? decoded.available() : 0;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (decoded != null) {
+				decoded.close();
+			}
+			else {
+				source.close();
+			}
+		}
+
+		@Override
+		public boolean isFinished() {
+			return finished;
+		}
+
+		@Override
+		public boolean isReady() {
+			return source.isReady();
+		}
+
+		@Override
+		public void setReadListener(ReadListener readListener) {
+			throw new UnsupportedOperationException("Non-blocking reads of encoded request bodies are not supported");
+		}
+
+		private void count(int read) {
+			size += read;
+			if (size > maxSize) {
+				throw new BodyTooLargeException(maxSize);
+			}
+		}
+
+		private InputStream decoded() throws IOException {
+			if (decoded == null) {
+				decoded = encoding.decode(source);
+			}
+			return decoded;
+		}
+
+	}
+
+	/**
+	 * Thrown while reading a body that decodes to more than the maximum size, answered
+	 * with {@code 413 Payload Too Large}.
+	 */
+	static final class BodyTooLargeException extends ResponseStatusException {
+
+		BodyTooLargeException(long maxSize) {
+			super(HttpStatus.PAYLOAD_TOO_LARGE, "Decoded request body exceeds " + maxSize + " bytes");
+		}
+
+	}
+
+}
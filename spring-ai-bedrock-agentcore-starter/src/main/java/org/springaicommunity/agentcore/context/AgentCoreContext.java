@@ -16,7 +16,13 @@
 
 package org.springaicommunity.agentcore.context;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
 import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedCaseInsensitiveMap;
 
 /**
  * Context object containing HTTP headers from AgentCore invocation requests.
@@ -35,17 +41,50 @@ import org.springframework.http.HttpHeaders;
  *     return "Processing for session: " + sessionId;
  * }
  * }</pre>
+ *
+ * <p>
+ * The headers are copied when the context is created, so that it stays valid once the
+ * request has completed, e.g. on threads that continue the invocation. The well-known
+ * AgentCore headers have accessors of their own.
+ *
+ * <p>
+ * When the invocation has a deadline, {@link #getRemainingTime()} tells how long it may
+ * still run, e.g. to size the timeouts of downstream calls.
  */
 public class AgentCoreContext {
 
 	private final HttpHeaders headers;
 
+	private final Instant deadline;
+
+	private final String sessionId;
+
+	private final String userId;
+
+	private final String traceId;
+
+	private volatile Map<String, String> customHeaders;
+
 	/**
 	 * Creates a new AgentCoreContext with the provided headers.
-	 * @param headers the HTTP headers from the request
+	 * @param headers the HTTP headers from the request, copied
 	 */
 	public AgentCoreContext(HttpHeaders headers) {
-		this.headers = headers != null ? headers : new HttpHeaders();
+		this(headers, null);
+	}
+
+	/**
+	 * Creates a new AgentCoreContext with the provided headers and deadline.
+	 * @param headers the HTTP headers from the request, copied
+	 * @param deadline the instant the invocation is cancelled at, or {@code null} if it
+	 * is not bounded
+	 */
+	public AgentCoreContext(HttpHeaders headers, Instant deadline) {
+		this.headers = ServletRequestHeaders.copyOf(headers != null ? headers : HttpHeaders.EMPTY);
+		this.deadline = deadline;
+		this.sessionId = this.headers.getFirst(AgentCoreHeaders.SESSION_ID);
+		this.userId = this.headers.getFirst(AgentCoreHeaders.USER_ID);
+		this.traceId = this.headers.getFirst(AgentCoreHeaders.TRACE_ID);
 	}
 
 	/**
@@ -53,7 +92,7 @@ public class AgentCoreContext {
 	 * @return the HTTP headers (read-only)
 	 */
 	public HttpHeaders getHeaders() {
-		return HttpHeaders.readOnlyHttpHeaders(headers);
+		return headers;
 	}
 
 	/**
@@ -68,4 +107,71 @@ public class AgentCoreContext {
 		return headers.getFirst(headerName);
 	}
 
+	/**
+	 * Gets the AgentCore Runtime session of the invocation.
+	 * @return the {@link AgentCoreHeaders#SESSION_ID} header, or {@code null} if not set
+	 */
+	public String getSessionId() {
+		return sessionId;
+	}
+
+	/**
+	 * Gets the user the invocation is made for.
+	 * @return the {@link AgentCoreHeaders#USER_ID} header, or {@code null} if not set
+	 */
+	public String getUserId() {
+		return userId;
+	}
+
+	/**
+	 * Gets the trace the invocation is part of.
+	 * @return the {@link AgentCoreHeaders#TRACE_ID} header, or {@code null} if not set
+	 */
+	public String getTraceId() {
+		return traceId;
+	}
+
+	/**
+	 * Gets the custom headers passed through by AgentCore Runtime, those named with the
+	 * {@link AgentCoreHeaders#CUSTOM_HEADER_PREFIX}.
+	 * @return the first value of each custom header by its name without the prefix,
+	 * case-insensitively (read-only)
+	 */
+	public Map<String, String> getCustomHeaders() {
+		var customHeaders = this.customHeaders;
+		if (customHeaders == null) {
+			var prefix = AgentCoreHeaders.CUSTOM_HEADER_PREFIX;
+			var found = new LinkedCaseInsensitiveMap<String>();
+			headers.forEach((name, values) -> {
+				if (name.regionMatches(true, 0, prefix, 0, prefix.length()) && !values.isEmpty()) {
+					found.putIfAbsent(name.substring(prefix.length()), values.get(0));
+				}
+			});
+			customHeaders = Collections.unmodifiableMap(found);
+			this.customHeaders = customHeaders;
+		}
+		return customHeaders;
+	}
+
+	/**
+	 * Gets the instant the invocation is cancelled at.
+	 * @return the deadline, or {@code null} if the invocation is not bounded
+	 */
+	public Instant getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Gets the time left until the deadline of the invocation.
+	 * @return the remaining time, {@link Duration#ZERO} once the deadline has passed, or
+	 * {@code null} if the invocation is not bounded
+	 */
+	public Duration getRemainingTime() {
+		if (deadline == null) {
+			return null;
+		}
+		var remaining = Duration.between(Instant.now(), deadline);
+		return remaining.isNegative() ? Duration.ZERO : remaining;
+	}
+
 }
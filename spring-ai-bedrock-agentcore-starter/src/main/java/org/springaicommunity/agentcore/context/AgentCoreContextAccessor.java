@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.context;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+/**
+ * Exposes the {@link AgentCoreContextHolder} to Micrometer context-propagation, which
+ * loads it from {@code META-INF/services}, so that Reactor's automatic context
+ * propagation and Spring's {@code ContextPropagatingTaskDecorator} carry the
+ * {@link AgentCoreContext} across threads.
+ */
+public class AgentCoreContextAccessor implements ThreadLocalAccessor<AgentCoreContext> {
+
+	@Override
+	public Object key() {
+		return AgentCoreContextHolder.CONTEXT_KEY;
+	}
+
+	@Override
+	public AgentCoreContext getValue() {
+		return AgentCoreContextHolder.getContext();
+	}
+
+	@Override
+	public void setValue(AgentCoreContext value) {
+		AgentCoreContextHolder.setContext(value);
+	}
+
+	@Override
+	public void setValue() {
+		AgentCoreContextHolder.resetContext();
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.context;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Holds the {@link AgentCoreContext} of the invocation being processed, for code that
+ * does not receive it as an argument of the agent method, such as chat memory, caches,
+ * metrics or Spring AI advisors.
+ *
+ * <p>
+ * The context is bound to the thread that invokes the agent method. To follow the
+ * invocation to other threads:
+ * <ul>
+ * <li>Streams returned by the agent method carry the context in their Reactor
+ * {@code Context} under {@link #CONTEXT_KEY}. With Micrometer context-propagation on the
+ * classpath and automatic propagation enabled
+ * ({@code spring.reactor.context-propagation=auto}), Reactor operators also see it
+ * through {@link #getContext()} on any scheduler.</li>
+ * <li>With Micrometer context-propagation on the classpath, tasks decorated with Spring's
+ * {@code ContextPropagatingTaskDecorator} see it as well.</li>
+ * <li>Otherwise, executors can be wrapped with {@link #wrap(Executor)}.</li>
+ * </ul>
+ * The context carries a copy of the request headers, so it stays valid on threads that
+ * continue once the request has completed.
+ */
+public final class AgentCoreContextHolder {
+
+	/**
+	 * Key of the context in Reactor's {@code Context} and in Micrometer's
+	 * {@code ContextRegistry}.
+	 */
+	public static final String CONTEXT_KEY = "agentcore.context";
+
+	private static final ThreadLocal<Supplier<AgentCoreContext>> CONTEXT = new ThreadLocal<>();
+
+	private AgentCoreContextHolder() {
+		// Prevent instantiation
+	}
+
+	/**
+	 * Gets the context of the invocation processed by the current thread.
+	 * @return the context, or {@code null} outside of an invocation
+	 */
+	public static AgentCoreContext getContext() {
+		var context = CONTEXT.get();
+		return context != null ? context.get() : null;
+	}
+
+	/**
+	 * Binds {@code context} to the current thread, or unbinds the current context if
+	 * {@code context} is {@code null}.
+	 */
+	public static void setContext(AgentCoreContext context) {
+		if (context != null) {
+			CONTEXT.set(SingletonSupplier.of(context));
+		}
+		else {
+			CONTEXT.remove();
+		}
+	}
+
+	/**
+	 * Binds the context created by {@code context} to the current thread, creating it the
+	 * first time it is asked for, or unbinds the current context if {@code context} is
+	 * {@code null}.
+	 */
+	public static void setLazyContext(Supplier<AgentCoreContext> context) {
+		if (context != null) {
+			CONTEXT
+				.set(context instanceof SingletonSupplier<AgentCoreContext> ? context : SingletonSupplier.of(context));
+		}
+		else {
+			CONTEXT.remove();
+		}
+	}
+
+	/**
+	 * Unbinds the context of the current thread.
+	 */
+	public static void resetContext() {
+		CONTEXT.remove();
+	}
+
+	/**
+	 * Returns a task that runs {@code task} with the context of the current thread.
+	 */
+	public static Runnable wrap(Runnable task) {
+		var context = getContext();
+		if (context == null) {
+			return task;
+		}
+		return () -> {
+			var previous = getContext();
+			setContext(context);
+			try {
+				task.run();
+			}
+			finally {
+				setContext(previous);
+			}
+		};
+	}
+
+	/**
+	 * Returns an executor that runs tasks with the context of the thread submitting them,
+	 * e.g. for {@code CompletableFuture.supplyAsync(supplier, wrap(executor))}.
+	 */
+	public static Executor wrap(Executor executor) {
+		return task -> executor.execute(wrap(task));
+	}
+
+}
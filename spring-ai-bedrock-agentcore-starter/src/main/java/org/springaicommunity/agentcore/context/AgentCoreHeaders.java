@@ -32,6 +32,12 @@ public final class AgentCoreHeaders {
 
 	public static final String CUSTOM_HEADER_PREFIX = "X-Amzn-Bedrock-AgentCore-Runtime-Custom-";
 
+	/**
+	 * Time in milliseconds the invocation may take, overriding the configured default
+	 * deadline.
+	 */
+	public static final String DEADLINE_MS = CUSTOM_HEADER_PREFIX + "Deadline-Ms";
+
 	// Authentication & Authorization
 	public static final String AUTHORIZATION = "Authorization";
 
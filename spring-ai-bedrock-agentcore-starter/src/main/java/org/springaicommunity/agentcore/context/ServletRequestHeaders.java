@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.context;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.MultiValueMapAdapter;
+
+/**
+ * Read-only view of the headers of a servlet request. Headers are looked up in the
+ * request when they are read instead of being copied up front, so requests whose headers
+ * are barely read do not pay for a header map. The view is only valid while the request
+ * is being processed: once the container recycles the request, it reads the headers of
+ * another one. Headers that may be read later, or on other threads, are to be
+ * {@link #copyOf(HttpHeaders) copied} first.
+ */
+public final class ServletRequestHeaders extends AbstractMap<String, List<String>>
+		implements MultiValueMap<String, String> {
+
+	private final HttpServletRequest request;
+
+	private ServletRequestHeaders(HttpServletRequest request) {
+		this.request = request;
+	}
+
+	/**
+	 * Returns read-only {@link HttpHeaders} backed by the headers of {@code request}.
+	 */
+	public static HttpHeaders of(HttpServletRequest request) {
+		return HttpHeaders.readOnlyHttpHeaders(new HttpHeaders(new ServletRequestHeaders(request)));
+	}
+
+	/**
+	 * Returns a read-only copy of {@code headers} that stays valid once the request they
+	 * were read from has completed. Copies made by this method are returned as they are.
+	 */
+	public static HttpHeaders copyOf(HttpHeaders headers) {
+		if (headers instanceof Snapshot) {
+			return headers;
+		}
+		var copy = new LinkedCaseInsensitiveMap<List<String>>(8, Locale.ENGLISH);
+		headers
+			.forEach((name, values) -> copy.putIfAbsent(name, Collections.unmodifiableList(new ArrayList<>(values))));
+		return new Snapshot(CollectionUtils.unmodifiableMultiValueMap(new MultiValueMapAdapter<>(copy)));
+	}
+
+	@Override
+	public String getFirst(String key) {
+		return request.getHeader(key);
+	}
+
+	@Override
+	public List<String> get(Object key) {
+		if (!(key instanceof String name)) {
+			return null;
+		}
+		var values = request.getHeaders(name);
+		if (values == null || !values.hasMoreElements()) {
+			return null;
+		}
+		var first = values.nextElement();
+		if (!values.hasMoreElements()) {
+			return List.of(first);
+		}
+		var all = Collections.list(values);
+		all.add(0, first);
+		return Collections.unmodifiableList(all);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof String name && request.getHeader(name) != null;
+	}
+
+	@Override
+	public Set<Entry<String, List<String>>> entrySet() {
+		var entries = new LinkedHashMap<String, List<String>>();
+		var names = request.getHeaderNames();
+		while (names.hasMoreElements()) {
+			var name = names.nextElement();
+			var values = get(name);
+			if (values != null) {
+				entries.putIfAbsent(name, values);
+			}
+		}
+		return Collections.unmodifiableMap(entries).entrySet();
+	}
+
+	@Override
+	public void add(String key, String value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void addAll(String key, List<? extends String> values) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void addAll(MultiValueMap<String, String> values) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void set(String key, String value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setAll(Map<String, String> values) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Map<String, String> toSingleValueMap() {
+		var singleValues = new LinkedHashMap<String, String>();
+		entrySet().forEach(entry -> singleValues.put(entry.getKey(), entry.getValue().get(0)));
+		return singleValues;
+	}
+
+	private static final class Snapshot extends HttpHeaders {
+
+		Snapshot(MultiValueMap<String, String> headers) {
+			super(headers);
+		}
+
+	}
+
+}
@@ -16,17 +16,25 @@
 
 package org.springaicommunity.agentcore.controller;
 
+import java.time.Instant;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springaicommunity.agentcore.context.ServletRequestHeaders;
 import org.springaicommunity.agentcore.exception.AgentCoreInvocationException;
+import org.springaicommunity.agentcore.service.AgentCoreBinaryPayload;
+import org.springaicommunity.agentcore.service.AgentCoreCancellationHandler;
 import org.springaicommunity.agentcore.service.AgentCoreMethodInvoker;
+import org.springaicommunity.agentcore.service.AgentCorePayloadFormat;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -37,29 +45,96 @@ public class AgentCoreInvocationsController implements AgentCoreInvocationsHandl
 
 	private final Logger logger = LoggerFactory.getLogger(AgentCoreInvocationsController.class);
 
+	private final AgentCoreCancellationHandler cancellationHandler;
+
+	@Autowired(required = false)
 	public AgentCoreInvocationsController(AgentCoreMethodInvoker invoker) {
+		this(invoker, null);
+	}
+
+	/**
+	 * Creates a controller that, given a {@code cancellationHandler}, stops invocations
+	 * when the client disconnects.
+	 */
+	@Autowired(required = false)
+	public AgentCoreInvocationsController(AgentCoreMethodInvoker invoker,
+			AgentCoreCancellationHandler cancellationHandler) {
 		this.invoker = invoker;
+		this.cancellationHandler = cancellationHandler;
 	}
 
 	@PostMapping(value = "/invocations", consumes = MediaType.APPLICATION_JSON_VALUE,
 			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE,
-					MediaType.APPLICATION_OCTET_STREAM_VALUE })
-	public Object handleJsonInvocation(@RequestBody Object request, @RequestHeader HttpHeaders headers)
-			throws Exception {
-		return handleInvocation(request, headers);
+					MediaType.APPLICATION_OCTET_STREAM_VALUE, AgentCorePayloadFormat.CBOR_VALUE,
+					AgentCorePayloadFormat.SMILE_VALUE, AgentCorePayloadFormat.MSGPACK_VALUE,
+					AgentCorePayloadFormat.MSGPACK_ALTERNATIVE_VALUE })
+	public Object handleJsonInvocation(@RequestBody Object request, HttpServletRequest servletRequest,
+			HttpServletResponse response) throws Exception {
+		return handleInvocation(request, ServletRequestHeaders.of(servletRequest), response);
 	}
 
 	@PostMapping(value = "/invocations", consumes = MediaType.TEXT_PLAIN_VALUE,
 			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE,
-					MediaType.APPLICATION_OCTET_STREAM_VALUE })
-	public Object handleTextInvocation(@RequestBody String request, @RequestHeader HttpHeaders headers)
+					MediaType.APPLICATION_OCTET_STREAM_VALUE, AgentCorePayloadFormat.CBOR_VALUE,
+					AgentCorePayloadFormat.SMILE_VALUE, AgentCorePayloadFormat.MSGPACK_VALUE,
+					AgentCorePayloadFormat.MSGPACK_ALTERNATIVE_VALUE })
+	public Object handleTextInvocation(@RequestBody String request, HttpServletRequest servletRequest,
+			HttpServletResponse response) throws Exception {
+		return handleInvocation(request, ServletRequestHeaders.of(servletRequest), response);
+	}
+
+	@PostMapping(value = "/invocations",
+			consumes = { AgentCorePayloadFormat.CBOR_VALUE, AgentCorePayloadFormat.SMILE_VALUE,
+					AgentCorePayloadFormat.MSGPACK_VALUE, AgentCorePayloadFormat.MSGPACK_ALTERNATIVE_VALUE },
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE,
+					MediaType.APPLICATION_OCTET_STREAM_VALUE, AgentCorePayloadFormat.CBOR_VALUE,
+					AgentCorePayloadFormat.SMILE_VALUE, AgentCorePayloadFormat.MSGPACK_VALUE,
+					AgentCorePayloadFormat.MSGPACK_ALTERNATIVE_VALUE })
+	public Object handleBinaryInvocation(@RequestBody byte[] request, HttpServletRequest servletRequest,
+			HttpServletResponse response) throws Exception {
+		var headers = ServletRequestHeaders.of(servletRequest);
+		var format = AgentCorePayloadFormat.forMediaType(headers.getContentType());
+		if (!invoker.supports(format)) {
+			throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+					"Payload format " + format + " is not available");
+		}
+		return handleInvocation(new AgentCoreBinaryPayload(format, request), headers, response);
+	}
+
+	private Object handleInvocation(Object request, HttpHeaders headers, HttpServletResponse response)
+			throws Exception {
+		if (cancellationHandler == null) {
+			return invoke(request, headers, null, response);
+		}
+		var deadline = cancellationHandler.getDeadline(headers);
+		// The invocation may still run once the request has timed out and been recycled
+		var copiedHeaders = ServletRequestHeaders.copyOf(headers);
+		return cancellationHandler.handle(deadline, () -> invoke(request, copiedHeaders, deadline, response, false));
+	}
+
+	private Object invoke(Object request, HttpHeaders headers, Instant deadline, HttpServletResponse response)
 			throws Exception {
-		return handleInvocation(request, headers);
+		return invoke(request, headers, deadline, response, true);
 	}
 
-	private Object handleInvocation(Object request, HttpHeaders headers) throws Exception {
+	private Object invoke(Object request, HttpHeaders headers, Instant deadline, HttpServletResponse response,
+			boolean writeDirectly) throws Exception {
 		try {
-			return invoker.invokeAgentMethod(request, headers);
+			var result = deadline != null ? invoker.invokeAgentMethod(request, headers, deadline)
+					: invoker.invokeAgentMethod(request, headers);
+			if (deadline != null && Instant.now().isAfter(deadline)) {
+				// The timeout response may already be on its way
+				throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Invocation deadline exceeded");
+			}
+			if (!writeDirectly) {
+				// Spring MVC writes the result of an asynchronous task after dispatching
+				// it, which only happens once, for either the result or a timeout
+				var prepared = invoker.prepareResponse(result, headers, response);
+				return prepared != null ? prepared : result;
+			}
+			// Returning null once the response is written leaves it untouched by Spring
+			// MVC
+			return invoker.writeResponse(result, headers, response) ? null : result;
 		}
 
 		catch (AgentCoreInvocationException e) {
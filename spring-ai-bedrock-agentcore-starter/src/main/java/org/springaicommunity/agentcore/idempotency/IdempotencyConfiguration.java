@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.idempotency;
+
+import java.time.Duration;
+
+import jakarta.servlet.DispatcherType;
+import org.springaicommunity.agentcore.context.AgentCoreHeaders;
+import org.springaicommunity.agentcore.throttle.ThrottleConfiguration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+@ConfigurationProperties(prefix = "agentcore.idempotency")
+@ConditionalOnProperty(prefix = "agentcore.idempotency", name = "enabled", havingValue = "true")
+public class IdempotencyConfiguration {
+
+	private boolean enabled;
+
+	private String header = AgentCoreHeaders.REQUEST_ID;
+
+	private Duration timeToLive = Duration.ofMinutes(5);
+
+	private int maxEntries = 1000;
+
+	private DataSize maxResponseSize = DataSize.ofKilobytes(128);
+
+	private Duration joinTimeout = Duration.ofMinutes(5);
+
+	@Bean
+	public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter() {
+		FilterRegistrationBean<IdempotencyFilter> registrationBean = new FilterRegistrationBean<>();
+		registrationBean.setFilter(
+				new IdempotencyFilter(header, timeToLive, maxEntries, (int) maxResponseSize.toBytes(), joinTimeout));
+		registrationBean.addUrlPatterns(ThrottleConfiguration.INVOCATIONS_PATH);
+		registrationBean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+		// After compression, so that responses are kept uncompressed and replays are
+		// encoded for each retry
+		registrationBean.setOrder(3);
+		return registrationBean;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getHeader() {
+		return header;
+	}
+
+	public void setHeader(String header) {
+		this.header = header;
+	}
+
+	public Duration getTimeToLive() {
+		return timeToLive;
+	}
+
+	public void setTimeToLive(Duration timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	public DataSize getMaxResponseSize() {
+		return maxResponseSize;
+	}
+
+	public void setMaxResponseSize(DataSize maxResponseSize) {
+		this.maxResponseSize = maxResponseSize;
+	}
+
+	public Duration getJoinTimeout() {
+		return joinTimeout;
+	}
+
+	public void setJoinTimeout(Duration joinTimeout) {
+		this.joinTimeout = joinTimeout;
+	}
+
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.idempotency;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Runs each invocation at most once per idempotency key, taken from a request header.
+ * Retries that arrive while the invocation is running wait for it, as asynchronous
+ * requests that do not hold a thread, and receive its response; retries that arrive
+ * within the time to live of a successful response, including a completed Server-Sent
+ * Events stream, receive a replay of it. Replays carry the {@value #REPLAYED_HEADER}
+ * header. Unsuccessful invocations are not kept: the next retry runs the invocation
+ * again.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private static final String JOIN_ATTRIBUTE = IdempotencyFilter.class.getName() + ".join";
+
+	private final String keyHeader;
+
+	private final long timeToLive;
+
+	private final int maxResponseSize;
+
+	private final int maxEntries;
+
+	private final Duration joinTimeout;
+
+	// Guarded by itself, in order of the invocations' start
+	private final Map<String, Execution> executions = new LinkedHashMap<>();
+
+	public IdempotencyFilter(String keyHeader, Duration timeToLive, int maxEntries, int maxResponseSize,
+			Duration joinTimeout) {
+		this.keyHeader = keyHeader;
+		this.timeToLive = timeToLive.toNanos();
+		this.maxResponseSize = maxResponseSize;
+		this.maxEntries = maxEntries;
+		this.joinTimeout = joinTimeout;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		var recorder = WebUtils.getNativeResponse(response, RecordingResponseWrapper.class);
+		if (recorder == null) {
+			var key = request.getHeader(keyHeader);
+			if (!StringUtils.hasText(key)) {
+				chain.doFilter(request, response);
+				return;
+			}
+			var execution = acquire(key, request, response);
+			if (execution == null) {
+				return;
+			}
+			recorder = new RecordingResponseWrapper(response, maxResponseSize,
+					recorded -> complete(key, execution, recorded));
+			response = recorder;
+		}
+		try {
+			chain.doFilter(request, response);
+		}
+		catch (IOException | ServletException | RuntimeException ex) {
+			recorder.fail();
+			recorder.finish();
+			throw ex;
+		}
+		// Streams complete in a later async dispatch, or without one if they fail
+		if (isAsyncStarted(request)) {
+			request.getAsyncContext().addListener(new RecordingListener(recorder));
+		}
+		else {
+			recorder.finish();
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	/**
+	 * Returns a new execution for the caller to run, or {@code null} once the response
+	 * has been answered from an execution of the same key, or is waiting for one to
+	 * complete without holding the request thread.
+	 */
+	private Execution acquire(String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+		var join = (Join) request.getAttribute(JOIN_ATTRIBUTE);
+		if (join != null) {
+			// Dispatched again once the joined execution completed or the wait timed out
+			request.removeAttribute(JOIN_ATTRIBUTE);
+			if (!join.execution.result.isDone()) {
+				response.sendError(HttpStatus.CONFLICT.value(), "Invocation " + key + " is still in progress");
+				return null;
+			}
+			var recorded = join.execution.result.join();
+			if (recorded != null) {
+				recorded.replay(response);
+				return null;
+			}
+			// The invocation failed and has been forgotten: run it again, or join the
+			// retry that does
+		}
+		Execution execution;
+		synchronized (executions) {
+			long now = System.nanoTime();
+			executions.values().removeIf(candidate -> candidate.isExpired(now));
+			execution = executions.get(key);
+			if (execution == null) {
+				execution = new Execution();
+				executions.put(key, execution);
+				evictCompleted();
+				return execution;
+			}
+		}
+		var recorded = execution.result.getNow(null);
+		if (recorded != null) {
+			recorded.replay(response);
+			return null;
+		}
+		join(request, response, execution);
+		return null;
+	}
+
+	/**
+	 * Removes the oldest completed executions beyond the maximum number of entries.
+	 * Executions in progress are kept, so that their retries keep joining them.
+	 */
+	private void evictCompleted() {
+		var iterator = executions.values().iterator();
+		while (executions.size() > maxEntries && iterator.hasNext()) {
+			if (iterator.next().completed) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Suspends the request until {@code execution} completes or the join timeout expires,
+	 * and then dispatches it through this filter again.
+	 */
+	private void join(HttpServletRequest request, HttpServletResponse response, Execution execution) {
+		var asyncContext = request.startAsync(request, response);
+		asyncContext.setTimeout(joinTimeout.toMillis());
+		var join = new Join(execution, asyncContext);
+		request.setAttribute(JOIN_ATTRIBUTE, join);
+		asyncContext.addListener(join);
+		execution.result.whenComplete((recorded, error) -> join.resume());
+	}
+
+	private void complete(String key, Execution execution, RecordedResponse recorded) {
+		synchronized (executions) {
+			if (recorded != null) {
+				execution.expiresAt = System.nanoTime() + timeToLive;
+				execution.completed = true;
+			}
+			else {
+				executions.remove(key, execution);
+			}
+		}
+		execution.result.complete(recorded);
+	}
+
+	private static final class Execution {
+
+		final CompletableFuture<RecordedResponse> result = new CompletableFuture<>();
+
+		long expiresAt;
+
+		boolean completed;
+
+		boolean isExpired(long now) {
+			return completed && now - expiresAt >= 0;
+		}
+
+	}
+
+	/**
+	 * Request waiting for an execution of the same key, resumed once.
+	 */
+	private static final class Join implements AsyncListener {
+
+		final Execution execution;
+
+		private final AsyncContext asyncContext;
+
+		private final AtomicBoolean resumed = new AtomicBoolean();
+
+		Join(Execution execution, AsyncContext asyncContext) {
+			this.execution = execution;
+			this.asyncContext = asyncContext;
+		}
+
+		void resume() {
+			if (resumed.compareAndSet(false, true)) {
+				asyncContext.dispatch();
+			}
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			resume();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			// The client is gone, the container completes the request
+			resumed.set(true);
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+	}
+
+	private record RecordingListener(RecordingResponseWrapper recorder) implements AsyncListener {
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			recorder.finish();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			recorder.fail();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			recorder.fail();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+	}
+
+}
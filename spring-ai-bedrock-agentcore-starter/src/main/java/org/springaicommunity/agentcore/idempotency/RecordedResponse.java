@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.idempotency;
+
+import java.io.IOException;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Successful response of a completed invocation, kept to answer retries of the same
+ * request.
+ */
+record RecordedResponse(int status, String contentType, HttpHeaders headers, byte[] body) {
+
+	void replay(HttpServletResponse response) throws IOException {
+		response.setStatus(status);
+		headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+		if (contentType != null) {
+			response.setContentType(contentType);
+		}
+		response.setHeader(IdempotencyFilter.REPLAYED_HEADER, "true");
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+}
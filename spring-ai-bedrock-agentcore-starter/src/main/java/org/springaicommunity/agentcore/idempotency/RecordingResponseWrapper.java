@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.idempotency;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Response that passes everything through while keeping a copy of its status, headers and
+ * body, streamed or not, up to a maximum size. The copy is handed over once the response
+ * is finished, or {@code null} if it cannot be replayed: unsuccessful, too large, or cut
+ * short by an error.
+ */
+class RecordingResponseWrapper extends HttpServletResponseWrapper {
+
+	private final int maxSize;
+
+	private final Consumer<RecordedResponse> onFinish;
+
+	private final HttpHeaders headers = new HttpHeaders();
+
+	private final AtomicBoolean finished = new AtomicBoolean();
+
+	private ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+	private volatile boolean failed;
+
+	private ServletOutputStream outputStream;
+
+	private PrintWriter writer;
+
+	RecordingResponseWrapper(HttpServletResponse response, int maxSize, Consumer<RecordedResponse> onFinish) {
+		super(response);
+		this.maxSize = maxSize;
+		this.onFinish = onFinish;
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (writer != null) {
+			throw new IllegalStateException("getWriter() has already been called for this response");
+		}
+		if (outputStream == null) {
+			outputStream = new RecordingOutputStream(super.getOutputStream());
+		}
+		return outputStream;
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (writer == null) {
+			var charset = Charset.forName(getCharacterEncoding());
+			writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset));
+		}
+		return writer;
+	}
+
+	@Override
+	public void setHeader(String name, String value) {
+		super.setHeader(name, value);
+		if (isRecorded(name)) {
+			headers.set(name, value);
+		}
+	}
+
+	@Override
+	public void addHeader(String name, String value) {
+		super.addHeader(name, value);
+		if (isRecorded(name)) {
+			headers.add(name, value);
+		}
+	}
+
+	@Override
+	public void setIntHeader(String name, int value) {
+		setHeader(name, String.valueOf(value));
+	}
+
+	@Override
+	public void addIntHeader(String name, int value) {
+		addHeader(name, String.valueOf(value));
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		if (writer != null) {
+			writer.flush();
+		}
+		super.flushBuffer();
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		headers.clear();
+		resetBody();
+	}
+
+	@Override
+	public void resetBuffer() {
+		super.resetBuffer();
+		resetBody();
+	}
+
+	/**
+	 * Marks the response as cut short, so that it is not replayed.
+	 */
+	void fail() {
+		failed = true;
+	}
+
+	/**
+	 * Hands the copy of the response over, once.
+	 */
+	void finish() {
+		if (!finished.compareAndSet(false, true)) {
+			return;
+		}
+		if (writer != null) {
+			writer.flush();
+		}
+		onFinish.accept(isReplayable()
+				? new RecordedResponse(getStatus(), getContentType(), headers, body.toByteArray()) : null);
+	}
+
+	private boolean isReplayable() {
+		return !failed && body != null && HttpStatus.valueOf(getStatus()).is2xxSuccessful();
+	}
+
+	private synchronized void record(byte[] bytes, int offset, int length) {
+		if (body != null) {
+			if (body.size() + length > maxSize) {
+				body = null;
+			}
+			else {
+				body.write(bytes, offset, length);
+			}
+		}
+	}
+
+	private synchronized void resetBody() {
+		if (body != null) {
+			body.reset();
+		}
+	}
+
+	private static boolean isRecorded(String name) {
+		return !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+				&& !HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name);
+	}
+
+	private final class RecordingOutputStream extends ServletOutputStream {
+
+		private final ServletOutputStream delegate;
+
+		RecordingOutputStream(ServletOutputStream delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			try {
+				delegate.write(b, off, len);
+			}
+			catch (IOException ex) {
+				fail();
+				throw ex;
+			}
+			record(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			try {
+				delegate.flush();
+			}
+			catch (IOException ex) {
+				fail();
+				throw ex;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			delegate.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return delegate.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			delegate.setWriteListener(writeListener);
+		}
+
+	}
+
+}
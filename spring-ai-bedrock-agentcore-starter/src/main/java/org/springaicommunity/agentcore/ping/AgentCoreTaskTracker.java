@@ -30,6 +30,8 @@ public class AgentCoreTaskTracker {
 
 	private final AtomicLong activeTasks = new AtomicLong(0);
 
+	private final AtomicLong cancellations = new AtomicLong(0);
+
 	public void increment() {
 		activeTasks.incrementAndGet();
 	}
@@ -44,4 +46,16 @@ public class AgentCoreTaskTracker {
 		return activeTasks.get();
 	}
 
+	/**
+	 * Records a task that was cancelled before it completed, e.g. because the client
+	 * disconnected from a streaming invocation.
+	 */
+	public void recordCancellation() {
+		cancellations.incrementAndGet();
+	}
+
+	public long getCancellationCount() {
+		return cancellations.get();
+	}
+
 }
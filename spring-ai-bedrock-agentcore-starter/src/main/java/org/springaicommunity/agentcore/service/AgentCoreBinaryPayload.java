@@ -0,0 +1,27 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+/**
+ * Request body in one of the binary {@link AgentCorePayloadFormat}s, decoded directly
+ * into the agent method's parameter type.
+ *
+ * @param format the format of the body
+ * @param body the encoded body
+ */
+public record AgentCoreBinaryPayload(AgentCorePayloadFormat format, byte[] body) {
+}
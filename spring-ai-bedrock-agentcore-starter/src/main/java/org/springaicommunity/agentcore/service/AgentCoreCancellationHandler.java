@@ -0,0 +1,335 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.springaicommunity.agentcore.context.AgentCoreHeaders;
+import org.springaicommunity.agentcore.ping.AgentCoreTaskTracker;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Ties the work of an invocation to the request, so that it stops when the client
+ * disconnects instead of consuming model tokens for nobody. Invocations run as a
+ * {@link WebAsyncTask} on an executor of their own, whose thread is interrupted when
+ * Spring MVC reports an error of the asynchronous request. Streams and futures returned
+ * by the agent method are cancelled as well. A {@link CompletableFuture} cannot interrupt
+ * the thread completing it, other futures are cancelled with interruption.
+ * <p>
+ * Invocations can be given a deadline, by default or per request with the
+ * {@link AgentCoreHeaders#DEADLINE_MS} header. When it expires the invocation is
+ * interrupted, its streams and futures are cancelled, and the client receives
+ * {@code 504 Gateway Timeout}.
+ * <p>
+ * Cancellations are recorded by the {@link AgentCoreTaskTracker}. With
+ * {@link #setTrackTasks(boolean) task tracking}, running invocations, streams and futures
+ * also count as its tasks, so that {@code /ping} reports {@code HealthyBusy} while any of
+ * them runs.
+ */
+public class AgentCoreCancellationHandler {
+
+	private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Flux",
+			AgentCoreCancellationHandler.class.getClassLoader());
+
+	private static final long NO_TIMEOUT = -1;
+
+	private final AgentCoreTaskTracker taskTracker;
+
+	private final Duration defaultTimeout;
+
+	private final Duration maxTimeout;
+
+	private final AsyncTaskExecutor executor;
+
+	private volatile boolean trackTasks;
+
+	public AgentCoreCancellationHandler(AgentCoreTaskTracker taskTracker) {
+		this(taskTracker, null, null, new SimpleAsyncTaskExecutor("agentcore-invocation-"));
+	}
+
+	/**
+	 * Creates a handler that bounds invocations by {@code defaultTimeout}, or the time
+	 * requested by the {@link AgentCoreHeaders#DEADLINE_MS} header up to
+	 * {@code maxTimeout}, and runs invocations on {@code executor}. Invocations that
+	 * {@code executor} rejects are answered with {@code 503 Service Unavailable}.
+	 */
+	public AgentCoreCancellationHandler(AgentCoreTaskTracker taskTracker, Duration defaultTimeout, Duration maxTimeout,
+			AsyncTaskExecutor executor) {
+		this.taskTracker = taskTracker;
+		this.defaultTimeout = defaultTimeout;
+		this.maxTimeout = maxTimeout;
+		this.executor = new RejectionAwareExecutor(executor);
+	}
+
+	/**
+	 * Sets whether running invocations, streams and futures count as tasks of the
+	 * {@link AgentCoreTaskTracker}. Off by default.
+	 */
+	public void setTrackTasks(boolean trackTasks) {
+		this.trackTasks = trackTasks;
+	}
+
+	/**
+	 * Returns the deadline of an invocation with {@code headers}, or {@code null} if it
+	 * is not bounded.
+	 */
+	public Instant getDeadline(HttpHeaders headers) {
+		var timeout = defaultTimeout;
+		var requested = headers.getFirst(AgentCoreHeaders.DEADLINE_MS);
+		if (requested != null) {
+			try {
+				timeout = Duration.ofMillis(Long.parseLong(requested.trim()));
+			}
+			catch (NumberFormatException e) {
+				throw invalidDeadline(requested);
+			}
+			if (timeout.isZero() || timeout.isNegative()) {
+				throw invalidDeadline(requested);
+			}
+		}
+		if (timeout == null) {
+			return null;
+		}
+		if (maxTimeout != null && timeout.compareTo(maxTimeout) > 0) {
+			timeout = maxTimeout;
+		}
+		return Instant.now().plus(timeout);
+	}
+
+	/**
+	 * Returns the asynchronous task running {@code invocation}, which is interrupted on
+	 * disconnect or at the {@code deadline}, if any, and whose result is prepared to be
+	 * cancelled with the request.
+	 */
+	public Object handle(Instant deadline, Callable<Object> invocation) throws Exception {
+		// Without a deadline the request does not time out, as before
+		long timeout = NO_TIMEOUT;
+		if (deadline != null) {
+			timeout = Duration.between(Instant.now(), deadline).toMillis();
+			if (timeout <= 0) {
+				throw deadlineExceeded();
+			}
+		}
+		var task = new WebAsyncTask<>(timeout, executor, () -> {
+			started();
+			try {
+				return track(invocation.call(), deadline);
+			}
+			catch (Exception e) {
+				// Interrupted at the deadline, which may be reported before the timeout
+				if (deadline != null && !Instant.now().isBefore(deadline)) {
+					throw deadlineExceeded();
+				}
+				throw e;
+			}
+			finally {
+				finished();
+			}
+		});
+		task.onTimeout(() -> {
+			// Spring MVC interrupts the task after this callback
+			taskTracker.recordCancellation();
+			throw deadlineExceeded();
+		});
+		task.onError(() -> {
+			// The client is gone, Spring MVC interrupts the task after this callback
+			taskTracker.recordCancellation();
+			return CallableProcessingInterceptor.RESULT_NONE;
+		});
+		return task;
+	}
+
+	/**
+	 * Returns {@code result} prepared to be cancelled with the request if it is a
+	 * {@code Flux}, {@code Mono} or {@link CompletionStage}, otherwise {@code result}
+	 * itself.
+	 */
+	public Object track(Object result) {
+		return track(result, null);
+	}
+
+	private Object track(Object result, Instant deadline) {
+		if (REACTOR_PRESENT && ReactorTracking.isStream(result)) {
+			return ReactorTracking.track(result, deadline, this);
+		}
+		if (result instanceof CompletionStage<?> stage) {
+			return track(stage, deadline);
+		}
+		return result;
+	}
+
+	private DeferredResult<Object> track(CompletionStage<?> stage, Instant deadline) {
+		var future = stage.toCompletableFuture();
+		// Interrupts the thread running the work unless it completes a CompletableFuture
+		var cancellable = stage instanceof Future<?> running ? running : future;
+		var deferredResult = deadline != null
+				? new DeferredResult<Object>(Math.max(1, Duration.between(Instant.now(), deadline).toMillis()),
+						() -> deadlineExceeded())
+				: new DeferredResult<Object>();
+		Runnable cancel = () -> {
+			if (cancellable.cancel(true)) {
+				taskTracker.recordCancellation();
+			}
+		};
+		deferredResult.onError(error -> cancel.run());
+		deferredResult.onTimeout(cancel);
+		started();
+		future.whenComplete((value, error) -> {
+			finished();
+			if (error != null) {
+				deferredResult.setErrorResult(error);
+			}
+			else {
+				deferredResult.setResult(value);
+			}
+		});
+		return deferredResult;
+	}
+
+	private void started() {
+		if (trackTasks) {
+			taskTracker.increment();
+		}
+	}
+
+	private void finished() {
+		if (trackTasks) {
+			taskTracker.decrement();
+		}
+	}
+
+	private static ResponseStatusException invalidDeadline(String requested) {
+		return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+				"Invalid " + AgentCoreHeaders.DEADLINE_MS + " header: " + requested);
+	}
+
+	private static ResponseStatusException deadlineExceeded() {
+		return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Invocation deadline exceeded");
+	}
+
+	/**
+	 * Turns the rejection of an invocation into a response, so that a saturated executor
+	 * answers right away instead of holding a request thread.
+	 */
+	private static final class RejectionAwareExecutor implements AsyncTaskExecutor {
+
+		private final AsyncTaskExecutor delegate;
+
+		RejectionAwareExecutor(AsyncTaskExecutor delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			try {
+				delegate.execute(task);
+			}
+			catch (RejectedExecutionException e) {
+				throw overloaded(e);
+			}
+		}
+
+		@Override
+		public Future<?> submit(Runnable task) {
+			try {
+				return delegate.submit(task);
+			}
+			catch (RejectedExecutionException e) {
+				throw overloaded(e);
+			}
+		}
+
+		@Override
+		public <T> Future<T> submit(Callable<T> task) {
+			try {
+				return delegate.submit(task);
+			}
+			catch (RejectedExecutionException e) {
+				throw overloaded(e);
+			}
+		}
+
+		private static ResponseStatusException overloaded(RejectedExecutionException e) {
+			return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent invocations", e);
+		}
+
+	}
+
+	/**
+	 * Keeps Reactor classes from being loaded unless streams are returned.
+	 */
+	private static final class ReactorTracking {
+
+		static boolean isStream(Object result) {
+			return result instanceof Flux || result instanceof Mono;
+		}
+
+		static Object track(Object result, Instant deadline, AgentCoreCancellationHandler handler) {
+			if (result instanceof Mono<?> mono) {
+				if (deadline != null) {
+					mono = mono.timeout(Duration.between(Instant.now(), deadline))
+						.onErrorMap(TimeoutException.class, error -> expired(handler));
+				}
+				return mono.doOnSubscribe(subscription -> handler.started())
+					.doFinally(signal -> finished(signal, handler));
+			}
+			var flux = (Flux<?>) result;
+			if (deadline != null) {
+				// Every element may take the time left until the deadline, which bounds
+				// the whole stream
+				flux = flux
+					.timeout(Mono.delay(Duration.between(Instant.now(), deadline)),
+							element -> Mono.delay(Duration.between(Instant.now(), deadline)))
+					.onErrorMap(TimeoutException.class, error -> expired(handler));
+			}
+			return flux.doOnSubscribe(subscription -> handler.started()).doFinally(signal -> finished(signal, handler));
+		}
+
+		private static Throwable expired(AgentCoreCancellationHandler handler) {
+			handler.taskTracker.recordCancellation();
+			return deadlineExceeded();
+		}
+
+		private static void finished(SignalType signal, AgentCoreCancellationHandler handler) {
+			handler.finished();
+			if (signal == SignalType.CANCEL) {
+				handler.taskTracker.recordCancellation();
+			}
+		}
+
+	}
+
+}
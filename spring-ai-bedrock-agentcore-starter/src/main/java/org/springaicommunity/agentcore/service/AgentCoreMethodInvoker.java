@@ -16,26 +16,114 @@
 
 package org.springaicommunity.agentcore.service;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.time.Instant;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
 import org.springaicommunity.agentcore.context.AgentCoreContext;
+import org.springaicommunity.agentcore.context.AgentCoreContextHolder;
 import org.springaicommunity.agentcore.exception.AgentCoreInvocationException;
+import org.springaicommunity.agentcore.session.AgentCoreSession;
+import org.springaicommunity.agentcore.session.AgentCoreSessionStore;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.function.SingletonSupplier;
 
 public class AgentCoreMethodInvoker {
 
-	private final ObjectMapper objectMapper;
+	private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Flux",
+			AgentCoreMethodInvoker.class.getClassLoader());
+
+	private final AgentCorePayloadMapper payloadMapper;
 
 	private final AgentCoreMethodRegistry registry;
 
+	private final boolean responseFastPath;
+
+	private final AgentCoreStreamCoalescer streamCoalescer;
+
+	private final AgentCoreResultCache resultCache;
+
+	private final AgentCoreSessionStore sessionStore;
+
+	/**
+	 * Creates an invoker that converts requests and writes responses with
+	 * {@code objectMapper}, without any of the optional collaborators.
+	 * @see #builder(ObjectMapper, AgentCoreMethodRegistry)
+	 */
 	public AgentCoreMethodInvoker(ObjectMapper objectMapper, AgentCoreMethodRegistry registry) {
-		this.objectMapper = objectMapper;
+		this(builder(objectMapper, registry));
+	}
+
+	private AgentCoreMethodInvoker(Builder builder) {
+		this(builder.payloadMapper, builder.registry, builder.responseFastPath, builder.streamCoalescer,
+				builder.resultCache, builder.sessionStore);
+	}
+
+	/**
+	 * Creates an invoker that converts requests and writes responses with
+	 * {@code payloadMapper}.
+	 * @param responseFastPath whether {@link #writeResponse} writes JSON results straight
+	 * to the response
+	 * @param streamCoalescer merges the chunks of streamed results for requests that
+	 * accept {@code text/event-stream}, or {@code null}
+	 * @param resultCache returns cached results of agent methods declared
+	 * {@link AgentCoreInvocation#cacheable() cacheable}, or {@code null}
+	 * @param sessionStore keeps the {@link AgentCoreSession} passed to agent methods
+	 * declaring a parameter of that type, or {@code null} for sessions that are not kept
+	 * @see #builder(AgentCorePayloadMapper, AgentCoreMethodRegistry)
+	 */
+	public AgentCoreMethodInvoker(AgentCorePayloadMapper payloadMapper, AgentCoreMethodRegistry registry,
+			boolean responseFastPath, AgentCoreStreamCoalescer streamCoalescer, AgentCoreResultCache resultCache,
+			AgentCoreSessionStore sessionStore) {
+		this.payloadMapper = payloadMapper;
 		this.registry = registry;
+		this.responseFastPath = responseFastPath;
+		this.streamCoalescer = streamCoalescer;
+		this.resultCache = resultCache;
+		this.sessionStore = sessionStore;
+	}
+
+	/**
+	 * Returns a builder of invokers that convert requests and write responses with
+	 * {@code objectMapper}.
+	 */
+	public static Builder builder(ObjectMapper objectMapper, AgentCoreMethodRegistry registry) {
+		return builder(new AgentCorePayloadMapper(objectMapper), registry);
+	}
+
+	/**
+	 * Returns a builder of invokers that convert requests and write responses with
+	 * {@code payloadMapper}.
+	 */
+	public static Builder builder(AgentCorePayloadMapper payloadMapper, AgentCoreMethodRegistry registry) {
+		return new Builder(payloadMapper, registry);
 	}
 
 	public Object invokeAgentMethod(Object request, HttpHeaders headers) throws Exception {
+		return invokeAgentMethod(request, headers, null);
+	}
+
+	/**
+	 * Invokes the agent method, exposing {@code deadline} through its
+	 * {@link AgentCoreContext}. The context is bound to the
+	 * {@link AgentCoreContextHolder} while the method runs, and written to the Reactor
+	 * {@code Context} of returned streams. It is only created, copying the headers, if
+	 * the method declares it or its session as a parameter, returns a stream, or asks the
+	 * holder for it.
+	 */
+	public Object invokeAgentMethod(Object request, HttpHeaders headers, Instant deadline) throws Exception {
 		if (!registry.hasAgentMethod()) {
 			throw new AgentCoreInvocationException("No @AgentCoreInvocation method found");
 		}
@@ -43,11 +131,19 @@ public class AgentCoreMethodInvoker {
 		var method = registry.getAgentMethod();
 		var bean = registry.getAgentBean();
 		var paramTypes = method.getParameterTypes();
+		var context = SingletonSupplier.of(() -> new AgentCoreContext(headers, deadline));
 
-		Object[] args = prepareArguments(request, headers, paramTypes);
-
+		var previousContext = AgentCoreContextHolder.getContext();
+		AgentCoreContextHolder.setLazyContext(context);
 		try {
-			return method.invoke(bean, args);
+			var result = resultCache != null
+					? resultCache.get(method, request, headers,
+							() -> method.invoke(bean, prepareArguments(request, context, paramTypes)))
+					: method.invoke(bean, prepareArguments(request, context, paramTypes));
+			if (REACTOR_PRESENT && ReactorContextPropagation.isStream(result)) {
+				result = ReactorContextPropagation.withContext(result, context.get());
+			}
+			return streamCoalescer != null && acceptsEventStream(headers) ? streamCoalescer.coalesce(result) : result;
 		}
 
 		catch (InvocationTargetException e) {
@@ -56,76 +152,170 @@ public class AgentCoreMethodInvoker {
 			}
 			throw new AgentCoreInvocationException("Method invocation failed", e);
 		}
+
+		finally {
+			AgentCoreContextHolder.setContext(previousContext);
+		}
 	}
 
 	public Object invokeAgentMethod(Object request) throws Exception {
 		return invokeAgentMethod(request, new HttpHeaders());
 	}
 
-	private Object[] prepareArguments(Object request, HttpHeaders headers, Class<?>[] paramTypes) {
-		if (paramTypes.length == 0) {
-			return new Object[0];
-		}
+	/**
+	 * Whether requests in {@code format} can be decoded, i.e. its Jackson dataformat
+	 * module is on the classpath.
+	 */
+	public boolean supports(AgentCorePayloadFormat format) {
+		return format != null && payloadMapper.supports(format);
+	}
 
-		// Find AgentCoreContext parameter index
-		int contextIndex = -1;
-		for (int i = 0; i < paramTypes.length; i++) {
-			if (paramTypes[i] == AgentCoreContext.class) {
-				contextIndex = i;
-				break;
-			}
+	/**
+	 * Writes {@code result} with the {@link AgentCoreResponseWriter} prepared for the
+	 * agent method, if the method's return type allows it and either the request prefers
+	 * one of the available binary {@link AgentCorePayloadFormat}s, or the fast path is
+	 * enabled and the request accepts JSON.
+	 * @return whether the result was written; if not, it has to be returned to Spring MVC
+	 */
+	public boolean writeResponse(Object result, HttpHeaders requestHeaders, HttpServletResponse response)
+			throws IOException {
+		var writer = responseWriter(result, requestHeaders);
+		if (writer == null) {
+			return false;
 		}
+		writer.write(result, response);
+		return true;
+	}
 
-		if (paramTypes.length == 1) {
-			Class<?> paramType = paramTypes[0];
+	/**
+	 * Serializes {@code result} like {@link #writeResponse} would write it, for Spring
+	 * MVC to write later, e.g. after the asynchronous dispatch of a request that may time
+	 * out while the result is serialized.
+	 * @return the serialized result, or {@code null} if it has to be returned to Spring
+	 * MVC as is
+	 */
+	public ResponseEntity<byte[]> prepareResponse(Object result, HttpHeaders requestHeaders,
+			HttpServletResponse response) throws IOException {
+		var writer = responseWriter(result, requestHeaders);
+		if (writer == null) {
+			return null;
+		}
+		var buffer = new BufferingResponseWrapper(response);
+		writer.write(result, buffer);
+		return ResponseEntity.ok()
+			.contentType(MediaType.parseMediaType(buffer.getContentType()))
+			.body(buffer.toByteArray());
+	}
 
-			// Handle AgentCoreContext parameter
-			if (paramType == AgentCoreContext.class) {
-				return new Object[] { new AgentCoreContext(headers) };
+	private AgentCoreResponseWriter responseWriter(Object result, HttpHeaders requestHeaders) {
+		if (result == null) {
+			return null;
+		}
+		var format = preferredFormat(requestHeaders);
+		if (format != null) {
+			if (!payloadMapper.supports(format)) {
+				return null;
 			}
+			return registry.getResponseWriter(format, payloadMapper.getObjectMapper(format));
+		}
+		if (!responseFastPath || !acceptsJson(requestHeaders)) {
+			return null;
+		}
+		return registry.getResponseWriter(payloadMapper.getObjectMapper());
+	}
 
-			// Direct assignment if types match
-			if (paramType.isAssignableFrom(request.getClass())) {
-				return new Object[] { request };
+	/**
+	 * Whether content negotiation would certainly pick JSON: there is no Accept header,
+	 * or its first media type is {@code *}{@code /*} or compatible with JSON. Anything
+	 * else, including quality values, is left to Spring MVC, which may answer with
+	 * another type or 406.
+	 */
+	private static boolean acceptsJson(HttpHeaders headers) {
+		try {
+			var accept = headers.getAccept();
+			if (accept.isEmpty()) {
+				return true;
 			}
+			var mediaType = accept.get(0);
+			return mediaType.getQualityValue() == 1.0 && mediaType.isCompatibleWith(MediaType.APPLICATION_JSON);
+		}
+		catch (InvalidMediaTypeException e) {
+			return false;
+		}
+	}
 
-			// JSON conversion for complex types
-			return new Object[] { convertRequest(request, paramType) };
+	private static boolean acceptsEventStream(HttpHeaders headers) {
+		try {
+			for (var mediaType : headers.getAccept()) {
+				if (mediaType.getQualityValue() > 0 && MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(mediaType)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		catch (InvalidMediaTypeException e) {
+			return false;
 		}
+	}
 
-		if (paramTypes.length == 2 && contextIndex != -1) {
-			Object[] args = new Object[2];
+	/**
+	 * Returns the binary format of the first acceptable media type, or {@code null} if
+	 * the request does not name one first.
+	 */
+	private static AgentCorePayloadFormat preferredFormat(HttpHeaders headers) {
+		try {
+			var accept = headers.getAccept();
+			return accept.isEmpty() ? null : AgentCorePayloadFormat.forMediaType(accept.get(0));
+		}
+		catch (InvalidMediaTypeException e) {
+			return null;
+		}
+	}
 
-			// Set context parameter
-			args[contextIndex] = new AgentCoreContext(headers);
+	private Object[] prepareArguments(Object request, Supplier<AgentCoreContext> context, Class<?>[] paramTypes) {
+		var args = new Object[paramTypes.length];
+		int requestIndex = -1;
+		for (int i = 0; i < paramTypes.length; i++) {
+			if (paramTypes[i] == AgentCoreContext.class) {
+				args[i] = context.get();
+			}
+			else if (paramTypes[i] == AgentCoreSession.class) {
+				args[i] = getSession(context.get());
+			}
+			else if (requestIndex == -1) {
+				requestIndex = i;
+			}
+			else {
+				throw new AgentCoreInvocationException("Unsupported parameter combination");
+			}
+		}
 
-			// Set request parameter
-			int requestIndex = contextIndex == 0 ? 1 : 0;
+		if (requestIndex != -1) {
 			Class<?> requestType = paramTypes[requestIndex];
 
-			if (requestType.isAssignableFrom(request.getClass())) {
+			// Direct assignment if types match, binary payloads are always decoded
+			if (!(request instanceof AgentCoreBinaryPayload) && requestType.isAssignableFrom(request.getClass())) {
 				args[requestIndex] = request;
 			}
 
+			// JSON conversion for complex types
 			else {
 				args[requestIndex] = convertRequest(request, requestType);
 			}
-
-			return args;
 		}
 
-		throw new AgentCoreInvocationException("Unsupported parameter combination");
+		return args;
+	}
+
+	private AgentCoreSession getSession(AgentCoreContext context) {
+		var sessionId = context.getSessionId();
+		return sessionStore != null && sessionId != null ? sessionStore.getSession(sessionId)
+				: AgentCoreSessionStore.transientSession();
 	}
 
 	private Object convertRequest(Object request, Class<?> targetType) {
 		try {
-			if (request instanceof String json) {
-				return objectMapper.readValue(json, targetType);
-			}
-
-			// Object to JSON to target type conversion
-			String json = objectMapper.writeValueAsString(request);
-			return objectMapper.readValue(json, targetType);
+			return payloadMapper.convert(request, targetType);
 		}
 
 		catch (Exception e) {
@@ -133,4 +323,71 @@ public class AgentCoreMethodInvoker {
 		}
 	}
 
+	/**
+	 * Builder of {@link AgentCoreMethodInvoker}s, whose optional collaborators are
+	 * {@code null} and whose fast path is disabled unless set.
+	 */
+	public static final class Builder {
+
+		private final AgentCorePayloadMapper payloadMapper;
+
+		private final AgentCoreMethodRegistry registry;
+
+		private boolean responseFastPath;
+
+		private AgentCoreStreamCoalescer streamCoalescer;
+
+		private AgentCoreResultCache resultCache;
+
+		private AgentCoreSessionStore sessionStore;
+
+		private Builder(AgentCorePayloadMapper payloadMapper, AgentCoreMethodRegistry registry) {
+			this.payloadMapper = payloadMapper;
+			this.registry = registry;
+		}
+
+		public Builder responseFastPath(boolean responseFastPath) {
+			this.responseFastPath = responseFastPath;
+			return this;
+		}
+
+		public Builder streamCoalescer(AgentCoreStreamCoalescer streamCoalescer) {
+			this.streamCoalescer = streamCoalescer;
+			return this;
+		}
+
+		public Builder resultCache(AgentCoreResultCache resultCache) {
+			this.resultCache = resultCache;
+			return this;
+		}
+
+		public Builder sessionStore(AgentCoreSessionStore sessionStore) {
+			this.sessionStore = sessionStore;
+			return this;
+		}
+
+		public AgentCoreMethodInvoker build() {
+			return new AgentCoreMethodInvoker(this);
+		}
+
+	}
+
+	/**
+	 * Keeps Reactor classes from being loaded unless streams are returned.
+	 */
+	private static final class ReactorContextPropagation {
+
+		static boolean isStream(Object result) {
+			return result instanceof Flux || result instanceof Mono;
+		}
+
+		static Object withContext(Object result, AgentCoreContext context) {
+			if (result instanceof Mono<?> mono) {
+				return mono.contextWrite(Context.of(AgentCoreContextHolder.CONTEXT_KEY, context));
+			}
+			return ((Flux<?>) result).contextWrite(Context.of(AgentCoreContextHolder.CONTEXT_KEY, context));
+		}
+
+	}
+
 }
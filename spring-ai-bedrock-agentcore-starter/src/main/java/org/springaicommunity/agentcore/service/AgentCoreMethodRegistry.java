@@ -17,7 +17,12 @@
 package org.springaicommunity.agentcore.service;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
 import org.springaicommunity.agentcore.exception.AgentCoreInvocationException;
 
 /**
@@ -30,11 +35,24 @@ public class AgentCoreMethodRegistry {
 
 	private Method agentMethod;
 
+	// Prepared on first use: the agent method is registered by the scanner while beans
+	// are initialized, and the payload mapper is only known to the invoker, so neither
+	// is available together before the first invocation
+	private volatile Optional<AgentCoreResponseWriter> responseWriter;
+
+	private final Map<AgentCorePayloadFormat, Optional<AgentCoreResponseWriter>> formatResponseWriters = new ConcurrentHashMap<>();
+
 	public void registerMethod(Object bean, Method method) {
 		if (agentBean != null) {
 			throw new AgentCoreInvocationException(
 					"Multiple @AgentCoreInvocation methods found. Only one is allowed in MVP.");
 		}
+		var annotation = method.getAnnotation(AgentCoreInvocation.class);
+		if (annotation != null && annotation.cacheable() && !AgentCoreResultCache.supports(method)) {
+			throw new AgentCoreInvocationException(
+					"@AgentCoreInvocation method " + method.getName() + " cannot be cacheable: results of type "
+							+ method.getReturnType().getSimpleName() + " are not cached");
+		}
 		this.agentBean = bean;
 		this.agentMethod = method;
 	}
@@ -51,4 +69,36 @@ public class AgentCoreMethodRegistry {
 		return agentMethod;
 	}
 
+	/**
+	 * Returns the {@link AgentCoreResponseWriter} for the declared return type of the
+	 * agent method, prepared once, on first use, with {@code objectMapper}, or
+	 * {@code null} when its results have to go through Spring MVC.
+	 */
+	public AgentCoreResponseWriter getResponseWriter(ObjectMapper objectMapper) {
+		var writer = this.responseWriter;
+		if (writer == null) {
+			synchronized (this) {
+				writer = this.responseWriter;
+				if (writer == null) {
+					writer = Optional.ofNullable(
+							agentMethod != null ? AgentCoreResponseWriter.forMethod(agentMethod, objectMapper) : null);
+					this.responseWriter = writer;
+				}
+			}
+		}
+		return writer.orElse(null);
+	}
+
+	/**
+	 * Returns the {@link AgentCoreResponseWriter} for {@code format} responses, prepared
+	 * once, on first use, with {@code objectMapper}, the mapper of that format, or
+	 * {@code null} when results of the agent method have to go through Spring MVC.
+	 */
+	public AgentCoreResponseWriter getResponseWriter(AgentCorePayloadFormat format, ObjectMapper objectMapper) {
+		return formatResponseWriters
+			.computeIfAbsent(format, key -> Optional.ofNullable(agentMethod != null
+					? AgentCoreResponseWriter.forMethod(agentMethod, objectMapper, key.getMediaTypes().get(0)) : null))
+			.orElse(null);
+	}
+
 }
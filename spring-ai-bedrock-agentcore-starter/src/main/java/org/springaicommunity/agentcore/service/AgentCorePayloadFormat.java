@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Binary formats accepted and produced on {@code /invocations} in addition to JSON. Each
+ * format is available when its Jackson dataformat module is on the classpath.
+ */
+public enum AgentCorePayloadFormat {
+
+	/**
+	 * CBOR, requires {@code jackson-dataformat-cbor}.
+	 */
+	CBOR("com.fasterxml.jackson.dataformat.cbor.CBORFactory", AgentCorePayloadFormat.CBOR_VALUE),
+
+	/**
+	 * Smile, requires {@code jackson-dataformat-smile}.
+	 */
+	SMILE("com.fasterxml.jackson.dataformat.smile.SmileFactory", AgentCorePayloadFormat.SMILE_VALUE),
+
+	/**
+	 * MessagePack, requires {@code org.msgpack:jackson-dataformat-msgpack}.
+	 */
+	MSGPACK("org.msgpack.jackson.dataformat.MessagePackFactory", AgentCorePayloadFormat.MSGPACK_VALUE,
+			AgentCorePayloadFormat.MSGPACK_ALTERNATIVE_VALUE);
+
+	public static final String CBOR_VALUE = "application/cbor";
+
+	public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+	public static final String MSGPACK_VALUE = "application/x-msgpack";
+
+	public static final String MSGPACK_ALTERNATIVE_VALUE = "application/msgpack";
+
+	private final String factoryClassName;
+
+	private final List<MediaType> mediaTypes;
+
+	private final boolean available;
+
+	AgentCorePayloadFormat(String factoryClassName, String... mediaTypes) {
+		this.factoryClassName = factoryClassName;
+		this.mediaTypes = MediaType.parseMediaTypes(List.of(mediaTypes));
+		this.available = ClassUtils.isPresent(factoryClassName, AgentCorePayloadFormat.class.getClassLoader());
+	}
+
+	/**
+	 * Returns the media types of this format, the first one being the one responses are
+	 * written with.
+	 */
+	public List<MediaType> getMediaTypes() {
+		return mediaTypes;
+	}
+
+	public boolean isAvailable() {
+		return available;
+	}
+
+	JsonFactory createFactory() {
+		return (JsonFactory) BeanUtils.instantiateClass(
+				ClassUtils.resolveClassName(factoryClassName, AgentCorePayloadFormat.class.getClassLoader()));
+	}
+
+	/**
+	 * Returns the format of {@code mediaType}, or {@code null} if it is not a binary
+	 * payload format.
+	 */
+	public static AgentCorePayloadFormat forMediaType(MediaType mediaType) {
+		if (mediaType == null) {
+			return null;
+		}
+		for (var format : values()) {
+			for (var candidate : format.mediaTypes) {
+				if (candidate.equalsTypeAndSubtype(mediaType)) {
+					return format;
+				}
+			}
+		}
+		return null;
+	}
+
+}
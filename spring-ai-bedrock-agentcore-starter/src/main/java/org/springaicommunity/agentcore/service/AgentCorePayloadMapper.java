@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * {@link ObjectMapper} used for agent payloads on the invocation path, with an
+ * {@link ObjectReader} prepared once per request type. Binary
+ * {@link AgentCorePayloadFormat}s are read and written with copies of the mapper that
+ * share its configuration and modules.
+ */
+public class AgentCorePayloadMapper {
+
+	private final ObjectMapper objectMapper;
+
+	private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<AgentCorePayloadFormat, ObjectMapper> formatMappers = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<AgentCorePayloadFormat, ConcurrentMap<Class<?>, ObjectReader>> formatReaders = new ConcurrentHashMap<>();
+
+	public AgentCorePayloadMapper(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	public ObjectMapper getObjectMapper() {
+		return objectMapper;
+	}
+
+	/**
+	 * Returns the mapper for {@code format}, created on first use, or {@code null} if the
+	 * format is not available.
+	 */
+	public ObjectMapper getObjectMapper(AgentCorePayloadFormat format) {
+		if (!supports(format)) {
+			return null;
+		}
+		return formatMappers.computeIfAbsent(format, key -> {
+			var factory = key.createFactory();
+			factory.setStreamReadConstraints(objectMapper.getFactory().streamReadConstraints());
+			return objectMapper.copyWith(factory);
+		});
+	}
+
+	public boolean supports(AgentCorePayloadFormat format) {
+		return format.isAvailable();
+	}
+
+	public ObjectReader readerFor(Class<?> type) {
+		return readers.computeIfAbsent(type, objectMapper::readerFor);
+	}
+
+	public ObjectReader readerFor(AgentCorePayloadFormat format, Class<?> type) {
+		var mapper = getObjectMapper(format);
+		if (mapper == null) {
+			throw new IllegalArgumentException("Payload format " + format + " is not available");
+		}
+		return formatReaders.computeIfAbsent(format, key -> new ConcurrentHashMap<>())
+			.computeIfAbsent(type, mapper::readerFor);
+	}
+
+	/**
+	 * Converts a request body, either JSON text, a binary payload or the value Spring MVC
+	 * read from a JSON body, to {@code type}.
+	 */
+	public <T> T convert(Object request, Class<T> type) throws IOException {
+		if (request instanceof AgentCoreBinaryPayload payload) {
+			return readerFor(payload.format(), type).readValue(payload.body());
+		}
+		if (request instanceof String json) {
+			return readerFor(type).readValue(json);
+		}
+		return readerFor(type).readValue(objectMapper.<JsonNode>valueToTree(request));
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+
+/**
+ * Writes the result of the {@code @AgentCoreInvocation} method straight to the servlet
+ * response as {@code application/json}, or one of the binary
+ * {@link AgentCorePayloadFormat}s, without content negotiation and
+ * {@code HttpMessageConverter} lookup. {@code String} results are written to JSON
+ * responses as UTF-8 bytes, anything else with a Jackson {@link ObjectWriter} prepared
+ * for the declared return type.
+ */
+@FunctionalInterface
+public interface AgentCoreResponseWriter {
+
+	void write(Object result, HttpServletResponse response) throws IOException;
+
+	/**
+	 * Creates the writer for the declared return type of {@code method}, or returns
+	 * {@code null} when results of that type need Spring MVC, e.g. streams, entities,
+	 * binary content or results declared as {@code Object}.
+	 */
+	static AgentCoreResponseWriter forMethod(Method method, ObjectMapper objectMapper) {
+		return forMethod(method, objectMapper, MediaType.APPLICATION_JSON);
+	}
+
+	/**
+	 * Creates the writer for the declared return type of {@code method} that writes
+	 * {@code contentType} responses with {@code objectMapper}, which has to produce that
+	 * content type, or returns {@code null} when results of that type need Spring MVC.
+	 */
+	static AgentCoreResponseWriter forMethod(Method method, ObjectMapper objectMapper, MediaType contentType) {
+		var type = method.getReturnType();
+		if (type == String.class && contentType.equals(MediaType.APPLICATION_JSON)) {
+			return (result, response) -> {
+				var bytes = ((String) result).getBytes(StandardCharsets.UTF_8);
+				response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+				response.setContentLength(bytes.length);
+				response.getOutputStream().write(bytes);
+			};
+		}
+		if (!isPlainValue(type)) {
+			return null;
+		}
+		// Like MappingJackson2HttpMessageConverter, serialize by the runtime type unless
+		// the declared type is a container or cannot be subclassed
+		var javaType = objectMapper.constructType(method.getGenericReturnType());
+		ObjectWriter writer = javaType.isContainerType() || Modifier.isFinal(type.getModifiers())
+				? objectMapper.writerFor(javaType) : objectMapper.writer();
+		var contentTypeValue = contentType.toString();
+		return (result, response) -> {
+			response.setContentType(contentTypeValue);
+			writer.writeValue(response.getOutputStream(), result);
+		};
+	}
+
+	private static boolean isPlainValue(Class<?> type) {
+		return type != void.class && type != Void.class && type != Object.class && type != byte[].class
+				&& !HttpEntity.class.isAssignableFrom(type) && !Resource.class.isAssignableFrom(type)
+				&& !Callable.class.isAssignableFrom(type) && !Future.class.isAssignableFrom(type)
+				&& ReactiveAdapterRegistry.getSharedInstance().getAdapter(type) == null
+				&& !type.getName().startsWith("org.springframework.web.");
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Cache of the results of agent methods declared {@link AgentCoreInvocation#cacheable()
+ * cacheable}. Results are kept in an {@link AgentCoreResultStore} as JSON, under a digest
+ * of the method, the canonical JSON form of the request, with object properties in
+ * alphabetical order, and the {@link AgentCoreInvocation#cacheKeyHeaders() key headers}.
+ * Failed invocations and {@code null} results are not cached.
+ */
+public class AgentCoreResultCache {
+
+	private static final String PUBLISHER_CLASS_NAME = "org.reactivestreams.Publisher";
+
+	private static final List<Class<?>> UNCACHEABLE_TYPES = List.of(void.class, Void.class, CompletionStage.class,
+			Future.class, Callable.class, DeferredResult.class, WebAsyncTask.class, HttpEntity.class,
+			ResponseBodyEmitter.class, StreamingResponseBody.class);
+
+	private final AgentCorePayloadMapper payloadMapper;
+
+	private final AgentCoreResultStore store;
+
+	private final Duration timeToLive;
+
+	private final ObjectWriter canonicalWriter;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private volatile CachedMethod cachedMethod;
+
+	public AgentCoreResultCache(AgentCorePayloadMapper payloadMapper, AgentCoreResultStore store, Duration timeToLive) {
+		this.payloadMapper = payloadMapper;
+		this.store = store;
+		this.timeToLive = timeToLive;
+		this.canonicalWriter = payloadMapper.getObjectMapper().writer(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+	}
+
+	/**
+	 * Whether results of {@code method} can be cached, i.e. it returns a value rather
+	 * than a stream, a future or a response entity.
+	 */
+	public static boolean supports(Method method) {
+		var returnType = method.getReturnType();
+		if (UNCACHEABLE_TYPES.stream().anyMatch(type -> type.isAssignableFrom(returnType))) {
+			return false;
+		}
+		var classLoader = AgentCoreResultCache.class.getClassLoader();
+		return !ClassUtils.isPresent(PUBLISHER_CLASS_NAME, classLoader)
+				|| !ClassUtils.resolveClassName(PUBLISHER_CLASS_NAME, classLoader).isAssignableFrom(returnType);
+	}
+
+	/**
+	 * Returns the cached result of {@code method} for {@code request} and
+	 * {@code headers}, or the result of {@code invocation}, cached if the method is
+	 * cacheable.
+	 */
+	public Object get(Method method, Object request, HttpHeaders headers, Callable<Object> invocation)
+			throws Exception {
+		var annotation = method.getAnnotation(AgentCoreInvocation.class);
+		if (annotation == null || !annotation.cacheable()) {
+			return invocation.call();
+		}
+		var cached = cachedMethod(method, annotation);
+		var key = cached.key(request, headers);
+		var stored = store.get(key);
+		if (stored != null) {
+			hits.incrementAndGet();
+			return cached.reader.readValue(stored);
+		}
+		misses.incrementAndGet();
+		var result = invocation.call();
+		if (result != null) {
+			store.put(key, cached.writer.writeValueAsBytes(result), timeToLive);
+		}
+		return result;
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	private CachedMethod cachedMethod(Method method, AgentCoreInvocation annotation) {
+		var cached = this.cachedMethod;
+		if (cached == null || !cached.method.equals(method)) {
+			var objectMapper = payloadMapper.getObjectMapper();
+			var returnType = objectMapper.constructType(method.getGenericReturnType());
+			cached = new CachedMethod(method, annotation.cacheKeyHeaders(), objectMapper.readerFor(returnType),
+					objectMapper.writerFor(returnType));
+			this.cachedMethod = cached;
+		}
+		return cached;
+	}
+
+	private final class CachedMethod {
+
+		private final Method method;
+
+		private final byte[] signature;
+
+		private final List<String> keyHeaders;
+
+		private final ObjectReader reader;
+
+		private final ObjectWriter writer;
+
+		CachedMethod(Method method, String[] keyHeaders, ObjectReader reader, ObjectWriter writer) {
+			this.method = method;
+			this.signature = method.toGenericString().getBytes(StandardCharsets.UTF_8);
+			this.keyHeaders = List.of(keyHeaders);
+			this.reader = reader;
+			this.writer = writer;
+		}
+
+		String key(Object request, HttpHeaders headers) throws Exception {
+			var digest = sha256();
+			digest.update(signature);
+			digest.update((byte) 0);
+			// Binary payloads are decoded so that equal requests share a key whatever
+			// their format
+			var canonical = request instanceof AgentCoreBinaryPayload ? payloadMapper.convert(request, Object.class)
+					: request;
+			digest.update(canonicalWriter.writeValueAsBytes(canonical));
+			for (var name : keyHeaders) {
+				digest.update((byte) 0);
+				digest.update(name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+				var values = headers.get(name);
+				if (values != null) {
+					for (var value : values) {
+						digest.update((byte) 0);
+						digest.update(value.getBytes(StandardCharsets.UTF_8));
+					}
+				}
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		}
+
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
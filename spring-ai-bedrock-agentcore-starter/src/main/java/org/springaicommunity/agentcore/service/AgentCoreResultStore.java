@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.time.Duration;
+
+/**
+ * Storage of cached agent method results, serialized as JSON, for an
+ * {@link AgentCoreResultCache}. Implementations may keep them on the heap, off the heap
+ * or in a remote cache shared by several application instances.
+ */
+public interface AgentCoreResultStore {
+
+	/**
+	 * Returns the result stored under {@code key}, or {@code null} if there is none or it
+	 * has expired.
+	 */
+	byte[] get(String key);
+
+	void put(String key, byte[] result, Duration timeToLive);
+
+}
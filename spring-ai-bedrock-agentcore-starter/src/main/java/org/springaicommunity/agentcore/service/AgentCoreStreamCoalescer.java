@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Merges the {@code String} chunks of a streamed invocation result, e.g. the tokens of a
+ * chat model, so that fewer but larger events are written and flushed. A merged chunk
+ * holds at most {@code maxSize} UTF-8 bytes, unless a single chunk is larger already, and
+ * at most {@code maxChunks} chunks, and it is emitted at the latest {@code maxDelay}
+ * after its chunks arrived. The source is only asked for as many chunks as the subscriber
+ * demands. The first chunk of a stream is emitted right away so that the time to first
+ * token is not affected, and elements that are not strings are passed through unchanged.
+ */
+public class AgentCoreStreamCoalescer {
+
+	public static final int DEFAULT_MAX_CHUNKS = 128;
+
+	private final int maxSize;
+
+	private final int maxChunks;
+
+	private final Duration maxDelay;
+
+	private final Scheduler scheduler;
+
+	public AgentCoreStreamCoalescer(int maxSize, Duration maxDelay) {
+		this(maxSize, DEFAULT_MAX_CHUNKS, maxDelay);
+	}
+
+	public AgentCoreStreamCoalescer(int maxSize, int maxChunks, Duration maxDelay) {
+		this(maxSize, maxChunks, maxDelay, Schedulers.parallel());
+	}
+
+	public AgentCoreStreamCoalescer(int maxSize, int maxChunks, Duration maxDelay, Scheduler scheduler) {
+		this.maxSize = maxSize;
+		this.maxChunks = maxChunks;
+		this.maxDelay = maxDelay;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Returns {@code result} with its chunks merged if it is a {@link Flux}, otherwise
+	 * {@code result} itself.
+	 */
+	public Object coalesce(Object result) {
+		return result instanceof Flux<?> flux ? coalesce(flux) : result;
+	}
+
+	public Flux<Object> coalesce(Flux<?> source) {
+		return source.<Object>switchOnFirst((first, flux) -> {
+			if (!first.hasValue()) {
+				return flux;
+			}
+			return Flux.concat(Mono.just(first.get()), merge(flux.skip(1)));
+		});
+	}
+
+	/**
+	 * Merges chunks that arrive within a window of {@code maxDelay} and
+	 * {@code maxChunks}, closing a merged chunk early before a chunk that would take it
+	 * beyond {@code maxSize}. Windows and buffers only request what the subscriber asked
+	 * for, so a slow client slows down the source. An error is carried through the
+	 * buffers as a {@link Failure}, so that the chunks before it are still emitted.
+	 */
+	private Flux<Object> merge(Flux<?> chunks) {
+		return chunks.<Object>map(chunk -> chunk)
+			.onErrorResume(error -> Mono.just(new Failure(error)))
+			.windowTimeout(maxChunks, maxDelay, scheduler, true)
+			.concatMap(window -> window.bufferUntil(new Boundary(), true))
+			.concatMapIterable(AgentCoreStreamCoalescer::join)
+			.handle((element, sink) -> {
+				if (element instanceof Failure failure) {
+					sink.error(failure.error());
+				}
+				else {
+					sink.next(element);
+				}
+			});
+	}
+
+	/**
+	 * Joins the strings of a buffer, which either holds strings only or a single element
+	 * that is not a string.
+	 */
+	private static List<Object> join(List<?> buffer) {
+		if (buffer.size() == 1) {
+			return List.of(buffer.get(0));
+		}
+		var chunks = new StringBuilder();
+		buffer.forEach(chunks::append);
+		return List.of(chunks.toString());
+	}
+
+	private static int utf8Length(String chunk) {
+		int length = chunk.length();
+		for (int i = 0; i < chunk.length(); i++) {
+			char c = chunk.charAt(i);
+			if (c >= 0x800) {
+				length += Character.isSurrogate(c) ? 1 : 2;
+			}
+			else if (c >= 0x80) {
+				length++;
+			}
+		}
+		return length;
+	}
+
+	private record Failure(Throwable error) {
+	}
+
+	/**
+	 * Starts a new buffer of one window before a chunk that would take the strings of the
+	 * current one beyond {@code maxSize}, and before and after an element that is not a
+	 * string.
+	 */
+	private final class Boundary implements Predicate<Object> {
+
+		private int count;
+
+		private int size;
+
+		private boolean single;
+
+		@Override
+		public boolean test(Object element) {
+			int length = element instanceof String chunk ? utf8Length(chunk) : 0;
+			boolean cut = count > 0 && (single || !(element instanceof String) || size + length > maxSize);
+			if (cut) {
+				count = 0;
+				size = 0;
+			}
+			count++;
+			size += length;
+			single = !(element instanceof String);
+			return cut;
+		}
+
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+
+/**
+ * {@link AgentCoreResultStore} kept on the heap, bounded by the total size of its keys
+ * and results. The least recently used results are evicted first.
+ */
+public class InMemoryAgentCoreResultStore implements AgentCoreResultStore {
+
+	private final long maxSize;
+
+	// Guarded by this, in access order
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long size;
+
+	public InMemoryAgentCoreResultStore(long maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public synchronized byte[] get(String key) {
+		var entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (System.nanoTime() - entry.expiresAt >= 0) {
+			remove(key);
+			return null;
+		}
+		return entry.result;
+	}
+
+	@Override
+	public synchronized void put(String key, byte[] result, Duration timeToLive) {
+		if (sizeOf(key, result) > maxSize) {
+			return;
+		}
+		remove(key);
+		entries.put(key, new Entry(result, System.nanoTime() + timeToLive.toNanos()));
+		size += sizeOf(key, result);
+		var iterator = entries.entrySet().iterator();
+		while (size > maxSize) {
+			var eldest = iterator.next();
+			size -= sizeOf(eldest.getKey(), eldest.getValue().result);
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Returns the total size of the stored keys and results.
+	 */
+	public synchronized long getSize() {
+		return size;
+	}
+
+	private void remove(String key) {
+		var entry = entries.remove(key);
+		if (entry != null) {
+			size -= sizeOf(key, entry.result);
+		}
+	}
+
+	private static long sizeOf(String key, byte[] result) {
+		return key.length() + result.length;
+	}
+
+	private record Entry(byte[] result, long expiresAt) {
+	}
+
+}
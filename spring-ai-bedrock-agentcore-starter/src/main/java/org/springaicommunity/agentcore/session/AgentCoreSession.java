@@ -0,0 +1,172 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.session;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * State kept in memory across the invocations of one AgentCore Runtime session, e.g.
+ * loaded documents or tool results. Declare a parameter of this type on the
+ * {@code @AgentCoreInvocation} method to receive the session of the request's
+ * {@code X-Amzn-Bedrock-AgentCore-Runtime-Session-Id} header.
+ *
+ * <p>
+ * The size of each attribute is accounted for against the limits of the
+ * {@link AgentCoreSessionStore}. It is estimated for strings and byte arrays and counted
+ * as {@value #DEFAULT_ATTRIBUTE_SIZE} bytes for other values; pass the size of large
+ * values to {@link #put(String, Object, long)}.
+ *
+ * <p>
+ * Attributes can be used by concurrent invocations of the same session. Requests without
+ * a session id receive a session of their own that is not kept.
+ */
+public class AgentCoreSession {
+
+	static final long DEFAULT_ATTRIBUTE_SIZE = 64;
+
+	private final String id;
+
+	private final AgentCoreSessionStore store;
+
+	private final Instant creationTime = Instant.now();
+
+	private final Map<String, Attribute> attributes = new ConcurrentHashMap<>();
+
+	private final AtomicLong size = new AtomicLong();
+
+	volatile long lastAccessNanos = System.nanoTime();
+
+	AgentCoreSession(String id, AgentCoreSessionStore store) {
+		this.id = id;
+		this.store = store;
+	}
+
+	/**
+	 * Gets the AgentCore Runtime session id.
+	 * @return the id, or {@code null} for a session that is not kept
+	 */
+	public String getId() {
+		return id;
+	}
+
+	public Instant getCreationTime() {
+		return creationTime;
+	}
+
+	public Object get(String name) {
+		var attribute = attributes.get(name);
+		return attribute != null ? attribute.value : null;
+	}
+
+	public <T> T get(String name, Class<T> type) {
+		return type.cast(get(name));
+	}
+
+	/**
+	 * Stores {@code value} under {@code name}, with an estimated size.
+	 */
+	public void put(String name, Object value) {
+		put(name, value, estimateSize(value));
+	}
+
+	/**
+	 * Stores {@code value} under {@code name}.
+	 * @param size the number of bytes {@code value} takes up in memory
+	 */
+	public void put(String name, Object value, long size) {
+		if (value == null) {
+			remove(name);
+			return;
+		}
+		var previous = attributes.put(name, new Attribute(value, size));
+		resized(size - (previous != null ? previous.size : 0));
+	}
+
+	/**
+	 * Returns the value stored under {@code name}, loading and storing it with an
+	 * estimated size first if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T computeIfAbsent(String name, Function<String, T> loader) {
+		var added = new long[1];
+		var attribute = attributes.computeIfAbsent(name, key -> {
+			var value = loader.apply(key);
+			if (value == null) {
+				return null;
+			}
+			added[0] = estimateSize(value);
+			return new Attribute(value, added[0]);
+		});
+		resized(added[0]);
+		return attribute != null ? (T) attribute.value : null;
+	}
+
+	public Object remove(String name) {
+		var previous = attributes.remove(name);
+		if (previous == null) {
+			return null;
+		}
+		resized(-previous.size);
+		return previous.value;
+	}
+
+	public Set<String> getAttributeNames() {
+		return Set.copyOf(attributes.keySet());
+	}
+
+	/**
+	 * Returns the accounted size of the attributes, in bytes.
+	 */
+	public long getSize() {
+		return size.get();
+	}
+
+	private void resized(long delta) {
+		if (delta == 0) {
+			return;
+		}
+		if (store != null) {
+			store.resized(this, delta);
+		}
+		else {
+			addSize(delta);
+		}
+	}
+
+	void addSize(long delta) {
+		size.addAndGet(delta);
+	}
+
+	private static long estimateSize(Object value) {
+		if (value instanceof CharSequence text) {
+			return 40 + 2L * text.length();
+		}
+		if (value instanceof byte[] bytes) {
+			return 16 + bytes.length;
+		}
+		return DEFAULT_ATTRIBUTE_SIZE;
+	}
+
+	private record Attribute(Object value, long size) {
+	}
+
+}
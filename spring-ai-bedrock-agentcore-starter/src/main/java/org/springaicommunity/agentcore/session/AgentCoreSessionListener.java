@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.session;
+
+/**
+ * Callback for sessions evicted from an {@link AgentCoreSessionStore}, e.g. to release
+ * resources held in their state or to persist it.
+ */
+@FunctionalInterface
+public interface AgentCoreSessionListener {
+
+	/**
+	 * Called after {@code session} has been removed from the store, outside of any lock
+	 * of the store.
+	 */
+	void onEviction(AgentCoreSession session, EvictionCause cause);
+
+	/**
+	 * Why a session was evicted.
+	 */
+	enum EvictionCause {
+
+		/**
+		 * The session was not used for longer than the idle timeout.
+		 */
+		IDLE,
+
+		/**
+		 * The store was over its maximum number of sessions or total size, and the
+		 * session was the least recently used.
+		 */
+		SIZE,
+
+		/**
+		 * The session was invalidated by the application.
+		 */
+		EXPLICIT
+
+	}
+
+}
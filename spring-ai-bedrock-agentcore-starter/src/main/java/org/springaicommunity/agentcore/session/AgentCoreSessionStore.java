@@ -0,0 +1,208 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.session;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.agentcore.session.AgentCoreSessionListener.EvictionCause;
+
+/**
+ * In-memory {@link AgentCoreSession}s by AgentCore Runtime session id. AgentCore Runtime
+ * routes the invocations of a session to the same instance, so their state can be reused
+ * across turns without reloading it.
+ *
+ * <p>
+ * The store is bounded by a number of sessions and by the accounted size of their
+ * attributes: the least recently used sessions are evicted first. Sessions not used for
+ * longer than the idle timeout are evicted when the store is next used. The session in
+ * use is never evicted for size, so a single session may exceed the maximum size.
+ * {@link AgentCoreSessionListener}s are called for every eviction.
+ */
+public class AgentCoreSessionStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(AgentCoreSessionStore.class);
+
+	private final int maxSessions;
+
+	private final long maxSize;
+
+	private final long idleTimeout;
+
+	private final List<AgentCoreSessionListener> listeners;
+
+	// Guarded by this, in access order
+	private final LinkedHashMap<String, AgentCoreSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Map<EvictionCause, AtomicLong> evictions = new EnumMap<>(EvictionCause.class);
+
+	private long size;
+
+	public AgentCoreSessionStore(int maxSessions, long maxSize, Duration idleTimeout,
+			List<AgentCoreSessionListener> listeners) {
+		this.maxSessions = maxSessions;
+		this.maxSize = maxSize;
+		this.idleTimeout = idleTimeout.toNanos();
+		this.listeners = List.copyOf(listeners);
+		for (var cause : EvictionCause.values()) {
+			evictions.put(cause, new AtomicLong());
+		}
+	}
+
+	/**
+	 * Returns the session with {@code sessionId}, created if there is none.
+	 */
+	public AgentCoreSession getSession(String sessionId) {
+		var evicted = new ArrayList<Eviction>();
+		AgentCoreSession session;
+		synchronized (this) {
+			long now = System.nanoTime();
+			evictIdle(now, evicted);
+			session = sessions.get(sessionId);
+			if (session == null) {
+				session = new AgentCoreSession(sessionId, this);
+				sessions.put(sessionId, session);
+				evictOverLimits(session, evicted);
+			}
+			session.lastAccessNanos = now;
+		}
+		notifyListeners(evicted);
+		return session;
+	}
+
+	/**
+	 * Returns a session that is not kept, for invocations without a session id.
+	 */
+	public static AgentCoreSession transientSession() {
+		return new AgentCoreSession(null, null);
+	}
+
+	/**
+	 * Returns the session with {@code sessionId}, or {@code null} if there is none.
+	 */
+	public synchronized AgentCoreSession findSession(String sessionId) {
+		return sessions.get(sessionId);
+	}
+
+	/**
+	 * Removes the session with {@code sessionId}, if any.
+	 */
+	public void invalidate(String sessionId) {
+		AgentCoreSession session;
+		synchronized (this) {
+			session = sessions.remove(sessionId);
+			if (session != null) {
+				size -= session.getSize();
+			}
+		}
+		if (session != null) {
+			notifyListeners(List.of(new Eviction(session, EvictionCause.EXPLICIT)));
+		}
+	}
+
+	/**
+	 * Evicts the sessions that have been idle for longer than the idle timeout.
+	 */
+	public void evictIdleSessions() {
+		var evicted = new ArrayList<Eviction>();
+		synchronized (this) {
+			evictIdle(System.nanoTime(), evicted);
+		}
+		notifyListeners(evicted);
+	}
+
+	public synchronized int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Returns the accounted size of all sessions' attributes, in bytes.
+	 */
+	public synchronized long getSize() {
+		return size;
+	}
+
+	public long getEvictionCount(EvictionCause cause) {
+		return evictions.get(cause).get();
+	}
+
+	void resized(AgentCoreSession session, long delta) {
+		var evicted = new ArrayList<Eviction>();
+		synchronized (this) {
+			session.addSize(delta);
+			if (session.getId() == null || sessions.get(session.getId()) != session) {
+				return;
+			}
+			size += delta;
+			if (delta > 0) {
+				evictOverLimits(session, evicted);
+			}
+		}
+		notifyListeners(evicted);
+	}
+
+	private void evictIdle(long now, List<Eviction> evicted) {
+		var iterator = sessions.values().iterator();
+		while (iterator.hasNext()) {
+			var session = iterator.next();
+			if (now - session.lastAccessNanos < idleTimeout) {
+				// Sessions are in access order, the following ones are more recent
+				break;
+			}
+			iterator.remove();
+			size -= session.getSize();
+			evicted.add(new Eviction(session, EvictionCause.IDLE));
+		}
+	}
+
+	private void evictOverLimits(AgentCoreSession current, List<Eviction> evicted) {
+		var iterator = sessions.values().iterator();
+		while ((sessions.size() > maxSessions || size > maxSize) && iterator.hasNext()) {
+			var session = iterator.next();
+			if (session != current) {
+				iterator.remove();
+				size -= session.getSize();
+				evicted.add(new Eviction(session, EvictionCause.SIZE));
+			}
+		}
+	}
+
+	private void notifyListeners(List<Eviction> evicted) {
+		for (var eviction : evicted) {
+			evictions.get(eviction.cause).incrementAndGet();
+			for (var listener : listeners) {
+				try {
+					listener.onEviction(eviction.session, eviction.cause);
+				}
+				catch (RuntimeException e) {
+					logger.warn("AgentCoreSessionListener failed for session " + eviction.session.getId(), e);
+				}
+			}
+		}
+	}
+
+	private record Eviction(AgentCoreSession session, EvictionCause cause) {
+	}
+
+}
@@ -16,20 +16,33 @@
 
 package org.springaicommunity.agentcore.autoconfigure;
 
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springaicommunity.agentcore.controller.AgentCoreInvocationsController;
 import org.springaicommunity.agentcore.controller.AgentCorePingController;
+import org.springaicommunity.agentcore.service.AgentCoreCancellationHandler;
 import org.springaicommunity.agentcore.service.AgentCoreMethodInvoker;
 import org.springaicommunity.agentcore.service.AgentCoreMethodRegistry;
 import org.springaicommunity.agentcore.service.AgentCoreMethodScanner;
+import org.springaicommunity.agentcore.service.AgentCorePayloadMapper;
+import org.springaicommunity.agentcore.service.AgentCoreResultCache;
+import org.springaicommunity.agentcore.service.AgentCoreStreamCoalescer;
+import org.springaicommunity.agentcore.session.AgentCoreSessionStore;
 
 import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class AgentCoreAutoConfigurationTest {
 
@@ -77,6 +90,116 @@ class AgentCoreAutoConfigurationTest {
 		});
 	}
 
+	@Test
+	void shouldUseDedicatedPayloadMapper() {
+		contextRunner.withPropertyValues("agentcore.invocations.json.max-string-length=16").run(context -> {
+			var payloadMapper = context.getBean(AgentCorePayloadMapper.class);
+
+			assertThat(payloadMapper.getObjectMapper()).isNotSameAs(context.getBean(ObjectMapper.class));
+			assertThat(payloadMapper.getObjectMapper().isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES))
+				.isFalse();
+			assertThat(payloadMapper.convert(Map.of("prompt", "hi", "unknown", 1), Prompt.class))
+				.isEqualTo(new Prompt("hi"));
+			assertThatThrownBy(() -> payloadMapper.convert("{\"prompt\":\"" + "x".repeat(17) + "\"}", Prompt.class))
+				.hasMessageContaining("exceeds the maximum length");
+		});
+	}
+
+	@Test
+	void shouldUseApplicationObjectMapperWhenDedicatedMapperIsDisabled() {
+		contextRunner.withPropertyValues("agentcore.invocations.json.dedicated-mapper=false")
+			.run(context -> assertThat(context.getBean(AgentCorePayloadMapper.class).getObjectMapper())
+				.isSameAs(context.getBean(ObjectMapper.class)));
+	}
+
+	@Test
+	void shouldFailWhenAcceleratorIsMissing() {
+		contextRunner.withPropertyValues("agentcore.invocations.json.accelerator=blackbird")
+			.run(context -> assertThat(context).getFailure().hasStackTraceContaining("BlackbirdModule"));
+	}
+
+	@Test
+	void shouldCoalesceStreamsOnlyWhenEnabled() {
+		contextRunner.run(context -> assertThat(context).doesNotHaveBean(AgentCoreStreamCoalescer.class));
+		contextRunner.withPropertyValues("agentcore.invocations.stream.coalesce=true")
+			.run(context -> assertThat(context).hasSingleBean(AgentCoreStreamCoalescer.class));
+	}
+
+	@Test
+	void shouldHandleCancellationOnlyWhenEnabledOrBoundedByDeadline() {
+		contextRunner.run(context -> assertThat(context).doesNotHaveBean(AgentCoreCancellationHandler.class));
+		contextRunner.withPropertyValues("agentcore.invocations.cancellation.enabled=true")
+			.run(context -> assertThat(context).hasSingleBean(AgentCoreCancellationHandler.class));
+		contextRunner.withPropertyValues("agentcore.invocations.deadline.default-timeout=30s")
+			.run(context -> assertThat(context).hasSingleBean(AgentCoreCancellationHandler.class));
+	}
+
+	@Test
+	void shouldKeepApplicationTaskExecutorBesideInvocationExecutor() {
+		contextRunner.withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+			.withPropertyValues("agentcore.invocations.cancellation.enabled=true")
+			.run(context -> {
+				assertThat(context).hasBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME);
+				assertThat(context).hasBean(AgentCoreAutoConfiguration.INVOCATION_EXECUTOR_BEAN_NAME);
+				// Only the application's executor is injected by type
+				assertThat(context.getBeanProvider(TaskExecutor.class).getIfUnique())
+					.isSameAs(context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME));
+			});
+	}
+
+	@Test
+	void shouldCountResultCacheHitsAndMisses() {
+		contextRunner.run(context -> {
+			var meterRegistry = new SimpleMeterRegistry();
+			context.getBean("agentCoreResultCacheMetrics", MeterBinder.class).bindTo(meterRegistry);
+
+			assertThat(context).hasSingleBean(AgentCoreResultCache.class);
+			assertThat(meterRegistry.get("agentcore.invocations.cache.gets")
+				.tag("result", "hit")
+				.functionCounter()
+				.count()).isZero();
+			assertThat(meterRegistry.get("agentcore.invocations.cache.gets")
+				.tag("result", "miss")
+				.functionCounter()
+				.count()).isZero();
+		});
+	}
+
+	@Test
+	void shouldReportSessionStoreMetrics() {
+		contextRunner
+			.withPropertyValues("agentcore.invocations.session.enabled=true",
+					"agentcore.invocations.session.max-sessions=1")
+			.run(context -> {
+				var meterRegistry = new SimpleMeterRegistry();
+				context.getBean("agentCoreSessionStoreMetrics", MeterBinder.class).bindTo(meterRegistry);
+				var sessionStore = context.getBean(AgentCoreSessionStore.class);
+
+				sessionStore.getSession("s-1").put("text", "abcd");
+				sessionStore.getSession("s-2");
+
+				assertThat(meterRegistry.get("agentcore.sessions.active").gauge().value()).isEqualTo(1);
+				assertThat(meterRegistry.get("agentcore.sessions.size").gauge().value()).isZero();
+				assertThat(meterRegistry.get("agentcore.sessions.evictions")
+					.tag("cause", "size")
+					.functionCounter()
+					.count()).isEqualTo(1);
+			});
+	}
+
+	@Test
+	void shouldOnlyKeepSessionsWhenEnabled() {
+		contextRunner.run(context -> {
+			assertThat(context).doesNotHaveBean(AgentCoreSessionStore.class);
+			context.getBean("agentCoreSessionStoreMetrics", MeterBinder.class).bindTo(new SimpleMeterRegistry());
+		});
+		contextRunner.withPropertyValues("agentcore.invocations.session.enabled=true")
+			.run(context -> assertThat(context).hasSingleBean(AgentCoreSessionStore.class));
+	}
+
+	record Prompt(String prompt) {
+	}
+
 	@Configuration
 	static class CustomObjectMapperConfiguration {
 
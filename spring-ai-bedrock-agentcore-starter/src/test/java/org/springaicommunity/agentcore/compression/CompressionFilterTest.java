@@ -0,0 +1,202 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.github.luben.zstd.Zstd;
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.stereotype.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = { "agentcore.compression.enabled=true", "agentcore.compression.min-response-size=1KB",
+				"agentcore.compression.max-request-size=64KB" })
+class CompressionFilterTest {
+
+	static final CountDownLatch firstEventRead = new CountDownLatch(1);
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	@SpringBootApplication(scanBasePackages = "org.springaicommunity.agentcore.autoconfigure")
+	static class CompressionTestApp {
+
+		@Service
+		public static class TestAgentService {
+
+			@AgentCoreInvocation
+			public Object handle(Map<String, Object> request) {
+				var prompt = (String) request.get("prompt");
+				if (Boolean.TRUE.equals(request.get("stream"))) {
+					// The second event waits until the client has decoded the first one
+					return Flux.just("first")
+						.concatWith(
+								Mono.fromCallable(() -> firstEventRead.await(10, TimeUnit.SECONDS) ? "second" : "late")
+									.subscribeOn(Schedulers.boundedElastic()));
+				}
+				return Map.of("length", prompt.length(), "echo", prompt.substring(0, (Integer) request.get("echo")));
+			}
+
+		}
+
+	}
+
+	@Test
+	void shouldDecodeGzipAndZstdRequests() throws Exception {
+		var body = json("a".repeat(10_000), 0, false);
+
+		var gzip = send(request("gzip", "identity").POST(HttpRequest.BodyPublishers.ofByteArray(gzip(body))));
+		var zstd = send(request("zstd", "identity").POST(HttpRequest.BodyPublishers.ofByteArray(Zstd.compress(body))));
+
+		assertThat(gzip.statusCode()).isEqualTo(200);
+		assertThat(new String(gzip.body(), StandardCharsets.UTF_8)).contains("\"length\":10000");
+		assertThat(zstd.statusCode()).isEqualTo(200);
+		assertThat(new String(zstd.body(), StandardCharsets.UTF_8)).contains("\"length\":10000");
+	}
+
+	@Test
+	void shouldRejectRequestsThatDecodeBeyondMaxSize() throws Exception {
+		var body = json("a".repeat(1_000_000), 0, false);
+
+		var gzip = send(request("gzip", "identity").POST(HttpRequest.BodyPublishers.ofByteArray(gzip(body))));
+		var zstd = send(request("zstd", "identity").POST(HttpRequest.BodyPublishers.ofByteArray(Zstd.compress(body))));
+
+		assertThat(gzip.statusCode()).isEqualTo(413);
+		assertThat(zstd.statusCode()).isEqualTo(413);
+	}
+
+	@Test
+	void shouldRejectUnsupportedRequestEncoding() throws Exception {
+		var response = send(request("br", "identity").POST(HttpRequest.BodyPublishers.ofByteArray(new byte[] { 1 })));
+
+		assertThat(response.statusCode()).isEqualTo(415);
+		assertThat(response.headers().firstValue("Accept-Encoding")).hasValue("zstd, gzip");
+	}
+
+	@Test
+	void shouldCompressLargeResponsesWithNegotiatedEncoding() throws Exception {
+		var body = json("b".repeat(4096), 4096, false);
+
+		var gzip = send(request(null, "gzip, deflate").POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+		var zstd = send(request(null, "gzip;q=0.8, zstd").POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+
+		assertThat(gzip.headers().firstValue("Content-Encoding")).hasValue("gzip");
+		assertThat(gzip.headers().firstValue("Vary")).hasValue("Accept-Encoding");
+		assertThat(new String(gunzip(gzip.body()), StandardCharsets.UTF_8)).contains("b".repeat(4096));
+		assertThat(zstd.headers().firstValue("Content-Encoding")).hasValue("zstd");
+		assertThat(zstd.body().length).isLessThan(1024);
+		assertThat(new String(Zstd.decompress(zstd.body(), 10_000), StandardCharsets.UTF_8)).contains("b".repeat(4096));
+	}
+
+	@Test
+	void shouldNotCompressSmallResponses() throws Exception {
+		var body = json("c".repeat(4096), 10, false);
+
+		var response = send(request(null, "gzip").POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+
+		assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+		assertThat(new String(response.body(), StandardCharsets.UTF_8)).contains("\"echo\":\"cccccccccc\"");
+	}
+
+	@Test
+	void shouldFlushCompressedEventsAsTheyAreWritten() throws Exception {
+		var request = request(null, "gzip").header("Accept", "text/event-stream")
+			.POST(HttpRequest.BodyPublishers.ofByteArray(json("hi", 0, true)))
+			.build();
+
+		var response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+		assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+		try (var events = new GZIPInputStream(response.body())) {
+			assertThat(readUntil(events, "data:first")).contains("data:first");
+			firstEventRead.countDown();
+			assertThat(new String(events.readAllBytes(), StandardCharsets.UTF_8)).contains("data:second");
+		}
+	}
+
+	private HttpRequest.Builder request(String contentEncoding, String acceptEncoding) {
+		var builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/invocations"))
+			.header("Content-Type", "application/json")
+			.header("Accept-Encoding", acceptEncoding);
+		if (contentEncoding != null) {
+			builder.header("Content-Encoding", contentEncoding);
+		}
+		return builder;
+	}
+
+	private HttpResponse<byte[]> send(HttpRequest.Builder request) throws Exception {
+		return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	private static byte[] json(String prompt, int echo, boolean stream) {
+		return ("{\"prompt\":\"" + prompt + "\",\"echo\":" + echo + ",\"stream\":" + stream + "}")
+			.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[] gzip(byte[] bytes) throws IOException {
+		var out = new ByteArrayOutputStream();
+		try (var gzip = new GZIPOutputStream(out)) {
+			gzip.write(bytes);
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] gunzip(byte[] bytes) throws IOException {
+		try (var in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readAllBytes();
+		}
+	}
+
+	private static String readUntil(InputStream in, String marker) throws IOException {
+		var text = new StringBuilder();
+		var buffer = new byte[256];
+		while (!text.toString().contains(marker)) {
+			int read = in.read(buffer);
+			if (read == -1) {
+				break;
+			}
+			text.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+		}
+		return text.toString();
+	}
+
+}
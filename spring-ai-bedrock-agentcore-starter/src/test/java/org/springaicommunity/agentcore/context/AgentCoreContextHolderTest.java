@@ -0,0 +1,191 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.context;
+
+import java.time.Duration;
+import java.util.Enumeration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
+import org.springaicommunity.agentcore.service.AgentCoreMethodInvoker;
+import org.springaicommunity.agentcore.service.AgentCoreMethodRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgentCoreContextHolderTest {
+
+	@Test
+	void shouldBindContextWhileAgentMethodRuns() throws Exception {
+		var result = invoker("blocking").invokeAgentMethod("prompt", headers("session-1"));
+
+		assertThat(result).isEqualTo("session-1");
+		assertThat(AgentCoreContextHolder.getContext()).isNull();
+	}
+
+	@Test
+	void shouldOnlyCopyHeadersWhenContextIsUsed() throws Exception {
+		var scans = new AtomicInteger();
+		var request = new MockHttpServletRequest() {
+
+			@Override
+			public Enumeration<String> getHeaderNames() {
+				scans.incrementAndGet();
+				return super.getHeaderNames();
+			}
+
+		};
+		request.addHeader(AgentCoreHeaders.SESSION_ID, "session-5");
+
+		assertThat(invoker("ignoring").invokeAgentMethod("prompt", ServletRequestHeaders.of(request)))
+			.isEqualTo("prompt");
+		assertThat(scans).hasValue(0);
+		assertThat(invoker("blocking").invokeAgentMethod("prompt", ServletRequestHeaders.of(request)))
+			.isEqualTo("session-5");
+		assertThat(scans).hasValue(1);
+	}
+
+	@Test
+	void shouldRunWrappedTasksWithContext() throws Exception {
+		var executor = Executors.newSingleThreadExecutor();
+		try {
+			AgentCoreContextHolder.setContext(new AgentCoreContext(headers("session-2")));
+			var sessionId = CompletableFuture.supplyAsync(() -> AgentCoreContextHolder.getContext().getSessionId(),
+					AgentCoreContextHolder.wrap(executor));
+			AgentCoreContextHolder.resetContext();
+
+			assertThat(sessionId.get()).isEqualTo("session-2");
+			assertThat(CompletableFuture.supplyAsync(AgentCoreContextHolder::getContext, executor).get()).isNull();
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldWriteContextToReturnedStreams() throws Exception {
+		var result = (Flux<String>) invoker("fromReactorContext").invokeAgentMethod("prompt", headers("session-3"));
+
+		assertThat(result.collectList().block(Duration.ofSeconds(5))).containsExactly("session-3");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldPropagateContextThatOutlivesTheRequest() throws Exception {
+		var request = new MockHttpServletRequest();
+		request.addHeader(AgentCoreHeaders.SESSION_ID, "session-6");
+		var stream = (Flux<String>) invoker("fromReactorContext").invokeAgentMethod("prompt",
+				ServletRequestHeaders.of(request));
+		var submitted = (CompletableFuture<String>) invoker("onExecutor").invokeAgentMethod("prompt",
+				ServletRequestHeaders.of(request));
+
+		// The container recycles the request for the next one
+		request.removeHeader(AgentCoreHeaders.SESSION_ID);
+		request.addHeader(AgentCoreHeaders.SESSION_ID, "session-7");
+		TestAgent.recycled.countDown();
+
+		assertThat(stream.collectList().block(Duration.ofSeconds(5))).containsExactly("session-6");
+		assertThat(submitted.get(5, TimeUnit.SECONDS)).isEqualTo("session-6");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldRestoreContextOnSchedulerThreadsWithAutomaticPropagation() throws Exception {
+		Hooks.enableAutomaticContextPropagation();
+		try {
+			var result = (Flux<String>) invoker("onParallelScheduler").invokeAgentMethod("prompt",
+					headers("session-4"));
+
+			assertThat(result.collectList().block(Duration.ofSeconds(5))).containsExactly("session-4", "session-4");
+		}
+		finally {
+			Hooks.disableAutomaticContextPropagation();
+		}
+	}
+
+	private static AgentCoreMethodInvoker invoker(String methodName) throws NoSuchMethodException {
+		var registry = new AgentCoreMethodRegistry();
+		registry.registerMethod(new TestAgent(), TestAgent.class.getMethod(methodName, String.class));
+		return AgentCoreMethodInvoker.builder(new ObjectMapper(), registry).build();
+	}
+
+	private static HttpHeaders headers(String sessionId) {
+		var headers = new HttpHeaders();
+		headers.set(AgentCoreHeaders.SESSION_ID, sessionId);
+		return headers;
+	}
+
+	public static class TestAgent {
+
+		static final CountDownLatch recycled = new CountDownLatch(1);
+
+		@AgentCoreInvocation
+		public String ignoring(String prompt) {
+			return prompt;
+		}
+
+		@AgentCoreInvocation
+		public String blocking(String prompt) {
+			return AgentCoreContextHolder.getContext().getSessionId();
+		}
+
+		@AgentCoreInvocation
+		public Flux<String> fromReactorContext(String prompt) {
+			return Mono
+				.deferContextual(context -> Mono
+					.just(context.<AgentCoreContext>get(AgentCoreContextHolder.CONTEXT_KEY).getSessionId()))
+				.subscribeOn(Schedulers.parallel())
+				.flux();
+		}
+
+		@AgentCoreInvocation
+		public CompletableFuture<String> onExecutor(String prompt) {
+			return CompletableFuture.supplyAsync(() -> {
+				try {
+					recycled.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return AgentCoreContextHolder.getContext().getSessionId();
+			}, AgentCoreContextHolder.wrap(ForkJoinPool.commonPool()));
+		}
+
+		@AgentCoreInvocation
+		public Flux<String> onParallelScheduler(String prompt) {
+			return Flux.just(1, 2)
+				.flatMapSequential(i -> Mono.just(i).subscribeOn(Schedulers.parallel()))
+				.map(i -> AgentCoreContextHolder.getContext().getSessionId());
+		}
+
+	}
+
+}
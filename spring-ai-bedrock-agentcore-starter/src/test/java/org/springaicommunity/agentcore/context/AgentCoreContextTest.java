@@ -16,9 +16,14 @@
 
 package org.springaicommunity.agentcore.context;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -87,4 +92,36 @@ class AgentCoreContextTest {
 		assertTrue(context.getHeaders().isEmpty());
 	}
 
+	@Test
+	void shouldExposeWellKnownAndCustomHeaders() {
+		var request = new MockHttpServletRequest();
+		request.addHeader(AgentCoreHeaders.SESSION_ID, "session-1");
+		request.addHeader(AgentCoreHeaders.USER_ID, "user-1");
+		request.addHeader(AgentCoreHeaders.TRACE_ID, "Root=1-abc");
+		request.addHeader(AgentCoreHeaders.CUSTOM_HEADER_PREFIX + "Tenant", "acme");
+		request.addHeader("Accept", "application/json");
+
+		var context = new AgentCoreContext(ServletRequestHeaders.of(request));
+
+		assertEquals("session-1", context.getSessionId());
+		assertEquals("user-1", context.getUserId());
+		assertEquals("Root=1-abc", context.getTraceId());
+		assertEquals(Map.of("Tenant", "acme"), context.getCustomHeaders());
+		assertEquals("acme", context.getCustomHeaders().get("tenant"));
+		assertNull(new AgentCoreContext(new HttpHeaders()).getSessionId());
+		assertTrue(new AgentCoreContext(new HttpHeaders()).getCustomHeaders().isEmpty());
+	}
+
+	@Test
+	void shouldReportRemainingTimeUntilDeadline() {
+		var unbounded = new AgentCoreContext(new HttpHeaders());
+		var bounded = new AgentCoreContext(new HttpHeaders(), Instant.now().plusSeconds(60));
+		var expired = new AgentCoreContext(new HttpHeaders(), Instant.now().minusSeconds(1));
+
+		assertNull(unbounded.getDeadline());
+		assertNull(unbounded.getRemainingTime());
+		assertTrue(bounded.getRemainingTime().compareTo(Duration.ofSeconds(59)) > 0);
+		assertEquals(Duration.ZERO, expired.getRemainingTime());
+	}
+
 }
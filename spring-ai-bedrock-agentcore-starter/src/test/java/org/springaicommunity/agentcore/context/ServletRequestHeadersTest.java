@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.context;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServletRequestHeadersTest {
+
+	@Test
+	void shouldReadHeadersFromRequestWhenAsked() {
+		var request = new MockHttpServletRequest();
+		request.addHeader("Accept", "text/event-stream");
+		request.addHeader("X-Tag", "a");
+		request.addHeader("X-Tag", "b");
+		var headers = ServletRequestHeaders.of(request);
+
+		request.addHeader("X-Late", "added after the view was created");
+
+		assertThat(headers.getAccept()).containsExactly(MediaType.TEXT_EVENT_STREAM);
+		assertThat(headers.get("x-tag")).containsExactly("a", "b");
+		assertThat(headers.getFirst("X-TAG")).isEqualTo("a");
+		assertThat(headers.getFirst("X-Late")).isEqualTo("added after the view was created");
+		assertThat(headers.containsKey("x-late")).isTrue();
+		assertThat(headers.get("X-Missing")).isNull();
+		assertThat(headers.keySet()).containsExactly("Accept", "X-Tag", "X-Late");
+		assertThat(headers.toSingleValueMap()).containsEntry("X-Tag", "a");
+	}
+
+	@Test
+	void shouldBeReadOnly() {
+		var headers = ServletRequestHeaders.of(new MockHttpServletRequest());
+
+		assertThatThrownBy(() -> headers.set("X-Tag", "a")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> headers.put("X-Tag", List.of("a"))).isInstanceOf(UnsupportedOperationException.class);
+		assertThat(headers.isEmpty()).isTrue();
+	}
+
+	@Test
+	void shouldCopyHeadersThatOutliveTheRequest() {
+		var request = new MockHttpServletRequest();
+		request.addHeader("X-Tag", "a");
+		request.addHeader("X-Tag", "b");
+		var copy = ServletRequestHeaders.copyOf(ServletRequestHeaders.of(request));
+
+		// The container recycles the request for the next one
+		request.removeHeader("X-Tag");
+		request.addHeader("X-Other", "another request");
+
+		assertThat(copy.get("x-tag")).containsExactly("a", "b");
+		assertThat(copy.containsKey("X-Other")).isFalse();
+		assertThat(ServletRequestHeaders.copyOf(copy)).isSameAs(copy);
+		assertThatThrownBy(() -> copy.set("X-Tag", "c")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> copy.get("X-Tag").add("c")).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+}
@@ -16,12 +16,16 @@
 
 package org.springaicommunity.agentcore.controller;
 
+import java.util.Arrays;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springaicommunity.agentcore.autoconfigure.AgentCoreAutoConfiguration;
 import org.springaicommunity.agentcore.exception.AgentCoreInvocationException;
 import org.springaicommunity.agentcore.ping.AgentCoreTaskTracker;
+import org.springaicommunity.agentcore.service.AgentCoreBinaryPayload;
 import org.springaicommunity.agentcore.service.AgentCoreMethodInvoker;
+import org.springaicommunity.agentcore.service.AgentCorePayloadFormat;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -34,6 +38,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -171,6 +176,28 @@ class AgentCoreInvocationsControllerTest {
 			.andExpect(content().bytes(binaryData.getBytes()));
 	}
 
+	@Test
+	void shouldPassBinaryPayloadToInvoker() throws Exception {
+		var body = new byte[] { (byte) 0xa1, 0x61, 0x61, 0x01 };
+		when(mockInvoker.supports(AgentCorePayloadFormat.CBOR)).thenReturn(true);
+		when(mockInvoker.invokeAgentMethod(
+				argThat(request -> request instanceof AgentCoreBinaryPayload payload
+						&& payload.format() == AgentCorePayloadFormat.CBOR && Arrays.equals(payload.body(), body)),
+				any(HttpHeaders.class)))
+			.thenReturn("ok");
+
+		mockMvc.perform(post("/invocations").contentType(AgentCorePayloadFormat.CBOR_VALUE).content(body))
+			.andExpect(status().isOk())
+			.andExpect(content().string("ok"));
+	}
+
+	@Test
+	void shouldRejectUnavailableBinaryFormat() throws Exception {
+		mockMvc
+			.perform(post("/invocations").contentType(AgentCorePayloadFormat.MSGPACK_VALUE).content(new byte[] { 0 }))
+			.andExpect(status().isUnsupportedMediaType());
+	}
+
 	@Test
 	void shouldHandleException() throws Exception {
 		when(mockInvoker.invokeAgentMethod(any(), any(HttpHeaders.class)))
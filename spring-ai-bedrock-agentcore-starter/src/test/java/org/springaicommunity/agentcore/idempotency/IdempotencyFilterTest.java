@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.idempotency;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
+import org.springaicommunity.agentcore.context.AgentCoreHeaders;
+import reactor.core.publisher.Flux;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.stereotype.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = { "agentcore.idempotency.enabled=true", "agentcore.idempotency.max-entries=1",
+				"server.tomcat.threads.max=4", "server.tomcat.threads.min-spare=1" })
+class IdempotencyFilterTest {
+
+	static final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+	static final CountDownLatch held = new CountDownLatch(1);
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	@SpringBootApplication(scanBasePackages = "org.springaicommunity.agentcore.autoconfigure")
+	static class IdempotencyTestApp {
+
+		@Service
+		public static class TestAgentService {
+
+			@AgentCoreInvocation
+			public Object handle(Map<String, Object> request) throws InterruptedException {
+				var prompt = (String) request.get("prompt");
+				int call = calls.computeIfAbsent(prompt, key -> new AtomicInteger()).incrementAndGet();
+				if (prompt.startsWith("stream")) {
+					return Flux.just("first", "second", "third").delayElements(Duration.ofMillis(20));
+				}
+				if (prompt.startsWith("hold")) {
+					held.await(10, TimeUnit.SECONDS);
+				}
+				if (prompt.startsWith("fail") && call == 1) {
+					throw new IllegalStateException("Model unavailable");
+				}
+				Thread.sleep(300);
+				return Map.of("prompt", prompt, "call", call);
+			}
+
+		}
+
+	}
+
+	@Test
+	void shouldJoinInvocationInProgress() throws Exception {
+		var responses = Stream.of(1, 2, 3)
+			.map(i -> httpClient.sendAsync(request("slow", "request-1").build(), HttpResponse.BodyHandlers.ofString()))
+			.toList()
+			.stream()
+			.map(CompletableFuture::join)
+			.toList();
+
+		assertThat(calls.get("slow")).hasValue(1);
+		assertThat(responses).allSatisfy(response -> {
+			assertThat(response.statusCode()).isEqualTo(200);
+			assertThat(response.body()).contains("\"call\":1");
+		});
+		assertThat(responses).filteredOn(response -> response.headers().firstValue("Idempotent-Replayed").isPresent())
+			.hasSize(2);
+	}
+
+	@Test
+	void shouldReplayCompletedStream() throws Exception {
+		var first = send(request("stream", "request-2").header("Accept", "text/event-stream"));
+		var retry = send(request("stream", "request-2").header("Accept", "text/event-stream"));
+
+		assertThat(calls.get("stream")).hasValue(1);
+		assertThat(first.body()).contains("data:first", "data:second", "data:third");
+		assertThat(retry.body()).isEqualTo(first.body());
+		assertThat(retry.headers().firstValue("Content-Type"))
+			.hasValueSatisfying(contentType -> assertThat(contentType).startsWith("text/event-stream"));
+		assertThat(retry.headers().firstValue("Idempotent-Replayed")).hasValue("true");
+	}
+
+	@Test
+	void shouldRunFailedInvocationAgain() throws Exception {
+		var first = send(request("fail", "request-3"));
+		var retry = send(request("fail", "request-3"));
+		var secondRetry = send(request("fail", "request-3"));
+
+		assertThat(first.statusCode()).isEqualTo(500);
+		assertThat(retry.statusCode()).isEqualTo(200);
+		assertThat(secondRetry.body()).isEqualTo(retry.body());
+		assertThat(calls.get("fail")).hasValue(2);
+	}
+
+	@Test
+	void shouldRunRequestsWithOtherOrWithoutKeysSeparately() throws Exception {
+		send(request("distinct", "request-4"));
+		send(request("distinct", "request-5"));
+		send(request("distinct", null));
+		send(request("distinct", null));
+
+		assertThat(calls.get("distinct")).hasValue(4);
+	}
+
+	@Test
+	void shouldNotHoldThreadsOrEvictWhileJoining() throws Exception {
+		var duplicates = IntStream.range(0, 8)
+			.mapToObj(i -> httpClient.sendAsync(request("hold", "request-6").build(),
+					HttpResponse.BodyHandlers.ofString()))
+			.toList();
+		Awaitility.await().until(() -> calls.containsKey("hold"));
+
+		// Another key beyond max-entries, which must neither wait for nor evict the held
+		// one
+		var other = httpClient.sendAsync(request("other", "request-7").build(), HttpResponse.BodyHandlers.ofString())
+			.get(5, TimeUnit.SECONDS);
+		var late = httpClient.sendAsync(request("hold", "request-6").build(), HttpResponse.BodyHandlers.ofString());
+		held.countDown();
+
+		assertThat(other.statusCode()).isEqualTo(200);
+		assertThat(Stream.concat(duplicates.stream(), Stream.of(late)).map(CompletableFuture::join))
+			.allSatisfy(response -> {
+				assertThat(response.statusCode()).isEqualTo(200);
+				assertThat(response.body()).contains("\"call\":1");
+			});
+		assertThat(calls.get("hold")).hasValue(1);
+	}
+
+	private HttpRequest.Builder request(String prompt, String requestId) {
+		var builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/invocations"))
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString("{\"prompt\":\"" + prompt + "\"}"));
+		if (requestId != null) {
+			builder.header(AgentCoreHeaders.REQUEST_ID, requestId);
+		}
+		return builder;
+	}
+
+	private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+		return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+}
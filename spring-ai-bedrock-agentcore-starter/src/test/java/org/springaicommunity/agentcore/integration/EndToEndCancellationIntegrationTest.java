@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.integration;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
+import org.springaicommunity.agentcore.ping.AgentCoreTaskTracker;
+import reactor.core.publisher.Flux;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.stereotype.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(classes = EndToEndCancellationIntegrationTest.CancellationTestApp.class,
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = { "agentcore.invocations.cancellation.enabled=true",
+				"agentcore.invocations.cancellation.track-tasks=true" })
+class EndToEndCancellationIntegrationTest {
+
+	static final CountDownLatch streamCancelled = new CountDownLatch(1);
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private AgentCoreTaskTracker taskTracker;
+
+	@SpringBootApplication(scanBasePackages = "org.springaicommunity.agentcore.autoconfigure")
+	static class CancellationTestApp {
+
+		@Service
+		public static class TestAgentService {
+
+			@AgentCoreInvocation
+			public Flux<String> handle(Map<String, Object> request) {
+				return Flux.interval(Duration.ofMillis(50))
+					.map(tick -> "token" + tick)
+					.doOnCancel(streamCancelled::countDown);
+			}
+
+		}
+
+	}
+
+	@Test
+	void shouldCancelStreamWhenClientDisconnects() throws Exception {
+		var cancellations = taskTracker.getCancellationCount();
+		try (var socket = invoke("text/event-stream")) {
+			var in = socket.getInputStream();
+			var response = new StringBuilder();
+			while (!response.toString().contains("token1")) {
+				response.append((char) in.read());
+			}
+			assertThat(taskTracker.getCount()).isEqualTo(1);
+		}
+
+		assertThat(streamCancelled.await(5, TimeUnit.SECONDS)).isTrue();
+		await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+			assertThat(taskTracker.getCount()).isZero();
+			assertThat(taskTracker.getCancellationCount()).isEqualTo(cancellations + 1);
+		});
+	}
+
+	private Socket invoke(String accept) throws IOException {
+		var body = "{\"prompt\":\"count\"}";
+		var socket = new Socket("localhost", port);
+		socket.getOutputStream()
+			.write(("POST /invocations HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/json\r\nAccept: "
+					+ accept + "\r\nContent-Length: " + body.length() + "\r\n\r\n" + body)
+				.getBytes(StandardCharsets.UTF_8));
+		socket.getOutputStream().flush();
+		return socket;
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.integration;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
+import org.springaicommunity.agentcore.context.AgentCoreContext;
+import org.springaicommunity.agentcore.context.AgentCoreHeaders;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = EndToEndDeadlineIntegrationTest.DeadlineTestApp.class,
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = { "agentcore.invocations.deadline.default-timeout=300ms",
+				"agentcore.invocations.deadline.max-timeout=5s" })
+class EndToEndDeadlineIntegrationTest {
+
+	static final CountDownLatch interrupted = new CountDownLatch(1);
+
+	@LocalServerPort
+	private int port;
+
+	private final TestRestTemplate restTemplate = new TestRestTemplate();
+
+	@SpringBootApplication(scanBasePackages = "org.springaicommunity.agentcore.autoconfigure")
+	static class DeadlineTestApp {
+
+		@Service
+		public static class TestAgentService {
+
+			@AgentCoreInvocation
+			public Map<String, Object> handle(Map<String, Object> request, AgentCoreContext context)
+					throws InterruptedException {
+				if ("sleep".equals(request.get("prompt"))) {
+					try {
+						Thread.sleep(10_000);
+					}
+					catch (InterruptedException e) {
+						interrupted.countDown();
+						throw e;
+					}
+				}
+				return Map.of("remainingMs", context.getRemainingTime().toMillis());
+			}
+
+		}
+
+	}
+
+	@Test
+	void shouldAnswerWithGatewayTimeoutAndInterruptInvocationAtDeadline() throws Exception {
+		long start = System.nanoTime();
+
+		var response = invoke("sleep", null);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void shouldExposeRemainingTimeOfRequestedDeadline() {
+		var byDefault = invoke("hi", null);
+		var requested = invoke("hi", "2000");
+		var capped = invoke("hi", "60000");
+
+		assertThat(byDefault.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(remainingMs(byDefault)).isBetween(1L, 300L);
+		assertThat(remainingMs(requested)).isBetween(300L, 2000L);
+		assertThat(remainingMs(capped)).isBetween(2000L, 5000L);
+	}
+
+	@Test
+	void shouldRejectInvalidDeadlineHeader() {
+		assertThat(invoke("hi", "soon").getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(invoke("hi", "0").getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(invoke("hi", "-100").getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@SuppressWarnings("rawtypes")
+	private ResponseEntity<Map> invoke(String prompt, String deadlineMs) {
+		var headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		if (deadlineMs != null) {
+			headers.set(AgentCoreHeaders.DEADLINE_MS, deadlineMs);
+		}
+		return restTemplate.postForEntity("http://localhost:" + port + "/invocations",
+				new HttpEntity<>(Map.of("prompt", prompt), headers), Map.class);
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static long remainingMs(ResponseEntity<Map> response) {
+		return ((Number) response.getBody().get("remainingMs")).longValue();
+	}
+
+}
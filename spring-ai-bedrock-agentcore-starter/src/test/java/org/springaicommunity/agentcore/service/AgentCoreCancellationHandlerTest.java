@@ -0,0 +1,190 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.time.Duration;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.AsyncEvent;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.agentcore.context.AgentCoreHeaders;
+import org.springaicommunity.agentcore.ping.AgentCoreTaskTracker;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class AgentCoreCancellationHandlerTest {
+
+	private final AgentCoreTaskTracker taskTracker = new AgentCoreTaskTracker();
+
+	private final AgentCoreCancellationHandler handler = new AgentCoreCancellationHandler(taskTracker);
+
+	AgentCoreCancellationHandlerTest() {
+		handler.setTrackTasks(true);
+	}
+
+	@Test
+	void shouldTrackStreamsAndCountCancellations() {
+		var stream = (Flux<?>) handler.track(Flux.interval(Duration.ofMillis(10)));
+
+		StepVerifier.create(stream)
+			.expectNextCount(2)
+			.then(() -> assertThat(taskTracker.getCount()).isEqualTo(1))
+			.thenCancel()
+			.verify();
+
+		assertThat(taskTracker.getCount()).isZero();
+		assertThat(taskTracker.getCancellationCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldNotCountCompletedStreamsAsCancelled() {
+		StepVerifier.create((Flux<?>) handler.track(Flux.just("a", "b"))).expectNextCount(2).verifyComplete();
+
+		assertThat(taskTracker.getCount()).isZero();
+		assertThat(taskTracker.getCancellationCount()).isZero();
+	}
+
+	@Test
+	void shouldTrackFuturesUntilTheyComplete() {
+		var future = new CompletableFuture<String>();
+
+		var result = (DeferredResult<?>) handler.track(future);
+
+		assertThat(taskTracker.getCount()).isEqualTo(1);
+		future.complete("done");
+		assertThat(result.getResult()).isEqualTo("done");
+		assertThat(taskTracker.getCount()).isZero();
+	}
+
+	@Test
+	void shouldInterruptBlockingInvocationOnRequestError() throws Exception {
+		var running = new CountDownLatch(1);
+		var interrupted = new CountDownLatch(1);
+		var executor = new SimpleAsyncTaskExecutor();
+		var cancellable = new AgentCoreCancellationHandler(taskTracker, null, null, executor);
+		var request = asyncRequest();
+
+		var task = cancellable.handle(null, () -> {
+			running.countDown();
+			try {
+				Thread.sleep(30_000);
+			}
+			catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return "late";
+		});
+		startCallableProcessing(request, task);
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+		var asyncContext = (MockAsyncContext) request.getAsyncContext();
+		for (var listener : asyncContext.getListeners()) {
+			listener.onError(new AsyncEvent(asyncContext, new IOException("Connection reset by peer")));
+		}
+
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(taskTracker.getCancellationCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldAnswerInvocationsBeyondExecutorCapacityWithServiceUnavailable() throws Exception {
+		var executor = new ThreadPoolTaskExecutor();
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(0);
+		executor.initialize();
+		var release = new CountDownLatch(1);
+		var bounded = new AgentCoreCancellationHandler(taskTracker, null, null, executor);
+		try {
+			startCallableProcessing(asyncRequest(), bounded.handle(null, () -> release.await(5, TimeUnit.SECONDS)));
+			var rejected = asyncRequest();
+
+			startCallableProcessing(rejected, bounded.handle(null, () -> "rejected"));
+
+			assertThat(WebAsyncUtils.getAsyncManager(rejected).getConcurrentResult()).isInstanceOfSatisfying(
+					ResponseStatusException.class,
+					e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+		}
+		finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void shouldRejectDeadlinesThatAreNotPositive() {
+		var bounded = new AgentCoreCancellationHandler(taskTracker, null, null, new SimpleAsyncTaskExecutor());
+
+		for (var deadline : List.of("0", "-1", "soon")) {
+			var headers = new HttpHeaders();
+			headers.set(AgentCoreHeaders.DEADLINE_MS, deadline);
+			assertThatExceptionOfType(ResponseStatusException.class).isThrownBy(() -> bounded.getDeadline(headers))
+				.satisfies(e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+		}
+	}
+
+	@Test
+	void shouldNotCountTasksUnlessTracked() {
+		var untracked = new AgentCoreCancellationHandler(taskTracker);
+
+		StepVerifier.create((Flux<?>) untracked.track(Flux.just("a")))
+			.then(() -> assertThat(taskTracker.getCount()).isZero())
+			.expectNextCount(1)
+			.verifyComplete();
+		untracked.track(new CompletableFuture<>());
+
+		assertThat(taskTracker.getCount()).isZero();
+	}
+
+	@Test
+	void shouldReturnPlainResultsUnchanged() {
+		assertThat(handler.track("answer")).isEqualTo("answer");
+		assertThat(handler.track(null)).isNull();
+	}
+
+	private static MockHttpServletRequest asyncRequest() {
+		var request = new MockHttpServletRequest();
+		request.setAsyncSupported(true);
+		WebAsyncUtils.getAsyncManager(request)
+			.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+		return request;
+	}
+
+	private static void startCallableProcessing(MockHttpServletRequest request, Object task) throws Exception {
+		WebAsyncUtils.getAsyncManager(request).startCallableProcessing((WebAsyncTask<?>) task);
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springaicommunity.agentcore.context.AgentCoreContext;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgentCorePayloadFormatTest {
+
+	private final AgentCorePayloadMapper payloadMapper = new AgentCorePayloadMapper(new ObjectMapper());
+
+	@ParameterizedTest
+	@EnumSource(AgentCorePayloadFormat.class)
+	void shouldRoundTripBinaryPayload(AgentCorePayloadFormat format) throws Exception {
+		var invoker = invoker("answer", false);
+		var formatMapper = payloadMapper.getObjectMapper(format);
+		var request = new AgentCoreBinaryPayload(format, formatMapper.writeValueAsBytes(new Question("why?", 3)));
+		var headers = new HttpHeaders();
+		headers.setAccept(format.getMediaTypes());
+		var response = new MockHttpServletResponse();
+
+		var result = invoker.invokeAgentMethod(request, headers);
+
+		assertThat(result).isEqualTo(new Answer("why?", 3));
+		assertThat(invoker.writeResponse(result, headers, response)).isTrue();
+		assertThat(response.getContentType()).isEqualTo(format.getMediaTypes().get(0).toString());
+		assertThat(formatMapper.readValue(response.getContentAsByteArray(), Answer.class)).isEqualTo(result);
+	}
+
+	@Test
+	void shouldDecodeBinaryPayloadForUntypedParameters() throws Exception {
+		var invoker = invoker("untyped", false);
+		var body = payloadMapper.getObjectMapper(AgentCorePayloadFormat.CBOR).writeValueAsBytes(Map.of("prompt", "hi"));
+
+		var result = invoker.invokeAgentMethod(new AgentCoreBinaryPayload(AgentCorePayloadFormat.CBOR, body));
+
+		assertThat(result).isEqualTo(Map.of("prompt", "hi"));
+	}
+
+	@Test
+	void shouldNegotiateBinaryFormatOnlyWhenPreferred() throws Exception {
+		var invoker = invoker("answer", false);
+		var result = new Answer("yes", 1);
+		var headers = new HttpHeaders();
+		headers.setAccept(MediaType.parseMediaTypes("application/json, application/x-jackson-smile"));
+
+		assertThat(invoker.writeResponse(result, headers, new MockHttpServletResponse())).isFalse();
+
+		headers.setAccept(MediaType.parseMediaTypes("application/x-jackson-smile, application/json"));
+		var response = new MockHttpServletResponse();
+
+		assertThat(invoker.writeResponse(result, headers, response)).isTrue();
+		assertThat(response.getContentType()).isEqualTo(AgentCorePayloadFormat.SMILE_VALUE);
+	}
+
+	@Test
+	void shouldResolveFormatsByMediaType() {
+		assertThat(AgentCorePayloadFormat.forMediaType(MediaType.parseMediaType("application/msgpack")))
+			.isEqualTo(AgentCorePayloadFormat.MSGPACK);
+		assertThat(AgentCorePayloadFormat.forMediaType(MediaType.parseMediaType("application/cbor;charset=UTF-8")))
+			.isEqualTo(AgentCorePayloadFormat.CBOR);
+		assertThat(AgentCorePayloadFormat.forMediaType(MediaType.APPLICATION_JSON)).isNull();
+		assertThat(AgentCorePayloadFormat.forMediaType(MediaType.ALL)).isNull();
+	}
+
+	private AgentCoreMethodInvoker invoker(String methodName, boolean responseFastPath) {
+		var registry = new AgentCoreMethodRegistry();
+		for (var candidate : Agent.class.getMethods()) {
+			if (candidate.getName().equals(methodName)) {
+				registry.registerMethod(new Agent(), candidate);
+			}
+		}
+		return AgentCoreMethodInvoker.builder(payloadMapper, registry).responseFastPath(responseFastPath).build();
+	}
+
+	record Question(String prompt, int tokens) {
+	}
+
+	record Answer(String text, int tokens) {
+	}
+
+	public static class Agent {
+
+		public Answer answer(Question question, AgentCoreContext context) {
+			return new Answer(question.prompt(), question.tokens());
+		}
+
+		public Object untyped(Object request) {
+			return request;
+		}
+
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgentCoreResponseWriterTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void shouldWriteStringAsUtf8() throws Exception {
+		var response = new MockHttpServletResponse();
+
+		writer("string").write("Grüße", response);
+
+		assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+		assertThat(response.getContentLength()).isEqualTo(7);
+		assertThat(response.getContentAsByteArray()).isEqualTo("Grüße".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void shouldWritePojoAndContainerAsJson() throws Exception {
+		var pojoResponse = new MockHttpServletResponse();
+		var listResponse = new MockHttpServletResponse();
+
+		writer("pojo").write(new Answer("yes", 0.9), pojoResponse);
+		writer("list").write(List.of(new Answer("no", 0.1)), listResponse);
+
+		assertThat(pojoResponse.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+		assertThat(pojoResponse.getContentAsString()).isEqualTo("{\"label\":\"yes\",\"score\":0.9}");
+		assertThat(listResponse.getContentAsString()).isEqualTo("[{\"label\":\"no\",\"score\":0.1}]");
+	}
+
+	@Test
+	void shouldLeaveStreamsEntitiesAndUntypedResultsToSpringMvc() throws Exception {
+		assertThat(writer("flux")).isNull();
+		assertThat(writer("entity")).isNull();
+		assertThat(writer("bytes")).isNull();
+		assertThat(writer("object")).isNull();
+		assertThat(writer("nothing")).isNull();
+	}
+
+	@Test
+	void shouldOnlyWriteWhenEnabledAndJsonIsNegotiated() throws Exception {
+		var registry = new AgentCoreMethodRegistry();
+		registry.registerMethod(new Agent(), Agent.class.getMethod("pojo"));
+		var invoker = AgentCoreMethodInvoker.builder(objectMapper, registry).responseFastPath(true).build();
+		var result = new Answer("yes", 0.9);
+
+		assertThat(invoker.writeResponse(result, accept(), new MockHttpServletResponse())).isTrue();
+		assertThat(invoker.writeResponse(result, accept("*/*"), new MockHttpServletResponse())).isTrue();
+		assertThat(invoker.writeResponse(result, accept("application/json"), new MockHttpServletResponse())).isTrue();
+		assertThat(invoker.writeResponse(result, accept("application/xml"), new MockHttpServletResponse())).isFalse();
+		assertThat(invoker.writeResponse(result, accept("text/plain"), new MockHttpServletResponse())).isFalse();
+		assertThat(invoker.writeResponse(result, accept("text/plain, application/json"), new MockHttpServletResponse()))
+			.isFalse();
+		assertThat(invoker.writeResponse(result, accept("text/event-stream"), new MockHttpServletResponse())).isFalse();
+		assertThat(invoker.writeResponse(result, accept("application/json;q=0.5, */*;q=0.1"),
+				new MockHttpServletResponse()))
+			.isFalse();
+		assertThat(AgentCoreMethodInvoker.builder(objectMapper, registry)
+			.build()
+			.writeResponse(result, accept(), new MockHttpServletResponse())).isFalse();
+	}
+
+	private AgentCoreResponseWriter writer(String methodName) throws NoSuchMethodException {
+		return AgentCoreResponseWriter.forMethod(Agent.class.getMethod(methodName), objectMapper);
+	}
+
+	private static HttpHeaders accept(String... accept) {
+		var headers = new HttpHeaders();
+		if (accept.length > 0) {
+			headers.set(HttpHeaders.ACCEPT, accept[0]);
+		}
+		return headers;
+	}
+
+	record Answer(String label, double score) {
+	}
+
+	public static class Agent {
+
+		public String string() {
+			return "";
+		}
+
+		public Answer pojo() {
+			return null;
+		}
+
+		public List<Answer> list() {
+			return List.of();
+		}
+
+		public Flux<String> flux() {
+			return Flux.empty();
+		}
+
+		public ResponseEntity<Answer> entity() {
+			return ResponseEntity.ok().build();
+		}
+
+		public byte[] bytes() {
+			return new byte[0];
+		}
+
+		public Object object() {
+			return Map.of();
+		}
+
+		public void nothing() {
+		}
+
+	}
+
+}
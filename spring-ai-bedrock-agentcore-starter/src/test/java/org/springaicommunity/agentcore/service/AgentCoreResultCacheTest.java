@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
+import org.springaicommunity.agentcore.context.AgentCoreContext;
+import org.springaicommunity.agentcore.context.AgentCoreHeaders;
+import org.springaicommunity.agentcore.exception.AgentCoreInvocationException;
+import reactor.core.publisher.Flux;
+
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AgentCoreResultCacheTest {
+
+	private final AgentCorePayloadMapper payloadMapper = new AgentCorePayloadMapper(new ObjectMapper());
+
+	private final TestAgent agent = new TestAgent();
+
+	private AgentCoreMethodRegistry registry;
+
+	private AgentCoreResultCache resultCache;
+
+	private AgentCoreMethodInvoker invoker;
+
+	@BeforeEach
+	void setUp() {
+		registry = new AgentCoreMethodRegistry();
+		resultCache = new AgentCoreResultCache(payloadMapper, new InMemoryAgentCoreResultStore(1024 * 1024),
+				Duration.ofMinutes(1));
+		invoker = AgentCoreMethodInvoker.builder(payloadMapper, registry).resultCache(resultCache).build();
+	}
+
+	@Test
+	void shouldReturnCachedResultForCanonicallyEqualRequests() throws Exception {
+		register("classify", Map.class);
+		var request = new LinkedHashMap<String, Object>();
+		request.put("text", "refund please");
+		request.put("options", Map.of("strict", true));
+		var reordered = new LinkedHashMap<String, Object>();
+		reordered.put("options", Map.of("strict", true));
+		reordered.put("text", "refund please");
+
+		var first = invoker.invokeAgentMethod(request);
+		var second = invoker.invokeAgentMethod(reordered);
+		var other = invoker.invokeAgentMethod(Map.of("text", "hello"));
+
+		assertThat(second).isEqualTo(first).isInstanceOf(Label.class);
+		assertThat(other).isEqualTo(new Label("text=hello", 3));
+		assertThat(agent.calls).hasValue(2);
+		assertThat(resultCache.getHitCount()).isEqualTo(1);
+		assertThat(resultCache.getMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldKeyResultsOnSelectedHeaders() throws Exception {
+		register("perUser", String.class, AgentCoreContext.class);
+
+		var alice = invoker.invokeAgentMethod("route me", headers("alice", "trace-1"));
+		var aliceAgain = invoker.invokeAgentMethod("route me", headers("alice", "trace-2"));
+		var bob = invoker.invokeAgentMethod("route me", headers("bob", "trace-3"));
+
+		assertThat(aliceAgain).isEqualTo(alice).isEqualTo("alice:route me");
+		assertThat(bob).isEqualTo("bob:route me");
+		assertThat(agent.calls).hasValue(2);
+	}
+
+	@Test
+	void shouldNotCacheFailuresOrMethodsThatAreNotCacheable() throws Exception {
+		register("flaky", String.class);
+
+		assertThatThrownBy(() -> invoker.invokeAgentMethod("x")).isInstanceOf(IllegalStateException.class);
+		assertThat(invoker.invokeAgentMethod("x")).isEqualTo(List.of("x"));
+		assertThat(invoker.invokeAgentMethod("x")).isEqualTo(List.of("x"));
+		assertThat(agent.calls).hasValue(2);
+
+		registry = new AgentCoreMethodRegistry();
+		invoker = AgentCoreMethodInvoker.builder(payloadMapper, registry).resultCache(resultCache).build();
+		register("uncached", String.class);
+		invoker.invokeAgentMethod("x");
+		invoker.invokeAgentMethod("x");
+
+		assertThat(agent.calls).hasValue(4);
+		assertThat(resultCache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldRejectCacheableStreams() throws Exception {
+		var method = TestAgent.class.getMethod("stream", String.class);
+
+		assertThat(AgentCoreResultCache.supports(method)).isFalse();
+		assertThatThrownBy(() -> registry.registerMethod(agent, method))
+			.isInstanceOf(AgentCoreInvocationException.class)
+			.hasMessageContaining("cannot be cacheable");
+	}
+
+	@Test
+	void shouldExpireAndEvictStoredResults() throws Exception {
+		var store = new InMemoryAgentCoreResultStore(100);
+
+		store.put("expired", new byte[10], Duration.ZERO);
+		store.put("a", new byte[40], Duration.ofMinutes(1));
+		store.put("b", new byte[40], Duration.ofMinutes(1));
+		store.get("a");
+		store.put("c", new byte[40], Duration.ofMinutes(1));
+		store.put("too-large", new byte[200], Duration.ofMinutes(1));
+
+		assertThat(store.get("expired")).isNull();
+		assertThat(store.get("a")).hasSize(40);
+		assertThat(store.get("b")).isNull();
+		assertThat(store.get("c")).hasSize(40);
+		assertThat(store.get("too-large")).isNull();
+		assertThat(store.getSize()).isEqualTo(82);
+	}
+
+	private void register(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+		registry.registerMethod(agent, TestAgent.class.getMethod(name, parameterTypes));
+	}
+
+	private static HttpHeaders headers(String userId, String traceId) {
+		var headers = new HttpHeaders();
+		headers.set(AgentCoreHeaders.USER_ID, userId);
+		headers.set(AgentCoreHeaders.TRACE_ID, traceId);
+		return headers;
+	}
+
+	record Label(String name, int score) {
+	}
+
+	public static class TestAgent {
+
+		final AtomicInteger calls = new AtomicInteger();
+
+		@AgentCoreInvocation(cacheable = true)
+		public Label classify(Map<String, Object> request) {
+			calls.incrementAndGet();
+			return new Label("text=" + request.get("text"), request.size() + 2);
+		}
+
+		@AgentCoreInvocation(cacheable = true, cacheKeyHeaders = AgentCoreHeaders.USER_ID)
+		public String perUser(String prompt, AgentCoreContext context) {
+			calls.incrementAndGet();
+			return context.getHeader(AgentCoreHeaders.USER_ID) + ":" + prompt;
+		}
+
+		@AgentCoreInvocation(cacheable = true)
+		public List<String> flaky(String prompt) {
+			if (calls.incrementAndGet() == 1) {
+				throw new IllegalStateException("Model unavailable");
+			}
+			return List.of(prompt);
+		}
+
+		@AgentCoreInvocation
+		public String uncached(String prompt) {
+			calls.incrementAndGet();
+			return prompt;
+		}
+
+		@AgentCoreInvocation(cacheable = true)
+		public Flux<String> stream(String prompt) {
+			return Flux.just(prompt);
+		}
+
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgentCoreStreamCoalescerTest {
+
+	private final AgentCoreStreamCoalescer coalescer = new AgentCoreStreamCoalescer(8, Duration.ofMillis(50));
+
+	@Test
+	void shouldEmitFirstChunkRightAwayAndMergeTheRestBySize() {
+		var tokens = Flux.just("Hel", "lo", " wo", "rld", ", how", " are", " you");
+
+		StepVerifier.create(coalescer.coalesce(tokens))
+			.expectNext("Hel", "lo world", ", how", " are you")
+			.verifyComplete();
+	}
+
+	@Test
+	void shouldNotMergeChunksBeyondMaxSize() {
+		var chunks = Flux.just("first", "123456", "7890", "abcdefghijkl", "mn", "opqrstuvwxyz");
+
+		StepVerifier.create(coalescer.coalesce(chunks))
+			.expectNext("first", "123456", "7890", "abcdefghijkl", "mn", "opqrstuvwxyz")
+			.verifyComplete();
+	}
+
+	@Test
+	void shouldNotMergeMoreThanMaxChunks() {
+		var coalescer = new AgentCoreStreamCoalescer(512, 3, Duration.ofMillis(50));
+		var tokens = Flux.just("a", "b", "c", "d", "e", "f", "g", "h");
+
+		StepVerifier.create(coalescer.coalesce(tokens)).expectNext("a", "bcd", "efg", "h").verifyComplete();
+	}
+
+	@Test
+	void shouldEmitMergedChunksWhenDelayExpires() {
+		var tokens = Sinks.many().unicast().<String>onBackpressureBuffer();
+
+		StepVerifier.create(coalescer.coalesce(tokens.asFlux())).then(() -> {
+			tokens.tryEmitNext("a");
+			tokens.tryEmitNext("b");
+			tokens.tryEmitNext("c");
+		})
+			.expectNext("a")
+			.expectNoEvent(Duration.ofMillis(30))
+			.expectNext("bc")
+			.then(tokens::tryEmitComplete)
+			.verifyComplete();
+	}
+
+	@Test
+	void shouldPassOtherElementsAndErrorsThrough() {
+		var elements = Flux.<Object>just("a", "b", List.of(1), "c")
+			.concatWith(Flux.error(new IllegalStateException("model failed")));
+
+		StepVerifier.create(coalescer.coalesce(elements))
+			.expectNext("a", "b", List.of(1), "c")
+			.verifyErrorMessage("model failed");
+	}
+
+	@Test
+	void shouldOnlyRequestFromSourceWhatTheSubscriberDemands() {
+		var requested = new AtomicLong();
+		var tokens = Flux.range(0, 10_000).map(i -> "token").doOnRequest(n -> requested.getAndAdd(n));
+
+		StepVerifier.create(coalescer.coalesce(tokens), 2).expectNext("token", "token").thenCancel().verify();
+
+		assertThat(requested.get()).isLessThan(1_000);
+	}
+
+	@Test
+	void shouldOnlyCoalesceForEventStreamRequests() throws Exception {
+		var registry = new AgentCoreMethodRegistry();
+		registry.registerMethod(new Agent(), Agent.class.getMethod("stream", String.class));
+		var invoker = AgentCoreMethodInvoker.builder(new ObjectMapper(), registry).streamCoalescer(coalescer).build();
+		var sse = new HttpHeaders();
+		sse.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+		var json = new HttpHeaders();
+		json.setAccept(List.of(MediaType.APPLICATION_JSON));
+
+		assertThat(((Flux<?>) invoker.invokeAgentMethod("", sse)).map(String::valueOf).collectList().block())
+			.containsExactly("a", "bc");
+		assertThat(((Flux<?>) invoker.invokeAgentMethod("", json)).map(String::valueOf).collectList().block())
+			.containsExactly("a", "b", "c");
+	}
+
+	public static class Agent {
+
+		public Flux<String> stream(String prompt) {
+			return Flux.just("a", "b", "c");
+		}
+
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.agentcore.session;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.agentcore.annotation.AgentCoreInvocation;
+import org.springaicommunity.agentcore.context.AgentCoreHeaders;
+import org.springaicommunity.agentcore.service.AgentCoreMethodInvoker;
+import org.springaicommunity.agentcore.service.AgentCoreMethodRegistry;
+import org.springaicommunity.agentcore.session.AgentCoreSessionListener.EvictionCause;
+
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgentCoreSessionStoreTest {
+
+	private final List<String> evictions = new ArrayList<>();
+
+	private final AgentCoreSessionListener listener = (session, cause) -> evictions.add(session.getId() + ":" + cause);
+
+	@Test
+	void shouldPassSessionStateAcrossInvocations() throws Exception {
+		var store = new AgentCoreSessionStore(10, 1024 * 1024, Duration.ofMinutes(15), List.of());
+		var registry = new AgentCoreMethodRegistry();
+		registry.registerMethod(new TestAgent(),
+				TestAgent.class.getMethod("chat", String.class, AgentCoreSession.class));
+		var invoker = AgentCoreMethodInvoker.builder(new ObjectMapper(), registry).sessionStore(store).build();
+
+		invoker.invokeAgentMethod("hello", session("s-1"));
+		var second = invoker.invokeAgentMethod("again", session("s-1"));
+		var other = invoker.invokeAgentMethod("other", session("s-2"));
+		var anonymous = invoker.invokeAgentMethod("anonymous", new HttpHeaders());
+
+		assertThat(second).isEqualTo(List.of("hello", "again"));
+		assertThat(other).isEqualTo(List.of("other"));
+		assertThat(anonymous).isEqualTo(List.of("anonymous"));
+		assertThat(store.getSessionCount()).isEqualTo(2);
+		assertThat(store.findSession("s-1").getAttributeNames()).containsExactly("turns");
+	}
+
+	@Test
+	void shouldAccountForAttributeSizes() {
+		var store = new AgentCoreSessionStore(10, 1024 * 1024, Duration.ofMinutes(15), List.of());
+		var session = store.getSession("s-1");
+
+		session.put("text", "abcd");
+		session.put("bytes", new byte[100]);
+		session.put("document", Map.of(), 500);
+		session.computeIfAbsent("other", name -> new Object());
+
+		assertThat(session.getSize()).isEqualTo(48 + 116 + 500 + AgentCoreSession.DEFAULT_ATTRIBUTE_SIZE);
+		assertThat(store.getSize()).isEqualTo(session.getSize());
+
+		session.remove("document");
+		session.put("text", "ab");
+
+		assertThat(store.getSize()).isEqualTo(44 + 116 + AgentCoreSession.DEFAULT_ATTRIBUTE_SIZE);
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedSessionsOverLimits() {
+		var store = new AgentCoreSessionStore(2, 1000, Duration.ofMinutes(15), List.of(listener));
+
+		store.getSession("s-1").put("document", "", 400);
+		store.getSession("s-2").put("document", "", 400);
+		store.getSession("s-1");
+		store.getSession("s-3").put("document", "", 900);
+
+		assertThat(evictions).containsExactly("s-2:SIZE", "s-1:SIZE");
+		assertThat(store.findSession("s-3")).isNotNull();
+		assertThat(store.getSize()).isEqualTo(900);
+
+		// The session in use is kept even when it is larger than the store
+		store.getSession("s-3").put("more", "", 500);
+
+		assertThat(store.getSessionCount()).isEqualTo(1);
+		assertThat(store.getEvictionCount(EvictionCause.SIZE)).isEqualTo(2);
+	}
+
+	@Test
+	void shouldEvictIdleAndInvalidatedSessions() throws Exception {
+		var store = new AgentCoreSessionStore(10, 1000, Duration.ofMillis(50), List.of(listener));
+		store.getSession("s-1").put("document", "", 100);
+		store.getSession("s-2");
+		store.invalidate("s-2");
+
+		Thread.sleep(100);
+		store.getSession("s-3");
+
+		assertThat(evictions).containsExactly("s-2:EXPLICIT", "s-1:IDLE");
+		assertThat(store.getSessionCount()).isEqualTo(1);
+		assertThat(store.getSize()).isZero();
+	}
+
+	private static HttpHeaders session(String sessionId) {
+		var headers = new HttpHeaders();
+		headers.set(AgentCoreHeaders.SESSION_ID, sessionId);
+		return headers;
+	}
+
+	public static class TestAgent {
+
+		@AgentCoreInvocation
+		public List<String> chat(String prompt, AgentCoreSession session) {
+			var turns = session.computeIfAbsent("turns", name -> new ArrayList<String>());
+			turns.add(prompt);
+			return List.copyOf(turns);
+		}
+
+	}
+
+}
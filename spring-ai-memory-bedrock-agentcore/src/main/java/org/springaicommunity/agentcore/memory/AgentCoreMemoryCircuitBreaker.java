@@ -0,0 +1,122 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Consecutive-failure circuit breaker for AgentCore Memory calls. After
+ * {@code failureThreshold} failed calls in a row the breaker opens and rejects calls for
+ * {@code openDuration}; then a single trial call is let through, which closes the breaker
+ * on success and reopens it on failure.
+ */
+public class AgentCoreMemoryCircuitBreaker {
+
+	private static final Logger logger = LoggerFactory.getLogger(AgentCoreMemoryCircuitBreaker.class);
+
+	public enum State {
+
+		CLOSED, OPEN, HALF_OPEN
+
+	}
+
+	private final int failureThreshold;
+
+	private final Duration openDuration;
+
+	private final Clock clock;
+
+	private State state = State.CLOSED;
+
+	private int failures;
+
+	private Instant openedAt;
+
+	private boolean trialInFlight;
+
+	public AgentCoreMemoryCircuitBreaker(int failureThreshold, Duration openDuration) {
+		this(failureThreshold, openDuration, Clock.systemUTC());
+	}
+
+	AgentCoreMemoryCircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+		if (failureThreshold <= 0) {
+			throw new IllegalArgumentException("FailureThreshold must be greater than zero");
+		}
+		this.failureThreshold = failureThreshold;
+		this.openDuration = openDuration;
+		this.clock = clock;
+	}
+
+	/**
+	 * Returns whether a call may go to AgentCore Memory. Every permitted call must be
+	 * followed by {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+	 */
+	public synchronized boolean tryAcquire() {
+		return switch (state) {
+			case CLOSED -> true;
+			case OPEN -> {
+				if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+					yield false;
+				}
+				logger.info("AgentCore Memory circuit breaker half-open, trying one call");
+				state = State.HALF_OPEN;
+				trialInFlight = true;
+				yield true;
+			}
+			case HALF_OPEN -> {
+				if (trialInFlight) {
+					yield false;
+				}
+				trialInFlight = true;
+				yield true;
+			}
+		};
+	}
+
+	public synchronized void onSuccess() {
+		if (state != State.CLOSED) {
+			logger.info("AgentCore Memory circuit breaker closed");
+		}
+		state = State.CLOSED;
+		failures = 0;
+		trialInFlight = false;
+	}
+
+	public synchronized void onFailure() {
+		failures++;
+		trialInFlight = false;
+		if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+			logger.warn("AgentCore Memory circuit breaker opened after {} consecutive failures", failures);
+			state = State.OPEN;
+			openedAt = clock.instant();
+		}
+	}
+
+	/**
+	 * Records a call that ended without telling whether AgentCore Memory is available,
+	 * e.g. one rejected for an invalid request. A half-open breaker lets the next call
+	 * try again.
+	 */
+	public synchronized void onIgnored() {
+		trialInFlight = false;
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+	public synchronized int getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Returns when the breaker last opened, or {@code null} if it never did.
+	 */
+	public synchronized Instant getOpenedAt() {
+		return openedAt;
+	}
+
+}
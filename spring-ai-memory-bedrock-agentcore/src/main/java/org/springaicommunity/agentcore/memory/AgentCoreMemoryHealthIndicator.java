@@ -0,0 +1,38 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Reports the state of the AgentCore Memory circuit breaker in the health details. While
+ * the breaker is not closed the configured status is reported; it defaults to {@code UP}
+ * so that the AgentCore {@code /ping} endpoint keeps the agent in service while its
+ * memory is degraded and answers fall back to the cached or empty history.
+ */
+public class AgentCoreMemoryHealthIndicator implements HealthIndicator {
+
+	private final CircuitBreakingChatMemoryRepository repository;
+
+	private final Status statusWhenOpen;
+
+	public AgentCoreMemoryHealthIndicator(CircuitBreakingChatMemoryRepository repository, String statusWhenOpen) {
+		this.repository = repository;
+		this.statusWhenOpen = new Status(statusWhenOpen);
+	}
+
+	@Override
+	public Health health() {
+		var circuitBreaker = repository.getCircuitBreaker();
+		var state = circuitBreaker.getState();
+		var builder = state == AgentCoreMemoryCircuitBreaker.State.CLOSED ? Health.up() : Health.status(statusWhenOpen);
+		builder.withDetail("circuitBreaker", state)
+			.withDetail("consecutiveFailures", circuitBreaker.getFailures())
+			.withDetail("bufferedWrites", repository.getBufferedWriteCount());
+		if (circuitBreaker.getOpenedAt() != null) {
+			builder.withDetail("lastOpenedAt", circuitBreaker.getOpenedAt().toString());
+		}
+		return builder.build();
+	}
+
+}
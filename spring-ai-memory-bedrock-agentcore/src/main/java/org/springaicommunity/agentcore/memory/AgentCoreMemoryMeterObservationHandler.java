@@ -0,0 +1,64 @@
+package org.springaicommunity.agentcore.memory;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+
+/**
+ * Records the pages, events and payload bytes accumulated in an
+ * {@link AgentCoreMemoryObservationContext} as distribution summaries tagged with the
+ * operation and its outcome. Timers for the same observations are recorded by the
+ * application's default meter observation handler.
+ */
+public class AgentCoreMemoryMeterObservationHandler implements ObservationHandler<AgentCoreMemoryObservationContext> {
+
+	public static final String PAGES = "agentcore.memory.pages";
+
+	public static final String EVENTS = "agentcore.memory.events";
+
+	public static final String PAYLOAD = "agentcore.memory.payload";
+
+	private final MeterRegistry meterRegistry;
+
+	public AgentCoreMemoryMeterObservationHandler(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void onStop(AgentCoreMemoryObservationContext context) {
+		if (context.getEvents() == 0 && context.getPages() == 0) {
+			return;
+		}
+		var tags = Tags.of(context.getLowCardinalityKeyValues()
+			.stream()
+			.map(keyValue -> Tag.of(keyValue.getKey(), keyValue.getValue()))
+			.toList());
+		if (context.getPages() > 0) {
+			DistributionSummary.builder(PAGES)
+				.description("ListEvents pages fetched per operation")
+				.tags(tags)
+				.register(meterRegistry)
+				.record(context.getPages());
+		}
+		DistributionSummary.builder(EVENTS)
+			.description("Events read or written per operation")
+			.tags(tags)
+			.register(meterRegistry)
+			.record(context.getEvents());
+		DistributionSummary.builder(PAYLOAD)
+			.description("UTF-8 size of the message text read or written per operation")
+			.baseUnit("bytes")
+			.tags(tags)
+			.register(meterRegistry)
+			.record(context.getPayloadBytes());
+	}
+
+	@Override
+	public boolean supportsContext(Observation.Context context) {
+		return context instanceof AgentCoreMemoryObservationContext;
+	}
+
+}
@@ -0,0 +1,73 @@
+package org.springaicommunity.agentcore.memory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * Counts AWS SDK retries and throttled attempts of the AgentCore Memory client. Retries
+ * happen inside a single SDK call and are invisible to the repository, so they are
+ * counted per attempt here and tagged with the SDK operation name.
+ */
+public class AgentCoreMemoryMetricsInterceptor implements ExecutionInterceptor {
+
+	public static final String RETRIES = "agentcore.memory.sdk.retries";
+
+	public static final String THROTTLES = "agentcore.memory.sdk.throttles";
+
+	private static final ExecutionAttribute<Integer> ATTEMPTS = new ExecutionAttribute<>(
+			"AgentCoreMemoryMetricsInterceptor.Attempts");
+
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	private final MeterRegistry meterRegistry;
+
+	public AgentCoreMemoryMetricsInterceptor(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+		executionAttributes.putAttribute(ATTEMPTS, executionAttributes.getOptionalAttribute(ATTEMPTS).orElse(0) + 1);
+	}
+
+	@Override
+	public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+		if (context.httpResponse().statusCode() == TOO_MANY_REQUESTS) {
+			Counter.builder(THROTTLES)
+				.description("AgentCore Memory attempts rejected with HTTP 429")
+				.tag(AgentCoreMemoryObservationContext.OPERATION, operationName(executionAttributes))
+				.register(meterRegistry)
+				.increment();
+		}
+	}
+
+	@Override
+	public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+		recordRetries(executionAttributes, "success");
+	}
+
+	@Override
+	public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+		recordRetries(executionAttributes, AgentCoreMemoryObservationContext.outcome(context.exception()));
+	}
+
+	private void recordRetries(ExecutionAttributes executionAttributes, String outcome) {
+		int retries = executionAttributes.getOptionalAttribute(ATTEMPTS).orElse(1) - 1;
+		Counter.builder(RETRIES)
+			.description("AWS SDK retries of AgentCore Memory calls")
+			.tag(AgentCoreMemoryObservationContext.OPERATION, operationName(executionAttributes))
+			.tag(AgentCoreMemoryObservationContext.OUTCOME, outcome)
+			.register(meterRegistry)
+			.increment(retries);
+	}
+
+	private static String operationName(ExecutionAttributes executionAttributes) {
+		return executionAttributes.getOptionalAttribute(SdkExecutionAttribute.OPERATION_NAME).orElse("unknown");
+	}
+
+}
@@ -0,0 +1,143 @@
+package org.springaicommunity.agentcore.memory;
+
+import io.micrometer.observation.Observation;
+import org.springframework.ai.chat.messages.Message;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.bedrockagentcore.model.Event;
+import software.amazon.awssdk.services.bedrockagentcore.model.ThrottledException;
+
+import java.util.List;
+
+/**
+ * Observation context of one {@link AgentCoreShortMemoryRepository} operation. Besides
+ * the timing recorded by the observation itself, it accumulates the number of pages and
+ * events read or written and the size of their text payloads, which
+ * {@link AgentCoreMemoryMeterObservationHandler} turns into distribution summaries.
+ */
+public class AgentCoreMemoryObservationContext extends Observation.Context {
+
+	public static final String OBSERVATION_NAME = "agentcore.memory.operations";
+
+	public static final String OPERATION = "operation";
+
+	public static final String OUTCOME = "outcome";
+
+	private final String operation;
+
+	private final String conversationId;
+
+	private volatile boolean recording;
+
+	private int pages;
+
+	private int events;
+
+	private long payloadBytes;
+
+	public AgentCoreMemoryObservationContext(String operation, String conversationId) {
+		this.operation = operation;
+		this.conversationId = conversationId;
+	}
+
+	public String getOperation() {
+		return operation;
+	}
+
+	public String getConversationId() {
+		return conversationId;
+	}
+
+	public synchronized int getPages() {
+		return pages;
+	}
+
+	public synchronized int getEvents() {
+		return events;
+	}
+
+	public synchronized long getPayloadBytes() {
+		return payloadBytes;
+	}
+
+	void setRecording(boolean recording) {
+		this.recording = recording;
+	}
+
+	/**
+	 * Records one page of events returned by {@code ListEvents}. Pages may be recorded
+	 * from a prefetch thread.
+	 */
+	void recordPage(List<Event> pageEvents) {
+		if (!recording) {
+			return;
+		}
+		long bytes = 0;
+		for (var event : pageEvents) {
+			for (var payload : event.payload()) {
+				if (payload.conversational() != null && payload.conversational().content() != null) {
+					bytes += utf8Length(payload.conversational().content().text());
+				}
+			}
+		}
+		synchronized (this) {
+			pages++;
+			events += pageEvents.size();
+			payloadBytes += bytes;
+		}
+	}
+
+	/**
+	 * Records one event written with the given messages.
+	 */
+	void recordWrite(List<Message> messages) {
+		if (!recording) {
+			return;
+		}
+		long bytes = 0;
+		for (var message : messages) {
+			bytes += utf8Length(message.getText());
+		}
+		synchronized (this) {
+			events++;
+			payloadBytes += bytes;
+		}
+	}
+
+	/**
+	 * Classifies a failure as {@code throttled} or {@code error}, looking through the
+	 * {@link AgentCoreMemoryException} wrapping SDK exceptions.
+	 */
+	static String outcome(Throwable exception) {
+		var cause = exception instanceof AgentCoreMemoryException && exception.getCause() != null ? exception.getCause()
+				: exception;
+		boolean throttled = cause instanceof ThrottledException
+				|| cause instanceof AwsServiceException serviceException && serviceException.isThrottlingException();
+		return throttled ? "throttled" : "error";
+	}
+
+	private static long utf8Length(String text) {
+		if (text == null) {
+			return 0;
+		}
+		long length = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				length++;
+			}
+			else if (c < 0x800) {
+				length += 2;
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+					&& Character.isLowSurrogate(text.charAt(i + 1))) {
+				length += 4;
+				i++;
+			}
+			else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+}
@@ -1,23 +1,58 @@
 package org.springaicommunity.agentcore.memory;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.bedrockagentcore.BedrockAgentCoreClient;
 import software.amazon.awssdk.services.bedrockagentcore.model.*;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 
 	private static final Logger logger = LoggerFactory.getLogger(AgentCoreShortMemoryRepository.class);
 
+	/**
+	 * Default number of conversations loaded at the same time by
+	 * {@link #findByConversationIds(Collection)}.
+	 */
+	public static final int DEFAULT_BATCH_CONCURRENCY = 8;
+
+	/**
+	 * Number of conversations whose stored messages are tracked for
+	 * {@link #setDeltaWrites(boolean) delta writes}.
+	 */
+	static final int MAX_TRACKED_CONVERSATIONS = 1000;
+
 	private final BedrockAgentCoreClient client;
 
 	private final String memoryId;
@@ -30,51 +65,211 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 
 	private final boolean ignoreUnknownRoles;
 
+	private final Executor prefetchExecutor;
+
+	private final Integer maxMessages;
+
+	private final ConversationIndex conversationIndex;
+
+	private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+	private final ConcurrentMap<ActorAndSession, CompletableFuture<List<Message>>> inFlightReads = new ConcurrentHashMap<>();
+
+	private volatile boolean coalesceReads = true;
+
+	private final PersistedMessages persistedMessages = new PersistedMessages(MAX_TRACKED_CONVERSATIONS);
+
+	private volatile boolean deltaWrites;
+
 	public AgentCoreShortMemoryRepository(String memoryId, BedrockAgentCoreClient client, Integer totalEventsLimit,
 			String defaultSession, int pageSize, boolean ignoreUnknownRoles) {
+		this(memoryId, client, totalEventsLimit, defaultSession, pageSize, ignoreUnknownRoles, null, null, null);
+	}
+
+	/**
+	 * Creates a repository that prefetches the next page of events on the given executor
+	 * while the current page is converted to messages. Pages are fetched strictly one
+	 * after another when {@code prefetchExecutor} is {@code null}. When
+	 * {@code maxMessages} is set, {@link #findByConversationId(String)} only returns the
+	 * most recent messages, see {@link #findRecentMessages(String, int)}. A
+	 * {@code conversationIndex} enables {@link #findConversationIds()}.
+	 */
+	public AgentCoreShortMemoryRepository(String memoryId, BedrockAgentCoreClient client, Integer totalEventsLimit,
+			String defaultSession, int pageSize, boolean ignoreUnknownRoles, Executor prefetchExecutor,
+			Integer maxMessages, ConversationIndex conversationIndex) {
 		this.memoryId = validateMemoryId(memoryId);
 		this.client = client;
 		this.totalEventsLimit = totalEventsLimit;
 		this.defaultSession = defaultSession;
 		this.pageSize = pageSize;
 		this.ignoreUnknownRoles = ignoreUnknownRoles;
+		this.prefetchExecutor = prefetchExecutor;
+		this.maxMessages = maxMessages;
+		this.conversationIndex = conversationIndex;
+	}
+
+	/**
+	 * Sets the registry used to observe repository operations. Each call to
+	 * {@link #findByConversationId(String)}, {@link #findRecentMessages(String, int)},
+	 * {@link #saveAll(String, List)} and {@link #deleteByConversationId(String)} is
+	 * observed as {@value AgentCoreMemoryObservationContext#OBSERVATION_NAME}, tagged
+	 * with its {@code operation} and {@code outcome}, and event pagination is observed as
+	 * a nested {@code fetch} operation.
+	 */
+	public void setObservationRegistry(ObservationRegistry observationRegistry) {
+		this.observationRegistry = observationRegistry;
+	}
+
+	/**
+	 * Sets whether concurrent {@link #findByConversationId(String)} calls for the same
+	 * actor and session share a single fetch. Enabled by default. A call that arrives
+	 * while another one is fetching the same conversation waits for that fetch and gets a
+	 * copy of its result, or its exception. Writes and deletes detach the in-flight fetch
+	 * of their conversation, so reads issued after a write never join a fetch that
+	 * started before it.
+	 */
+	public void setCoalesceReads(boolean coalesceReads) {
+		this.coalesceReads = coalesceReads;
+	}
+
+	/**
+	 * Sets whether {@link #saveAll(String, List)} only writes the messages that are not
+	 * stored yet. Disabled by default. {@code MessageWindowChatMemory} saves the whole
+	 * window of a conversation on every turn, made of the message instances it just read
+	 * followed by the new ones. The leading messages that are the very instances last
+	 * read or written for the conversation are skipped, and only the messages after them
+	 * are appended as a new event. Saving a conversation that was neither read nor
+	 * written recently by this repository, or with messages that are equal to but not the
+	 * same instances as the stored ones, appends all given messages.
+	 */
+	public void setDeltaWrites(boolean deltaWrites) {
+		this.deltaWrites = deltaWrites;
 	}
 
 	record ActorAndSession(String actor, String session) {
 	}
 
+	/**
+	 * History of one conversation as returned by
+	 * {@link #findByConversationIds(Collection, int)}.
+	 */
+	public record ConversationMessages(String conversationId, List<Message> messages) {
+	}
+
+	/**
+	 * Returns the conversation ids recorded in the local {@link ConversationIndex}. No
+	 * remote call is made; use {@link #reconcileConversationIds()} to pick up
+	 * conversations written by other processes.
+	 * @throws UnsupportedOperationException if no conversation index is configured
+	 */
 	@Override
 	public List<String> findConversationIds() {
-		throw new UnsupportedOperationException();
+		if (conversationIndex == null) {
+			throw new UnsupportedOperationException("No conversation index configured");
+		}
+		return conversationIndex.conversationIds();
+	}
+
+	/**
+	 * Rebuilds the local conversation index from AgentCore's actor and session listings.
+	 * @return the number of conversations found
+	 */
+	public int reconcileConversationIds() {
+		if (conversationIndex == null) {
+			throw new UnsupportedOperationException("No conversation index configured");
+		}
+		logger.debug("Reconciling conversation index for memory: {}", memoryId);
+
+		try {
+			var conversationIds = new ArrayList<String>();
+			String actorsToken = null;
+			do {
+				var actorsResponse = client.listActors(ListActorsRequest.builder()
+					.memoryId(memoryId)
+					.maxResults(pageSize)
+					.nextToken(actorsToken)
+					.build());
+				for (var actor : actorsResponse.actorSummaries()) {
+					String sessionsToken = null;
+					do {
+						var sessionsResponse = client.listSessions(ListSessionsRequest.builder()
+							.memoryId(memoryId)
+							.actorId(actor.actorId())
+							.maxResults(pageSize)
+							.nextToken(sessionsToken)
+							.build());
+						sessionsResponse.sessionSummaries()
+							.forEach(session -> conversationIds
+								.add(conversationId(new ActorAndSession(actor.actorId(), session.sessionId()))));
+						sessionsToken = sessionsResponse.nextToken();
+					}
+					while (sessionsToken != null);
+				}
+				actorsToken = actorsResponse.nextToken();
+			}
+			while (actorsToken != null);
+
+			conversationIndex.replaceAll(conversationIds);
+			logger.debug("Reconciled {} conversations for memory: {}", conversationIds.size(), memoryId);
+			return conversationIds.size();
+		}
+		catch (SdkException e) {
+			logger.error("Failed to reconcile conversation index for memory: {}", memoryId, e);
+			throw new AgentCoreMemoryException("Failed to reconcile conversation index for memory: " + memoryId, e);
+		}
 	}
 
 	@Override
 	public List<Message> findByConversationId(String conversationId) {
 		validateConversationId(conversationId);
+		return observe("find", conversationId, context -> {
+			if (!coalesceReads) {
+				return loadMessages(conversationId, context);
+			}
+			var actorAndSession = actorAndSession(conversationId);
+			var fetch = new CompletableFuture<List<Message>>();
+			var inFlight = inFlightReads.putIfAbsent(actorAndSession, fetch);
+			if (inFlight != null) {
+				logger.debug("Joining in-flight fetch for conversation: {}", conversationId);
+				return new ArrayList<>(await(inFlight));
+			}
+			try {
+				var messages = loadMessages(conversationId, context);
+				fetch.complete(messages);
+				return new ArrayList<>(messages);
+			}
+			catch (Throwable e) {
+				// Errors too, or readers that joined this fetch would wait forever
+				fetch.completeExceptionally(e);
+				throw e;
+			}
+			finally {
+				inFlightReads.remove(actorAndSession, fetch);
+			}
+		});
+	}
+
+	private List<Message> loadMessages(String conversationId, AgentCoreMemoryObservationContext context) {
+		if (maxMessages != null) {
+			return recentMessages(conversationId, maxMessages, context);
+		}
 		logger.debug("Finding messages for conversation: {}", conversationId);
 
 		try {
 			var actorAndSession = actorAndSession(conversationId);
-			var allEvents = fetchAllEvents(actorAndSession);
-
-			var messages = allEvents.stream()
-				.flatMap(event -> event.payload()
-					.stream()
-					.map(payload -> (Message) switch (payload.conversational().role()) {
-						case ASSISTANT -> new AssistantMessage(payload.conversational().content().text());
-						case USER -> new UserMessage(payload.conversational().content().text());
-						default -> {
-							if (ignoreUnknownRoles) {
-								logger.warn("Ignoring unknown role: {}", payload.conversational().role());
-								yield null;
-							}
-							else {
-								throw new IllegalStateException("Unsupported role: " + payload.conversational().role());
-							}
-						}
-					}))
-				.filter(Objects::nonNull)
-				.collect(java.util.stream.Collectors.toList());
+			var known = deltaWrites ? persistedMessages.get(actorAndSession) : null;
+			var order = new ListingOrder();
+			var eventMessages = new ArrayList<List<Message>>();
+			fetchAllEvents(actorAndSession, events -> {
+				order.observe(events);
+				events.forEach(event -> eventMessages.add(toMessages(List.of(event))));
+			});
+			if (order.isNewestFirst()) {
+				Collections.reverse(eventMessages);
+			}
+			var messages = new ArrayList<Message>();
+			eventMessages.forEach(messages::addAll);
+			recordStoredMessages(actorAndSession, known, messages);
 
 			logger.debug("Retrieved {} messages for conversation: {}", messages.size(), conversationId);
 			return messages;
@@ -85,35 +280,243 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 		}
 	}
 
-	private List<Event> fetchAllEvents(ActorAndSession actorAndSession) {
-		var allEvents = new java.util.ArrayList<Event>();
-		var nextToken = (String) null;
-		int requestPageSize = totalEventsLimit != null ? Math.min(pageSize, totalEventsLimit) : pageSize;
+	/**
+	 * Returns the most recent {@code maxMessages} messages of a conversation in
+	 * chronological order.
+	 *
+	 * <p>
+	 * The listing order is told from the first event timestamps that differ. When
+	 * AgentCore returns events newest-first, as it does, only as many pages as needed to
+	 * fill the window are fetched and the window is reversed, so the read cost is bounded
+	 * by the window rather than by the conversation length. Events listed oldest-first,
+	 * or whose order cannot be told, are walked to the end while only the trailing window
+	 * is kept in memory. Like {@link #findByConversationId(String)}, at most
+	 * {@code total-events-limit} events are read.
+	 */
+	public List<Message> findRecentMessages(String conversationId, int maxMessages) {
+		validateConversationId(conversationId);
+		if (maxMessages <= 0) {
+			throw new IllegalArgumentException("MaxMessages must be greater than zero");
+		}
+		return observe("find-recent", conversationId, context -> recentMessages(conversationId, maxMessages, context));
+	}
+
+	private List<Message> recentMessages(String conversationId, int maxMessages,
+			AgentCoreMemoryObservationContext context) {
+		logger.debug("Finding last {} messages for conversation: {}", maxMessages, conversationId);
+
+		var actorAndSession = actorAndSession(conversationId);
+		var known = deltaWrites ? persistedMessages.get(actorAndSession) : null;
+		int remaining = totalEventsLimit != null ? totalEventsLimit : Integer.MAX_VALUE;
+		int requestPageSize = Math.min(pageSize, remaining);
+		var window = new MessageWindow(maxMessages);
+		var order = new ListingOrder();
+		var undecided = new ArrayList<Event>();
 
 		try {
+			String nextToken = null;
 			do {
-				var requestBuilder = ListEventsRequest.builder()
-					.actorId(actorAndSession.actor())
-					.sessionId(actorAndSession.session())
-					.memoryId(memoryId)
-					.includePayloads(true)
-					.maxResults(requestPageSize);
+				var page = listEvents(actorAndSession, requestPageSize, nextToken, context);
+				var events = page.events().size() > remaining ? page.events().subList(0, remaining) : page.events();
+				remaining -= events.size();
+				nextToken = remaining > 0 ? page.nextToken() : null;
+
+				order.observe(events);
+				if (!order.isKnown()) {
+					undecided.addAll(events);
+					continue;
+				}
+				if (!undecided.isEmpty()) {
+					undecided.addAll(events);
+					events = List.copyOf(undecided);
+					undecided.clear();
+				}
+				if (order.isNewestFirst()) {
+					for (var event : events) {
+						window.addOlder(toMessages(List.of(event)));
+						if (window.isFull()) {
+							break;
+						}
+					}
+					if (window.isFull()) {
+						break;
+					}
+				}
+				else {
+					events.forEach(event -> window.addNewer(toMessages(List.of(event))));
+				}
+			}
+			while (nextToken != null);
+			// Events whose order could not be told are taken to be listed oldest-first
+			undecided.forEach(event -> window.addNewer(toMessages(List.of(event))));
+		}
+		catch (SdkException e) {
+			logger.error("Failed to retrieve messages for conversation: {}", conversationId, e);
+			throw new AgentCoreMemoryException("Failed to retrieve messages for conversation: " + conversationId, e);
+		}
+
+		var messages = window.toList();
+		recordStoredMessages(actorAndSession, known, messages);
+		logger.debug("Retrieved {} recent messages for conversation: {}", messages.size(), conversationId);
+		return messages;
+	}
+
+	/**
+	 * Records the messages just read as those stored for the conversation, unless a write
+	 * or another read recorded newer ones while they were fetched.
+	 */
+	private void recordStoredMessages(ActorAndSession actorAndSession, Set<Message> known, List<Message> messages) {
+		if (deltaWrites) {
+			persistedMessages.replace(actorAndSession, known, messages);
+		}
+	}
+
+	/**
+	 * Returns the messages of a conversation as a lazily paginated stream. The next page
+	 * of events is only requested when the consumer advances past the current one, so
+	 * long histories can be scanned in constant memory and abandoned early, e.g. with
+	 * {@link Stream#limit(long)} or {@link Stream#takeWhile}. The
+	 * {@code total-events-limit} is honoured like in
+	 * {@link #findByConversationId(String)}. Messages are streamed newest-first, the
+	 * reverse of {@link #findByConversationId(String)}: events in the order AgentCore
+	 * lists them, and the messages of an event from its last to its first.
+	 */
+	public Stream<Message> streamByConversationId(String conversationId) {
+		validateConversationId(conversationId);
+		logger.debug("Streaming messages for conversation: {}", conversationId);
+
+		int requestPageSize = totalEventsLimit != null ? Math.min(pageSize, totalEventsLimit) : pageSize;
+		var pages = new EventPages(actorAndSession(conversationId), requestPageSize);
+		var events = StreamSupport
+			.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+			.flatMap(List::stream);
+		if (totalEventsLimit != null) {
+			events = events.limit(totalEventsLimit);
+		}
+		return events.flatMap(event -> {
+			var messages = new ArrayList<>(toMessages(List.of(event)));
+			Collections.reverse(messages);
+			return messages.stream();
+		});
+	}
+
+	/**
+	 * Reactive variant of {@link #streamByConversationId(String)}. Pages are requested on
+	 * the bounded elastic scheduler as downstream demand arrives, and cancelling the
+	 * subscription stops further requests.
+	 */
+	public Flux<Message> fluxByConversationId(String conversationId) {
+		return Flux.defer(() -> Flux.fromStream(streamByConversationId(conversationId)))
+			.subscribeOn(Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Loads the histories of several conversations concurrently, with at most
+	 * {@value #DEFAULT_BATCH_CONCURRENCY} loads in flight.
+	 * @see #findByConversationIds(Collection, int)
+	 */
+	public Flux<ConversationMessages> findByConversationIds(Collection<String> conversationIds) {
+		return findByConversationIds(conversationIds, DEFAULT_BATCH_CONCURRENCY);
+	}
+
+	/**
+	 * Loads the histories of several conversations concurrently and emits each one as
+	 * soon as it is complete, so results arrive in completion order rather than in the
+	 * order of {@code conversationIds}. Each conversation is read like
+	 * {@link #findByConversationId(String)}, all loads share this repository's client and
+	 * its connection pool, and at most {@code maxConcurrency} loads run at a time. The
+	 * first failing load terminates the flux with its {@link AgentCoreMemoryException}
+	 * and cancels the remaining ones.
+	 */
+	public Flux<ConversationMessages> findByConversationIds(Collection<String> conversationIds, int maxConcurrency) {
+		if (conversationIds == null) {
+			throw new IllegalArgumentException("ConversationIds cannot be null");
+		}
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("MaxConcurrency must be greater than zero");
+		}
+		conversationIds.forEach(this::validateConversationId);
+		logger.debug("Finding messages for {} conversations", conversationIds.size());
+
+		return Flux.fromIterable(conversationIds)
+			.distinct()
+			.flatMap(conversationId -> Mono
+				.fromCallable(() -> new ConversationMessages(conversationId, findByConversationId(conversationId)))
+				.subscribeOn(Schedulers.boundedElastic()), maxConcurrency);
+	}
+
+	private List<Message> toMessages(List<Event> events) {
+		return events.stream()
+			.flatMap(event -> event.payload()
+				.stream()
+				.map(payload -> (Message) switch (payload.conversational().role()) {
+					case ASSISTANT -> new AssistantMessage(payload.conversational().content().text());
+					case USER -> new UserMessage(payload.conversational().content().text());
+					default -> {
+						if (ignoreUnknownRoles) {
+							logger.warn("Ignoring unknown role: {}", payload.conversational().role());
+							yield null;
+						}
+						else {
+							throw new IllegalStateException("Unsupported role: " + payload.conversational().role());
+						}
+					}
+				}))
+			.filter(Objects::nonNull)
+			.toList();
+	}
+
+	/**
+	 * Walks all pages of events for the given actor and session, handing each page to the
+	 * consumer in order. When a prefetch executor is configured, page N+1 is requested as
+	 * soon as page N's {@code nextToken} is known, so the consumer's work overlaps with
+	 * the next round trip.
+	 */
+	private void fetchAllEvents(ActorAndSession actorAndSession, Consumer<List<Event>> pageConsumer) {
+		int requestPageSize = totalEventsLimit != null ? Math.min(pageSize, totalEventsLimit) : pageSize;
+		int limit = totalEventsLimit != null ? totalEventsLimit : Integer.MAX_VALUE;
+		observe("fetch", conversationId(actorAndSession), context -> {
+			fetchEvents(actorAndSession, requestPageSize, limit, null, context, pageConsumer);
+			return null;
+		});
+	}
 
-				if (nextToken != null) {
-					requestBuilder.nextToken(nextToken);
+	private void fetchEvents(ActorAndSession actorAndSession, int requestPageSize, int limit,
+			ListEventsResponse firstPage, AgentCoreMemoryObservationContext context,
+			Consumer<List<Event>> pageConsumer) {
+		int remaining = limit;
+
+		try {
+			var page = firstPage != null ? firstPage : listEvents(actorAndSession, requestPageSize, null, context);
+			while (true) {
+				var events = page.events();
+				var nextToken = page.nextToken();
+				boolean limitReached = events.size() >= remaining;
+				boolean hasMore = nextToken != null && !limitReached;
+
+				CompletableFuture<ListEventsResponse> nextPage = null;
+				if (hasMore && prefetchExecutor != null) {
+					nextPage = CompletableFuture.supplyAsync(
+							() -> listEvents(actorAndSession, requestPageSize, nextToken, context), prefetchExecutor);
 				}
 
-				var listEventsResponse = client.listEvents(requestBuilder.build());
-				allEvents.addAll(listEventsResponse.events());
-				nextToken = listEventsResponse.nextToken();
+				try {
+					pageConsumer.accept(limitReached ? events.subList(0, remaining) : events);
+				}
+				catch (RuntimeException e) {
+					if (nextPage != null) {
+						nextPage.cancel(true);
+					}
+					throw e;
+				}
 
-				if (totalEventsLimit != null && allEvents.size() >= totalEventsLimit) {
-					return allEvents.size() <= totalEventsLimit ? allEvents : allEvents.subList(0, totalEventsLimit);
+				if (!hasMore) {
+					return;
 				}
+				remaining -= events.size();
+				page = nextPage != null ? await(nextPage)
+						: listEvents(actorAndSession, requestPageSize, nextToken, context);
 			}
-			while (nextToken != null);
-
-			return allEvents;
 		}
 		catch (SdkException e) {
 			logger.error("Failed to fetch events for actor: {}, session: {}", actorAndSession.actor(),
@@ -122,6 +525,38 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 		}
 	}
 
+	private ListEventsResponse listEvents(ActorAndSession actorAndSession, int maxResults, String nextToken,
+			AgentCoreMemoryObservationContext context) {
+		var requestBuilder = ListEventsRequest.builder()
+			.actorId(actorAndSession.actor())
+			.sessionId(actorAndSession.session())
+			.memoryId(memoryId)
+			.includePayloads(true)
+			.maxResults(maxResults);
+
+		if (nextToken != null) {
+			requestBuilder.nextToken(nextToken);
+		}
+
+		var page = client.listEvents(requestBuilder.build());
+		if (context != null) {
+			context.recordPage(page.events());
+		}
+		return page;
+	}
+
+	private <T> T await(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new AgentCoreMemoryException("Failed to fetch events", e.getCause());
+		}
+	}
+
 	@Override
 	public void saveAll(String conversationId, List<Message> messages) {
 		validateConversationId(conversationId);
@@ -130,12 +565,21 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 			return;
 		}
 
+		observe("save", conversationId, context -> {
+			save(conversationId, messages, context);
+			return null;
+		});
+	}
+
+	private void save(String conversationId, List<Message> messages, AgentCoreMemoryObservationContext context) {
 		logger.debug("Saving {} messages for conversation: {}", messages.size(), conversationId);
 
 		try {
 			var actorAndSession = actorAndSession(conversationId);
 
-			var payloads = messages.stream().map(message -> {
+			var savedMessages = new ArrayList<Message>(messages.size());
+			var payloads = new ArrayList<PayloadType>(messages.size());
+			for (var message : messages) {
 				Role role;
 
 				if (message instanceof AssistantMessage) {
@@ -147,7 +591,7 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 				else {
 					if (ignoreUnknownRoles) {
 						logger.warn("Ignoring unknown message type: {}", message.getClass().getSimpleName());
-						return null;
+						continue;
 					}
 					else {
 						throw new IllegalStateException(
@@ -157,19 +601,37 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 
 				var content = Content.builder().text(message.getText()).build();
 				var conversational = Conversational.builder().content(content).role(role).build();
-				return PayloadType.builder().conversational(conversational).build();
-			}).filter(Objects::nonNull).toList();
+				savedMessages.add(message);
+				payloads.add(PayloadType.builder().conversational(conversational).build());
+			}
+
+			int stored = deltaWrites
+					? PersistedMessages.storedPrefix(persistedMessages.get(actorAndSession), savedMessages) : 0;
+			if (stored == payloads.size()) {
+				logger.debug("No new messages to save for conversation: {}", conversationId);
+				return;
+			}
+			var newMessages = savedMessages.subList(stored, savedMessages.size());
 
 			var createEventRequest = CreateEventRequest.builder()
 				.memoryId(memoryId)
 				.actorId(actorAndSession.actor())
 				.sessionId(actorAndSession.session())
-				.payload(payloads)
+				.payload(payloads.subList(stored, payloads.size()))
 				.eventTimestamp(Instant.now())
 				.build();
 
 			client.createEvent(createEventRequest);
-			logger.debug("Successfully saved {} messages for conversation: {}", messages.size(), conversationId);
+			inFlightReads.remove(actorAndSession);
+			if (deltaWrites) {
+				persistedMessages.put(actorAndSession, savedMessages);
+			}
+			context.recordWrite(newMessages);
+			if (conversationIndex != null) {
+				conversationIndex.add(conversationId(actorAndSession));
+			}
+			logger.debug("Successfully saved {} of {} messages for conversation: {}", newMessages.size(),
+					messages.size(), conversationId);
 		}
 		catch (SdkException e) {
 			logger.error("Failed to save messages for conversation: {}", conversationId, e);
@@ -180,6 +642,13 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 	@Override
 	public void deleteByConversationId(String conversationId) {
 		validateConversationId(conversationId);
+		observe("delete", conversationId, context -> {
+			delete(conversationId, context);
+			return null;
+		});
+	}
+
+	private void delete(String conversationId, AgentCoreMemoryObservationContext context) {
 		logger.debug("Deleting conversation: {}", conversationId);
 
 		try {
@@ -194,6 +663,7 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 				.build();
 
 			var events = client.listEvents(listEventsRequest).events();
+			context.recordPage(events);
 
 			events.forEach(event -> client.deleteEvent(DeleteEventRequest.builder()
 				.memoryId(memoryId)
@@ -201,6 +671,11 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 				.sessionId(actorAndSession.session())
 				.eventId(event.eventId())
 				.build()));
+			inFlightReads.remove(actorAndSession);
+			persistedMessages.remove(actorAndSession);
+			if (conversationIndex != null) {
+				conversationIndex.remove(conversationId(actorAndSession));
+			}
 
 			logger.debug("Successfully deleted {} events for conversation: {}", events.size(), conversationId);
 		}
@@ -210,6 +685,33 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 		}
 	}
 
+	private <T> T observe(String operation, String conversationId,
+			Function<AgentCoreMemoryObservationContext, T> action) {
+		var context = new AgentCoreMemoryObservationContext(operation, conversationId);
+		var observation = Observation
+			.createNotStarted(AgentCoreMemoryObservationContext.OBSERVATION_NAME, () -> context, observationRegistry)
+			.contextualName("agentcore.memory " + operation)
+			.lowCardinalityKeyValue(AgentCoreMemoryObservationContext.OPERATION, operation)
+			.highCardinalityKeyValue("conversation.id", conversationId)
+			.start();
+		context.setRecording(!observation.isNoop());
+
+		try (var scope = observation.openScope()) {
+			T result = action.apply(context);
+			observation.lowCardinalityKeyValue(AgentCoreMemoryObservationContext.OUTCOME, "success");
+			return result;
+		}
+		catch (RuntimeException e) {
+			observation.lowCardinalityKeyValue(AgentCoreMemoryObservationContext.OUTCOME,
+					AgentCoreMemoryObservationContext.outcome(e));
+			observation.error(e);
+			throw e;
+		}
+		finally {
+			observation.stop();
+		}
+	}
+
 	ActorAndSession actorAndSession(String conversationId) {
 		if (conversationId.contains(":")) {
 			var parts = conversationId.split(":");
@@ -218,6 +720,15 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 		return new ActorAndSession(conversationId, defaultSession);
 	}
 
+	/**
+	 * Inverse of {@link #actorAndSession(String)}: conversations in the default session
+	 * are identified by the actor alone.
+	 */
+	String conversationId(ActorAndSession actorAndSession) {
+		return actorAndSession.session().equals(defaultSession) ? actorAndSession.actor()
+				: actorAndSession.actor() + ":" + actorAndSession.session();
+	}
+
 	private String validateMemoryId(String memoryId) {
 		if (memoryId == null || memoryId.trim().isEmpty()) {
 			throw new IllegalArgumentException("MemoryId cannot be null or empty");
@@ -231,4 +742,127 @@ public class AgentCoreShortMemoryRepository implements ChatMemoryRepository {
 		}
 	}
 
+	/**
+	 * Iterates over the pages of events of one conversation, requesting each page only
+	 * when it is asked for.
+	 */
+	private final class EventPages implements Iterator<List<Event>> {
+
+		private final ActorAndSession actorAndSession;
+
+		private final int requestPageSize;
+
+		private String nextToken;
+
+		private boolean exhausted;
+
+		EventPages(ActorAndSession actorAndSession, int requestPageSize) {
+			this.actorAndSession = actorAndSession;
+			this.requestPageSize = requestPageSize;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !exhausted;
+		}
+
+		@Override
+		public List<Event> next() {
+			if (exhausted) {
+				throw new NoSuchElementException();
+			}
+			try {
+				var page = listEvents(actorAndSession, requestPageSize, nextToken, null);
+				nextToken = page.nextToken();
+				exhausted = nextToken == null;
+				return page.events();
+			}
+			catch (SdkException e) {
+				exhausted = true;
+				logger.error("Failed to fetch events for actor: {}, session: {}", actorAndSession.actor(),
+						actorAndSession.session(), e);
+				throw new AgentCoreMemoryException("Failed to fetch events", e);
+			}
+		}
+
+	}
+
+	/**
+	 * Order in which AgentCore lists the events of a conversation, told from the first
+	 * event timestamps that differ.
+	 */
+	private static final class ListingOrder {
+
+		private Instant first;
+
+		private Boolean newestFirst;
+
+		void observe(List<Event> events) {
+			for (var event : events) {
+				if (newestFirst != null) {
+					return;
+				}
+				var timestamp = event.eventTimestamp();
+				if (timestamp == null) {
+					continue;
+				}
+				if (first == null) {
+					first = timestamp;
+				}
+				else if (!timestamp.equals(first)) {
+					newestFirst = timestamp.isBefore(first);
+				}
+			}
+		}
+
+		boolean isKnown() {
+			return newestFirst != null;
+		}
+
+		boolean isNewestFirst() {
+			return Boolean.TRUE.equals(newestFirst);
+		}
+
+	}
+
+	/**
+	 * Trailing window of messages, grouped by the event they were stored in.
+	 */
+	private static final class MessageWindow {
+
+		private final ArrayDeque<List<Message>> events = new ArrayDeque<>();
+
+		private final int maxMessages;
+
+		private int size;
+
+		MessageWindow(int maxMessages) {
+			this.maxMessages = maxMessages;
+		}
+
+		void addOlder(List<Message> eventMessages) {
+			events.addFirst(eventMessages);
+			size += eventMessages.size();
+		}
+
+		void addNewer(List<Message> eventMessages) {
+			events.addLast(eventMessages);
+			size += eventMessages.size();
+			while (size - events.peekFirst().size() >= maxMessages) {
+				size -= events.removeFirst().size();
+			}
+		}
+
+		boolean isFull() {
+			return size >= maxMessages;
+		}
+
+		List<Message> toList() {
+			var messages = events.stream().flatMap(List::stream).toList();
+			return messages.size() > maxMessages ? messages.subList(messages.size() - maxMessages, messages.size())
+					: messages;
+		}
+
+	}
+
 }
@@ -1,27 +1,244 @@
 package org.springaicommunity.agentcore.memory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 import software.amazon.awssdk.services.bedrockagentcore.BedrockAgentCoreClient;
+import software.amazon.awssdk.services.bedrockagentcore.model.ListEventsRequest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
 
 @Configuration
+@AutoConfigureAfter(
+		name = { "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+				"org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration",
+				"org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration" })
 @EnableConfigurationProperties(AgentCoreShortMemoryRepositoryConfiguration.class)
 public class AgentCoreShortMemoryRepositoryAutoConfiguration {
 
+	/**
+	 * Name of the executor bean used for the repository's background work.
+	 */
+	public static final String MEMORY_TASK_EXECUTOR_BEAN_NAME = "agentCoreMemoryTaskExecutor";
+
+	/**
+	 * Actor and session listed by warm-up calls, so that they only need the
+	 * {@code ListEvents} permission the repository uses anyway.
+	 */
+	private static final String WARM_UP_ID = "agentcore-warm-up";
+
+	private static final Logger logger = LoggerFactory.getLogger(AgentCoreShortMemoryRepositoryAutoConfiguration.class);
+
 	@Bean
 	@ConditionalOnMissingBean
-	BedrockAgentCoreClient bedrockAgentCoreClient() {
-		return BedrockAgentCoreClient.create();
+	BedrockAgentCoreClient bedrockAgentCoreClient(AgentCoreShortMemoryRepositoryConfiguration configuration,
+			ObjectProvider<ExecutionInterceptor> interceptors) {
+		var local = configuration.local();
+		if (local.enabled()) {
+			logger.info("Using local AgentCore Memory stand-in{}",
+					local.path() != null ? " persisted to " + local.path() : "");
+			return new LocalBedrockAgentCoreClient(local.path() != null ? Path.of(local.path()) : null, local.latency(),
+					local.latencyJitter(), local.throttleRate(), new Random());
+		}
+		return BedrockAgentCoreClientFactory.create(configuration.client(), interceptors.orderedStream().toList());
+	}
+
+	/**
+	 * Bounded executor shared by page prefetching, the circuit breaker's write replay and
+	 * the connection warm-up. Its threads are stopped when the context is closed. It is
+	 * not an autowire candidate, and registered after the application's executor, which
+	 * an {@code Executor} bean would replace.
+	 */
+	@Bean(name = MEMORY_TASK_EXECUTOR_BEAN_NAME, autowireCandidate = false)
+	@ConditionalOnMissingBean(name = MEMORY_TASK_EXECUTOR_BEAN_NAME)
+	ThreadPoolTaskExecutor agentCoreMemoryTaskExecutor(AgentCoreShortMemoryRepositoryConfiguration configuration) {
+		var taskExecution = configuration.taskExecution();
+		var executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("agentcore-memory-");
+		executor.setCorePoolSize(taskExecution.poolSize());
+		executor.setMaxPoolSize(taskExecution.poolSize());
+		executor.setQueueCapacity(taskExecution.queueCapacity());
+		executor.setDaemon(true);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		return executor;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "agentcore.memory.index", name = "enabled", havingValue = "true",
+			matchIfMissing = true)
+	@Conditional(PersistentOrReconciledIndexCondition.class)
+	ConversationIndex conversationIndex(AgentCoreShortMemoryRepositoryConfiguration configuration) {
+		var path = configuration.index().path();
+		return path != null ? new FileConversationIndex(Path.of(path)) : new InMemoryConversationIndex();
 	}
 
 	@Bean
 	@ConditionalOnMissingBean
 	AgentCoreShortMemoryRepository memoryRepository(AgentCoreShortMemoryRepositoryConfiguration configuration,
-			BedrockAgentCoreClient client) {
-		return new AgentCoreShortMemoryRepository(configuration.memoryId(), client, configuration.totalEventsLimit(),
-				configuration.defaultSession(), configuration.pageSize(), configuration.ignoreUnknownRoles());
+			BedrockAgentCoreClient client, ObjectProvider<ConversationIndex> conversationIndex,
+			ObjectProvider<ObservationRegistry> observationRegistry, BeanFactory beanFactory) {
+		var memoryTaskExecutor = memoryTaskExecutor(beanFactory);
+		var repository = new AgentCoreShortMemoryRepository(configuration.memoryId(), client,
+				configuration.totalEventsLimit(), configuration.defaultSession(), configuration.pageSize(),
+				configuration.ignoreUnknownRoles(), configuration.prefetchPages() ? memoryTaskExecutor : null,
+				configuration.maxMessages(), conversationIndex.getIfAvailable());
+		repository.setCoalesceReads(configuration.coalesceReads());
+		repository.setDeltaWrites(configuration.deltaWrites());
+		repository.setObservationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP));
+		return repository;
+	}
+
+	@Bean
+	@Primary
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = "agentcore.memory.circuit-breaker", name = "enabled", havingValue = "true")
+	CircuitBreakingChatMemoryRepository circuitBreakingMemoryRepository(
+			AgentCoreShortMemoryRepositoryConfiguration configuration, AgentCoreShortMemoryRepository memoryRepository,
+			BeanFactory beanFactory) {
+		return new CircuitBreakingChatMemoryRepository(memoryRepository, configuration.circuitBreaker(),
+				memoryTaskExecutor(beanFactory));
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "agentcore.memory.index", name = "reconcile-on-startup", havingValue = "true")
+	ApplicationRunner conversationIndexReconciler(AgentCoreShortMemoryRepository memoryRepository) {
+		return args -> memoryRepository.reconcileConversationIds();
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "agentcore.memory.client", name = "warm-up-connections")
+	ApplicationRunner bedrockAgentCoreClientWarmUp(AgentCoreShortMemoryRepositoryConfiguration configuration,
+			BedrockAgentCoreClient client, BeanFactory beanFactory) {
+		return args -> warmUp(client, configuration.memoryId(), configuration.client().warmUpConnections(),
+				configuration.client().warmUpTimeout(), memoryTaskExecutor(beanFactory));
+	}
+
+	private static Executor memoryTaskExecutor(BeanFactory beanFactory) {
+		return beanFactory.getBean(MEMORY_TASK_EXECUTOR_BEAN_NAME, Executor.class);
+	}
+
+	/**
+	 * Opens up to {@code connections} pooled connections by issuing that many cheap
+	 * concurrent calls, so the first chat turns do not pay for TLS handshakes. Failures
+	 * are only logged, a connection is established either way.
+	 */
+	static void warmUp(BedrockAgentCoreClient client, String memoryId, int connections, Duration timeout,
+			Executor executor) {
+		if (connections <= 0 || memoryId == null) {
+			return;
+		}
+		logger.debug("Warming up {} AgentCore Memory connections", connections);
+		var calls = IntStream.range(0, connections).mapToObj(i -> CompletableFuture.runAsync(() -> {
+			try {
+				client.listEvents(ListEventsRequest.builder()
+					.memoryId(memoryId)
+					.actorId(WARM_UP_ID)
+					.sessionId(WARM_UP_ID)
+					.includePayloads(false)
+					.maxResults(1)
+					.build());
+			}
+			catch (RuntimeException e) {
+				logger.warn("AgentCore Memory warm-up call failed: {}", e.getMessage());
+			}
+		}, executor)).toArray(CompletableFuture[]::new);
+		try {
+			CompletableFuture.allOf(calls).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			logger.warn("AgentCore Memory warm-up did not complete within {}, continuing startup", timeout);
+		}
+		catch (ExecutionException e) {
+			logger.warn("AgentCore Memory warm-up failed", e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Matches when the conversation index outlives a restart, because it is persisted to
+	 * a file or rebuilt from AgentCore at startup. An index kept only in memory would
+	 * silently miss the conversations written before the process started.
+	 */
+	static class PersistentOrReconciledIndexCondition extends AnyNestedCondition {
+
+		PersistentOrReconciledIndexCondition() {
+			super(ConfigurationPhase.REGISTER_BEAN);
+		}
+
+		@ConditionalOnProperty(prefix = "agentcore.memory.index", name = "path")
+		static class Persistent {
+
+		}
+
+		@ConditionalOnProperty(prefix = "agentcore.memory.index", name = "reconcile-on-startup", havingValue = "true")
+		static class Reconciled {
+
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnBean(MeterRegistry.class)
+	static class MemoryMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		AgentCoreMemoryMeterObservationHandler agentCoreMemoryMeterObservationHandler(MeterRegistry meterRegistry) {
+			return new AgentCoreMemoryMeterObservationHandler(meterRegistry);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		AgentCoreMemoryMetricsInterceptor agentCoreMemoryMetricsInterceptor(MeterRegistry meterRegistry) {
+			return new AgentCoreMemoryMetricsInterceptor(meterRegistry);
+		}
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(HealthIndicator.class)
+	@ConditionalOnProperty(prefix = "agentcore.memory.circuit-breaker", name = "enabled", havingValue = "true")
+	static class MemoryHealthConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		AgentCoreMemoryHealthIndicator agentCoreMemoryHealthIndicator(
+				AgentCoreShortMemoryRepositoryConfiguration configuration,
+				CircuitBreakingChatMemoryRepository repository) {
+			return new AgentCoreMemoryHealthIndicator(repository,
+					configuration.circuitBreaker().healthStatusWhenOpen());
+		}
+
 	}
 
 }
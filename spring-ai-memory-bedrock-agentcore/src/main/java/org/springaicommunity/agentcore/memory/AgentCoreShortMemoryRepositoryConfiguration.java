@@ -1,18 +1,210 @@
 package org.springaicommunity.agentcore.memory;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import software.amazon.awssdk.core.retry.RetryMode;
+
+import java.time.Duration;
 
 @ConfigurationProperties(prefix = "agentcore.memory")
 public record AgentCoreShortMemoryRepositoryConfiguration(String memoryId, Integer totalEventsLimit,
-		String defaultSession, int pageSize, boolean ignoreUnknownRoles) {
+		String defaultSession, int pageSize, boolean ignoreUnknownRoles, Boolean prefetchPages, Integer maxMessages,
+		Index index, Client client, CircuitBreaker circuitBreaker, Boolean coalesceReads, Local local,
+		Boolean deltaWrites, TaskExecution taskExecution) {
 
+	@ConstructorBinding
 	public AgentCoreShortMemoryRepositoryConfiguration(String memoryId, Integer totalEventsLimit, String defaultSession,
-			int pageSize, boolean ignoreUnknownRoles) {
+			int pageSize, boolean ignoreUnknownRoles, Boolean prefetchPages, Integer maxMessages, Index index,
+			Client client, CircuitBreaker circuitBreaker, Boolean coalesceReads, Local local, Boolean deltaWrites,
+			TaskExecution taskExecution) {
 		this.memoryId = memoryId;
 		this.totalEventsLimit = totalEventsLimit;
 		this.defaultSession = defaultSession != null ? defaultSession : "default-session";
 		this.pageSize = pageSize > 0 ? pageSize : 100;
 		this.ignoreUnknownRoles = ignoreUnknownRoles;
+		this.prefetchPages = prefetchPages != null ? prefetchPages : Boolean.FALSE;
+		this.maxMessages = maxMessages != null && maxMessages > 0 ? maxMessages : null;
+		this.index = index != null ? index : new Index(null, null, false);
+		this.client = client != null ? client
+				: new Client(null, null, null, null, null, null, null, null, null, 0, null);
+		this.circuitBreaker = circuitBreaker != null ? circuitBreaker
+				: new CircuitBreaker(false, null, null, null, null, null, null, null);
+		this.coalesceReads = coalesceReads != null ? coalesceReads : Boolean.TRUE;
+		this.local = local != null ? local : new Local(false, null, null, null, 0);
+		this.deltaWrites = deltaWrites != null ? deltaWrites : Boolean.FALSE;
+		this.taskExecution = taskExecution != null ? taskExecution : new TaskExecution(null, null);
+	}
+
+	public AgentCoreShortMemoryRepositoryConfiguration(String memoryId, Integer totalEventsLimit, String defaultSession,
+			int pageSize, boolean ignoreUnknownRoles) {
+		this(memoryId, totalEventsLimit, defaultSession, pageSize, ignoreUnknownRoles, null, null, null, null, null,
+				null, null, null, null);
+	}
+
+	/**
+	 * Settings of the local conversation index backing {@code findConversationIds}.
+	 *
+	 * @param enabled whether to maintain the index, defaults to {@code true}
+	 * @param path file to persist the index to; kept in memory only when not set
+	 * @param reconcileOnStartup whether to rebuild the index from AgentCore when the
+	 * application starts
+	 */
+	public record Index(Boolean enabled, String path, boolean reconcileOnStartup) {
+
+		public Index {
+			enabled = enabled != null ? enabled : Boolean.TRUE;
+		}
+
+	}
+
+	/**
+	 * Settings of the {@code BedrockAgentCoreClient} created by the auto-configuration.
+	 * Unset values keep the AWS SDK defaults.
+	 *
+	 * @param httpClient HTTP client implementation; the first one on the classpath
+	 * (Apache, URLConnection, CRT) when not set
+	 * @param maxConnections maximum number of pooled connections (Apache, CRT)
+	 * @param connectionTimeout timeout for establishing a connection
+	 * @param connectionTimeToLive maximum lifetime of a pooled connection (Apache)
+	 * @param connectionMaxIdleTime idle time after which pooled connections are reaped
+	 * (Apache, CRT)
+	 * @param tcpKeepAlive whether to enable TCP keep-alive on pooled connections (Apache)
+	 * @param apiCallTimeout timeout for a complete API call including retries
+	 * @param apiCallAttemptTimeout timeout for a single attempt of an API call
+	 * @param retryMode SDK retry mode, e.g. {@code adaptive-v2} to rate limit the client
+	 * when throttled
+	 * @param warmUpConnections number of connections to open at startup, {@code 0} to
+	 * disable
+	 * @param warmUpTimeout longest time startup waits for the warm-up calls, defaults to
+	 * 10 seconds
+	 */
+	public record Client(HttpClientType httpClient, Integer maxConnections, Duration connectionTimeout,
+			Duration connectionTimeToLive, Duration connectionMaxIdleTime, Boolean tcpKeepAlive,
+			Duration apiCallTimeout, Duration apiCallAttemptTimeout, RetryMode retryMode, int warmUpConnections,
+			Duration warmUpTimeout) {
+
+		public Client {
+			warmUpTimeout = warmUpTimeout != null ? warmUpTimeout : Duration.ofSeconds(10);
+		}
+
+	}
+
+	/**
+	 * Settings of the circuit breaker that keeps chat turns going while AgentCore Memory
+	 * is unavailable.
+	 *
+	 * @param enabled whether to put the breaker in front of the repository
+	 * @param failureThreshold consecutive failed calls that open the breaker, defaults to
+	 * {@code 5}
+	 * @param openDuration how long the breaker stays open before a trial call, defaults
+	 * to 30 seconds
+	 * @param readFallback what reads return while AgentCore Memory is unavailable,
+	 * defaults to {@link ReadFallback#CACHE}
+	 * @param writeFallback what happens to writes while AgentCore Memory is unavailable,
+	 * defaults to {@link WriteFallback#BUFFER}
+	 * @param maxCachedConversations conversations kept in the read cache, defaults to
+	 * {@code 1000}
+	 * @param maxBufferedWrites writes buffered for replay before the oldest are dropped,
+	 * defaults to {@code 1000}
+	 * @param healthStatusWhenOpen health status reported while the breaker is not closed,
+	 * defaults to {@code UP} so that {@code /ping} stays healthy while memory is
+	 * degraded; the breaker state is reported in the health details either way
+	 */
+	public record CircuitBreaker(boolean enabled, Integer failureThreshold, Duration openDuration,
+			ReadFallback readFallback, WriteFallback writeFallback, Integer maxCachedConversations,
+			Integer maxBufferedWrites, String healthStatusWhenOpen) {
+
+		public CircuitBreaker {
+			failureThreshold = failureThreshold != null && failureThreshold > 0 ? failureThreshold : 5;
+			openDuration = openDuration != null ? openDuration : Duration.ofSeconds(30);
+			readFallback = readFallback != null ? readFallback : ReadFallback.CACHE;
+			writeFallback = writeFallback != null ? writeFallback : WriteFallback.BUFFER;
+			maxCachedConversations = maxCachedConversations != null ? maxCachedConversations : 1000;
+			maxBufferedWrites = maxBufferedWrites != null ? maxBufferedWrites : 1000;
+			healthStatusWhenOpen = healthStatusWhenOpen != null ? healthStatusWhenOpen : "UP";
+		}
+
+	}
+
+	/**
+	 * Settings of the executor that prefetches pages, replays buffered writes and warms
+	 * up connections. Tasks that do not fit in its queue run on the calling thread.
+	 *
+	 * @param poolSize number of threads, defaults to {@code 8}
+	 * @param queueCapacity number of tasks waiting for a thread, defaults to {@code 100}
+	 */
+	public record TaskExecution(Integer poolSize, Integer queueCapacity) {
+
+		public TaskExecution {
+			poolSize = poolSize != null && poolSize > 0 ? poolSize : 8;
+			queueCapacity = queueCapacity != null && queueCapacity >= 0 ? queueCapacity : 100;
+		}
+
+	}
+
+	/**
+	 * Settings of the local AgentCore Memory stand-in, see
+	 * {@link LocalBedrockAgentCoreClient}.
+	 *
+	 * @param enabled whether to use the local stand-in instead of AgentCore Memory
+	 * @param path file to persist events to; kept in memory only when not set
+	 * @param latency latency added to every call
+	 * @param latencyJitter upper bound of the random latency added on top of
+	 * {@code latency}
+	 * @param throttleRate fraction of calls rejected with a throttling error, between
+	 * {@code 0} and {@code 1}
+	 */
+	public record Local(boolean enabled, String path, Duration latency, Duration latencyJitter, double throttleRate) {
+	}
+
+	public enum HttpClientType {
+
+		APACHE, URL_CONNECTION, CRT
+
+	}
+
+	/**
+	 * What reads return while AgentCore Memory is unavailable.
+	 */
+	public enum ReadFallback {
+
+		/**
+		 * The last history read or written by this process, or an empty one.
+		 */
+		CACHE,
+
+		/**
+		 * An empty history.
+		 */
+		EMPTY,
+
+		/**
+		 * Fail with an {@link AgentCoreMemoryException}.
+		 */
+		FAIL
+
+	}
+
+	/**
+	 * What happens to writes while AgentCore Memory is unavailable.
+	 */
+	public enum WriteFallback {
+
+		/**
+		 * Buffer the write and replay it once AgentCore Memory is reachable again.
+		 */
+		BUFFER,
+
+		/**
+		 * Drop the write.
+		 */
+		DROP,
+
+		/**
+		 * Fail with an {@link AgentCoreMemoryException}.
+		 */
+		FAIL
+
 	}
 
 }
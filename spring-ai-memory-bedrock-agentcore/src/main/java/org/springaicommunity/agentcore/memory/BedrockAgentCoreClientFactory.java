@@ -0,0 +1,175 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepositoryConfiguration.Client;
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepositoryConfiguration.HttpClientType;
+import org.springframework.util.ClassUtils;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.services.bedrockagentcore.BedrockAgentCoreClient;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds the {@link BedrockAgentCoreClient} used by the memory repository from the
+ * {@code agentcore.memory.client.*} properties. Settings that are not configured keep the
+ * AWS SDK defaults.
+ */
+public final class BedrockAgentCoreClientFactory {
+
+	private static final Logger logger = LoggerFactory.getLogger(BedrockAgentCoreClientFactory.class);
+
+	private static final String APACHE_CLIENT = "software.amazon.awssdk.http.apache.ApacheHttpClient";
+
+	private static final String URL_CONNECTION_CLIENT = "software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient";
+
+	private static final String CRT_CLIENT = "software.amazon.awssdk.http.crt.AwsCrtHttpClient";
+
+	private BedrockAgentCoreClientFactory() {
+	}
+
+	public static BedrockAgentCoreClient create(Client settings) {
+		return create(settings, List.of());
+	}
+
+	/**
+	 * Builds the client with the given execution interceptors, e.g. an
+	 * {@link AgentCoreMemoryMetricsInterceptor}, added in order.
+	 */
+	public static BedrockAgentCoreClient create(Client settings, List<ExecutionInterceptor> interceptors) {
+		var builder = BedrockAgentCoreClient.builder();
+
+		var httpClientType = resolveHttpClientType(settings.httpClient());
+		if (httpClientType != null) {
+			logger.debug("Using {} HTTP client for AgentCore Memory", httpClientType);
+			builder.httpClientBuilder(httpClientBuilder(httpClientType, settings));
+		}
+
+		var overrides = ClientOverrideConfiguration.builder();
+		if (settings.apiCallTimeout() != null) {
+			overrides.apiCallTimeout(settings.apiCallTimeout());
+		}
+		if (settings.apiCallAttemptTimeout() != null) {
+			overrides.apiCallAttemptTimeout(settings.apiCallAttemptTimeout());
+		}
+		if (settings.retryMode() != null) {
+			overrides.retryStrategy(settings.retryMode());
+		}
+		interceptors.forEach(overrides::addExecutionInterceptor);
+		builder.overrideConfiguration(overrides.build());
+
+		return builder.build();
+	}
+
+	static HttpClientType resolveHttpClientType(HttpClientType configured) {
+		if (configured != null) {
+			if (!ClassUtils.isPresent(className(configured), BedrockAgentCoreClientFactory.class.getClassLoader())) {
+				throw new IllegalStateException("HTTP client " + configured + " is configured but "
+						+ className(configured) + " is not on the classpath");
+			}
+			return configured;
+		}
+		for (var candidate : HttpClientType.values()) {
+			if (ClassUtils.isPresent(className(candidate), BedrockAgentCoreClientFactory.class.getClassLoader())) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private static SdkHttpClient.Builder<?> httpClientBuilder(HttpClientType type, Client settings) {
+		return switch (type) {
+			case APACHE -> ApacheClient.builder(settings);
+			case URL_CONNECTION -> UrlConnectionClient.builder(settings);
+			case CRT -> crtHttpClientBuilder(settings);
+		};
+	}
+
+	/**
+	 * The CRT client is configured reflectively so that {@code aws-crt-client} stays an
+	 * application choice rather than a dependency of this module.
+	 */
+	private static SdkHttpClient.Builder<?> crtHttpClientBuilder(Client settings) {
+		try {
+			var crtClass = ClassUtils.forName(CRT_CLIENT, BedrockAgentCoreClientFactory.class.getClassLoader());
+			var crt = (SdkHttpClient.Builder<?>) crtClass.getMethod("builder").invoke(null);
+			var builderClass = crtClass.getMethod("builder").getReturnType();
+			if (settings.maxConnections() != null) {
+				builderClass.getMethod("maxConcurrency", Integer.class).invoke(crt, settings.maxConnections());
+			}
+			invokeDuration(builderClass.getMethod("connectionTimeout", Duration.class), crt,
+					settings.connectionTimeout());
+			invokeDuration(builderClass.getMethod("connectionMaxIdleTime", Duration.class), crt,
+					settings.connectionMaxIdleTime());
+			return crt;
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Failed to configure the AWS CRT HTTP client", e);
+		}
+	}
+
+	private static void invokeDuration(Method setter, Object builder, Duration value)
+			throws ReflectiveOperationException {
+		if (value != null) {
+			setter.invoke(builder, value);
+		}
+	}
+
+	private static String className(HttpClientType type) {
+		return switch (type) {
+			case APACHE -> APACHE_CLIENT;
+			case URL_CONNECTION -> URL_CONNECTION_CLIENT;
+			case CRT -> CRT_CLIENT;
+		};
+	}
+
+	/**
+	 * Kept in a nested class so that the optional Apache client is only loaded when used.
+	 */
+	private static final class ApacheClient {
+
+		static SdkHttpClient.Builder<?> builder(Client settings) {
+			var apache = ApacheHttpClient.builder().useIdleConnectionReaper(true);
+			if (settings.maxConnections() != null) {
+				apache.maxConnections(settings.maxConnections());
+			}
+			if (settings.connectionTimeout() != null) {
+				apache.connectionTimeout(settings.connectionTimeout());
+			}
+			if (settings.connectionTimeToLive() != null) {
+				apache.connectionTimeToLive(settings.connectionTimeToLive());
+			}
+			if (settings.connectionMaxIdleTime() != null) {
+				apache.connectionMaxIdleTime(settings.connectionMaxIdleTime());
+			}
+			if (settings.tcpKeepAlive() != null) {
+				apache.tcpKeepAlive(settings.tcpKeepAlive());
+			}
+			return apache;
+		}
+
+	}
+
+	/**
+	 * Kept in a nested class so that the optional URLConnection client is only loaded
+	 * when used.
+	 */
+	private static final class UrlConnectionClient {
+
+		static SdkHttpClient.Builder<?> builder(Client settings) {
+			var urlConnection = UrlConnectionHttpClient.builder();
+			if (settings.connectionTimeout() != null) {
+				urlConnection.connectionTimeout(settings.connectionTimeout());
+			}
+			return urlConnection;
+		}
+
+	}
+
+}
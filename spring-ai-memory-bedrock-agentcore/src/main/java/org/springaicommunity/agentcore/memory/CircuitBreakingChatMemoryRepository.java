@@ -0,0 +1,318 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepositoryConfiguration.CircuitBreaker;
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepositoryConfiguration.ReadFallback;
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepositoryConfiguration.WriteFallback;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link ChatMemoryRepository} that keeps chat turns going while AgentCore Memory is slow
+ * or unavailable. Calls to the delegate go through an
+ * {@link AgentCoreMemoryCircuitBreaker}; when a call fails with an
+ * {@link AgentCoreMemoryException} or the breaker is open, reads and writes fall back
+ * according to the configured {@link ReadFallback} and {@link WriteFallback}.
+ *
+ * <p>
+ * Like {@code MessageWindowChatMemory} expects, each {@link #saveAll(String, List)} holds
+ * the whole current history of a conversation, so the fallback cache and reads of a
+ * conversation with buffered writes return the most recently saved messages. Buffered
+ * writes are replayed in order on the replay executor once a call succeeds again; new
+ * writes to a conversation with buffered writes are buffered behind them so that
+ * AgentCore receives them in order. Deletes are never buffered; they fail fast while the
+ * breaker is open.
+ */
+public class CircuitBreakingChatMemoryRepository implements ChatMemoryRepository {
+
+	private static final Logger logger = LoggerFactory.getLogger(CircuitBreakingChatMemoryRepository.class);
+
+	private final ChatMemoryRepository delegate;
+
+	private final AgentCoreMemoryCircuitBreaker circuitBreaker;
+
+	private final ReadFallback readFallback;
+
+	private final WriteFallback writeFallback;
+
+	private final int maxBufferedWrites;
+
+	private final Executor replayExecutor;
+
+	private final Map<String, List<Message>> cache;
+
+	private final LinkedHashMap<String, List<List<Message>>> bufferedWrites = new LinkedHashMap<>();
+
+	private int bufferedWriteCount;
+
+	private final AtomicBoolean replaying = new AtomicBoolean();
+
+	/**
+	 * Creates a repository that replays buffered writes on {@code replayExecutor}, or on
+	 * the calling thread when it is {@code null}.
+	 */
+	public CircuitBreakingChatMemoryRepository(ChatMemoryRepository delegate, CircuitBreaker settings,
+			Executor replayExecutor) {
+		this(delegate, settings, replayExecutor, Clock.systemUTC());
+	}
+
+	CircuitBreakingChatMemoryRepository(ChatMemoryRepository delegate, CircuitBreaker settings, Executor replayExecutor,
+			Clock clock) {
+		this.delegate = delegate;
+		this.circuitBreaker = new AgentCoreMemoryCircuitBreaker(settings.failureThreshold(), settings.openDuration(),
+				clock);
+		this.readFallback = settings.readFallback();
+		this.writeFallback = settings.writeFallback();
+		this.maxBufferedWrites = settings.maxBufferedWrites();
+		this.replayExecutor = replayExecutor;
+		int maxCachedConversations = settings.maxCachedConversations();
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, List<Message>> eldest) {
+				return size() > maxCachedConversations;
+			}
+		};
+	}
+
+	public AgentCoreMemoryCircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/**
+	 * Returns the number of writes waiting to be replayed.
+	 */
+	public int getBufferedWriteCount() {
+		synchronized (bufferedWrites) {
+			return bufferedWriteCount;
+		}
+	}
+
+	@Override
+	public List<String> findConversationIds() {
+		return delegate.findConversationIds();
+	}
+
+	@Override
+	public List<Message> findByConversationId(String conversationId) {
+		if (!circuitBreaker.tryAcquire()) {
+			return fallbackRead(conversationId, null);
+		}
+		List<Message> messages;
+		try {
+			messages = delegate.findByConversationId(conversationId);
+			circuitBreaker.onSuccess();
+		}
+		catch (AgentCoreMemoryException e) {
+			circuitBreaker.onFailure();
+			return fallbackRead(conversationId, e);
+		}
+		catch (RuntimeException e) {
+			circuitBreaker.onIgnored();
+			throw e;
+		}
+		if (readFallback == ReadFallback.CACHE) {
+			synchronized (cache) {
+				cache.put(conversationId, List.copyOf(messages));
+			}
+		}
+		replayBufferedWrites();
+		return withBufferedWrites(conversationId, messages);
+	}
+
+	@Override
+	public void saveAll(String conversationId, List<Message> messages) {
+		if (messages == null || messages.isEmpty()) {
+			delegate.saveAll(conversationId, messages);
+			return;
+		}
+		if (hasBufferedWrites(conversationId)) {
+			bufferWrite(conversationId, messages, null);
+			replayBufferedWrites();
+			return;
+		}
+		if (!circuitBreaker.tryAcquire()) {
+			bufferWrite(conversationId, messages, null);
+			return;
+		}
+		try {
+			delegate.saveAll(conversationId, messages);
+			circuitBreaker.onSuccess();
+		}
+		catch (AgentCoreMemoryException e) {
+			circuitBreaker.onFailure();
+			bufferWrite(conversationId, messages, e);
+			return;
+		}
+		catch (RuntimeException e) {
+			circuitBreaker.onIgnored();
+			throw e;
+		}
+		cacheSavedMessages(conversationId, messages);
+		replayBufferedWrites();
+	}
+
+	@Override
+	public void deleteByConversationId(String conversationId) {
+		if (!circuitBreaker.tryAcquire()) {
+			throw new AgentCoreMemoryException("AgentCore Memory circuit breaker is open");
+		}
+		try {
+			delegate.deleteByConversationId(conversationId);
+			circuitBreaker.onSuccess();
+		}
+		catch (AgentCoreMemoryException e) {
+			circuitBreaker.onFailure();
+			throw e;
+		}
+		catch (RuntimeException e) {
+			circuitBreaker.onIgnored();
+			throw e;
+		}
+		synchronized (cache) {
+			cache.remove(conversationId);
+		}
+		synchronized (bufferedWrites) {
+			var dropped = bufferedWrites.remove(conversationId);
+			if (dropped != null) {
+				bufferedWriteCount -= dropped.size();
+			}
+		}
+	}
+
+	private List<Message> fallbackRead(String conversationId, AgentCoreMemoryException cause) {
+		List<Message> messages = switch (readFallback) {
+			case CACHE -> {
+				synchronized (cache) {
+					yield cache.getOrDefault(conversationId, List.of());
+				}
+			}
+			case EMPTY -> List.of();
+			case FAIL ->
+				throw cause != null ? cause : new AgentCoreMemoryException("AgentCore Memory circuit breaker is open");
+		};
+		logger.debug("Serving {} fallback history for conversation: {}", readFallback, conversationId);
+		return withBufferedWrites(conversationId, messages);
+	}
+
+	private void bufferWrite(String conversationId, List<Message> messages, AgentCoreMemoryException cause) {
+		switch (writeFallback) {
+			case FAIL ->
+				throw cause != null ? cause : new AgentCoreMemoryException("AgentCore Memory circuit breaker is open");
+			case DROP -> logger.warn("Dropping {} messages for conversation: {}", messages.size(), conversationId);
+			case BUFFER -> {
+				synchronized (bufferedWrites) {
+					bufferedWrites.computeIfAbsent(conversationId, id -> new ArrayList<>()).add(List.copyOf(messages));
+					bufferedWriteCount++;
+					if (bufferedWriteCount > maxBufferedWrites) {
+						dropOldestBufferedWrite();
+					}
+				}
+				logger.debug("Buffered {} messages for conversation: {}", messages.size(), conversationId);
+			}
+		}
+	}
+
+	private void dropOldestBufferedWrite() {
+		var oldest = bufferedWrites.entrySet().iterator().next();
+		var dropped = oldest.getValue().remove(0);
+		if (oldest.getValue().isEmpty()) {
+			bufferedWrites.remove(oldest.getKey());
+		}
+		bufferedWriteCount--;
+		logger.warn("Write buffer full, dropping {} messages for conversation: {}", dropped.size(), oldest.getKey());
+	}
+
+	private boolean hasBufferedWrites(String conversationId) {
+		synchronized (bufferedWrites) {
+			return bufferedWrites.containsKey(conversationId);
+		}
+	}
+
+	private List<Message> withBufferedWrites(String conversationId, List<Message> messages) {
+		synchronized (bufferedWrites) {
+			var pending = bufferedWrites.get(conversationId);
+			return pending != null ? pending.get(pending.size() - 1) : messages;
+		}
+	}
+
+	private void cacheSavedMessages(String conversationId, List<Message> messages) {
+		if (readFallback != ReadFallback.CACHE) {
+			return;
+		}
+		synchronized (cache) {
+			cache.put(conversationId, List.copyOf(messages));
+		}
+	}
+
+	private void replayBufferedWrites() {
+		if (getBufferedWriteCount() == 0 || circuitBreaker.getState() != AgentCoreMemoryCircuitBreaker.State.CLOSED
+				|| !replaying.compareAndSet(false, true)) {
+			return;
+		}
+		if (replayExecutor != null) {
+			replayExecutor.execute(this::replay);
+		}
+		else {
+			replay();
+		}
+	}
+
+	private void replay() {
+		try {
+			while (true) {
+				String conversationId;
+				List<Message> messages;
+				synchronized (bufferedWrites) {
+					if (bufferedWrites.isEmpty()) {
+						return;
+					}
+					var next = bufferedWrites.entrySet().iterator().next();
+					conversationId = next.getKey();
+					messages = next.getValue().get(0);
+				}
+				if (!circuitBreaker.tryAcquire()) {
+					return;
+				}
+				try {
+					delegate.saveAll(conversationId, messages);
+					circuitBreaker.onSuccess();
+					cacheSavedMessages(conversationId, messages);
+				}
+				catch (AgentCoreMemoryException e) {
+					circuitBreaker.onFailure();
+					logger.debug("Replay of buffered writes failed for conversation: {}", conversationId, e);
+					return;
+				}
+				catch (RuntimeException e) {
+					circuitBreaker.onIgnored();
+					logger.error("Dropping buffered write that cannot be replayed for conversation: {}", conversationId,
+							e);
+				}
+				synchronized (bufferedWrites) {
+					var pending = bufferedWrites.get(conversationId);
+					if (pending != null && !pending.isEmpty() && pending.get(0) == messages) {
+						pending.remove(0);
+						bufferedWriteCount--;
+						if (pending.isEmpty()) {
+							bufferedWrites.remove(conversationId);
+						}
+					}
+				}
+				logger.debug("Replayed {} buffered messages for conversation: {}", messages.size(), conversationId);
+			}
+		}
+		finally {
+			replaying.set(false);
+		}
+	}
+
+}
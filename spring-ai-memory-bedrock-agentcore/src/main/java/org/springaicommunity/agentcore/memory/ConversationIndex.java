@@ -0,0 +1,26 @@
+package org.springaicommunity.agentcore.memory;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Local index of the conversation ids known to an {@link AgentCoreShortMemoryRepository}.
+ * It is maintained on every save and delete so that
+ * {@link AgentCoreShortMemoryRepository#findConversationIds()} can be answered without
+ * scanning AgentCore Memory, and can be rebuilt from AgentCore's actor and session
+ * listings with {@link AgentCoreShortMemoryRepository#reconcileConversationIds()}.
+ */
+public interface ConversationIndex {
+
+	void add(String conversationId);
+
+	void remove(String conversationId);
+
+	List<String> conversationIds();
+
+	/**
+	 * Replaces the whole content of the index, e.g. after reconciling with AgentCore.
+	 */
+	void replaceAll(Collection<String> conversationIds);
+
+}
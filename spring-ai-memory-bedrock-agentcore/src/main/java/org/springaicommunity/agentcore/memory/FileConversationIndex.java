@@ -0,0 +1,138 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * {@link ConversationIndex} persisted to a local append-only file, so the set of known
+ * conversations survives restarts. Every change is appended as one line ({@code +id} or
+ * {@code -id}); the file is compacted to a snapshot when it is opened and on
+ * {@link #replaceAll(Collection)}.
+ */
+public class FileConversationIndex implements ConversationIndex, AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(FileConversationIndex.class);
+
+	private final Path file;
+
+	private final TreeSet<String> conversationIds = new TreeSet<>();
+
+	private BufferedWriter writer;
+
+	public FileConversationIndex(Path file) {
+		this.file = file;
+		try {
+			if (file.getParent() != null) {
+				Files.createDirectories(file.getParent());
+			}
+			if (Files.exists(file)) {
+				load();
+			}
+			compact();
+		}
+		catch (IOException e) {
+			throw new AgentCoreMemoryException("Failed to open conversation index: " + file, e);
+		}
+		logger.debug("Opened conversation index {} with {} conversations", file, conversationIds.size());
+	}
+
+	@Override
+	public synchronized void add(String conversationId) {
+		if (conversationIds.add(validate(conversationId))) {
+			append('+', conversationId);
+		}
+	}
+
+	@Override
+	public synchronized void remove(String conversationId) {
+		if (conversationIds.remove(conversationId)) {
+			append('-', conversationId);
+		}
+	}
+
+	@Override
+	public synchronized List<String> conversationIds() {
+		return List.copyOf(conversationIds);
+	}
+
+	@Override
+	public synchronized void replaceAll(Collection<String> conversationIds) {
+		conversationIds.forEach(this::validate);
+		this.conversationIds.clear();
+		this.conversationIds.addAll(conversationIds);
+		try {
+			compact();
+		}
+		catch (IOException e) {
+			throw new AgentCoreMemoryException("Failed to write conversation index: " + file, e);
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (writer != null) {
+			writer.close();
+			writer = null;
+		}
+	}
+
+	private void load() throws IOException {
+		for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			if (line.length() < 2) {
+				continue;
+			}
+			var conversationId = line.substring(1);
+			if (line.charAt(0) == '+') {
+				conversationIds.add(conversationId);
+			}
+			else if (line.charAt(0) == '-') {
+				conversationIds.remove(conversationId);
+			}
+		}
+	}
+
+	private void compact() throws IOException {
+		close();
+		var snapshot = file.resolveSibling(file.getFileName() + ".tmp");
+		try (var snapshotWriter = Files.newBufferedWriter(snapshot, StandardCharsets.UTF_8)) {
+			for (var conversationId : conversationIds) {
+				snapshotWriter.write('+');
+				snapshotWriter.write(conversationId);
+				snapshotWriter.newLine();
+			}
+		}
+		Files.move(snapshot, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+	}
+
+	private void append(char operation, String conversationId) {
+		try {
+			writer.write(operation);
+			writer.write(conversationId);
+			writer.newLine();
+			writer.flush();
+		}
+		catch (IOException e) {
+			throw new AgentCoreMemoryException("Failed to write conversation index: " + file, e);
+		}
+	}
+
+	private String validate(String conversationId) {
+		if (conversationId.indexOf('\n') >= 0 || conversationId.indexOf('\r') >= 0) {
+			throw new IllegalArgumentException("ConversationId cannot contain line breaks");
+		}
+		return conversationId;
+	}
+
+}
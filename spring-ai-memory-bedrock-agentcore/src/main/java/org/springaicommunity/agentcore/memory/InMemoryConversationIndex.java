@@ -0,0 +1,37 @@
+package org.springaicommunity.agentcore.memory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * {@link ConversationIndex} kept on the heap. Its content is lost on restart unless it is
+ * reconciled with AgentCore again.
+ */
+public class InMemoryConversationIndex implements ConversationIndex {
+
+	private final Set<String> conversationIds = new ConcurrentSkipListSet<>();
+
+	@Override
+	public void add(String conversationId) {
+		conversationIds.add(conversationId);
+	}
+
+	@Override
+	public void remove(String conversationId) {
+		conversationIds.remove(conversationId);
+	}
+
+	@Override
+	public List<String> conversationIds() {
+		return List.copyOf(conversationIds);
+	}
+
+	@Override
+	public synchronized void replaceAll(Collection<String> conversationIds) {
+		this.conversationIds.retainAll(conversationIds);
+		this.conversationIds.addAll(conversationIds);
+	}
+
+}
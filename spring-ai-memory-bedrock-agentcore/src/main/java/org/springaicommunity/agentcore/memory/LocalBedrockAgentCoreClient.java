@@ -0,0 +1,407 @@
+package org.springaicommunity.agentcore.memory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.services.bedrockagentcore.BedrockAgentCoreClient;
+import software.amazon.awssdk.services.bedrockagentcore.model.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Local stand-in for AgentCore Memory implementing the event, actor and session
+ * operations used by {@link AgentCoreShortMemoryRepository}. Events are partitioned by
+ * memory, actor and session and listed newest-first with {@code maxResults} /
+ * {@code nextToken} pagination, so the repository runs unchanged on top of it. Events
+ * created while a session is paged through do not shift the following pages.
+ *
+ * <p>
+ * Events are kept in memory and, when a file is given, persisted to an append-only log of
+ * JSON lines that is compacted when it is opened. A fixed latency with random jitter and
+ * a throttling rate can be injected to reproduce a slow or overloaded service; throttled
+ * calls fail with {@link ThrottledException} as they would once the SDK has exhausted its
+ * retries.
+ */
+public class LocalBedrockAgentCoreClient implements BedrockAgentCoreClient {
+
+	private static final Logger logger = LoggerFactory.getLogger(LocalBedrockAgentCoreClient.class);
+
+	private static final int DEFAULT_MAX_RESULTS = 20;
+
+	private final Path file;
+
+	private final Duration latency;
+
+	private final Duration latencyJitter;
+
+	private final double throttleRate;
+
+	private final Random random;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	/**
+	 * Events by memory id, actor id and session id.
+	 */
+	private final Map<String, TreeMap<String, TreeMap<String, List<Event>>>> memories = new TreeMap<>();
+
+	private BufferedWriter writer;
+
+	/**
+	 * Creates an in-memory client without injected latency or throttling.
+	 */
+	public LocalBedrockAgentCoreClient() {
+		this(null, Duration.ZERO, Duration.ZERO, 0, new Random());
+	}
+
+	/**
+	 * Creates a client persisted to {@code file}, or kept in memory when it is
+	 * {@code null}. Every call sleeps for {@code latency} plus a random duration of up to
+	 * {@code latencyJitter} and is then rejected with probability {@code throttleRate}.
+	 */
+	public LocalBedrockAgentCoreClient(Path file, Duration latency, Duration latencyJitter, double throttleRate,
+			Random random) {
+		if (throttleRate < 0 || throttleRate > 1) {
+			throw new IllegalArgumentException("ThrottleRate must be between 0 and 1");
+		}
+		this.file = file;
+		this.latency = latency != null ? latency : Duration.ZERO;
+		this.latencyJitter = latencyJitter != null ? latencyJitter : Duration.ZERO;
+		this.throttleRate = throttleRate;
+		this.random = random;
+		if (file != null) {
+			try {
+				if (file.getParent() != null) {
+					Files.createDirectories(file.getParent());
+				}
+				if (Files.exists(file)) {
+					load();
+				}
+				compact();
+			}
+			catch (IOException e) {
+				throw new AgentCoreMemoryException("Failed to open local memory: " + file, e);
+			}
+			logger.debug("Opened local memory {}", file);
+		}
+	}
+
+	@Override
+	public String serviceName() {
+		return SERVICE_NAME;
+	}
+
+	@Override
+	public CreateEventResponse createEvent(CreateEventRequest request) {
+		simulateService();
+		requireNonEmpty(request.memoryId(), "memoryId");
+		requireNonEmpty(request.actorId(), "actorId");
+		requireNonEmpty(request.sessionId(), "sessionId");
+
+		var event = Event.builder()
+			.memoryId(request.memoryId())
+			.actorId(request.actorId())
+			.sessionId(request.sessionId())
+			.eventId(UUID.randomUUID().toString())
+			.eventTimestamp(request.eventTimestamp() != null ? request.eventTimestamp() : Instant.now())
+			.payload(request.payload())
+			.build();
+		synchronized (this) {
+			events(event.memoryId(), event.actorId(), event.sessionId()).add(event);
+			append(LogEntry.created(event));
+		}
+		return CreateEventResponse.builder().event(event).build();
+	}
+
+	@Override
+	public ListEventsResponse listEvents(ListEventsRequest request) {
+		simulateService();
+		requireNonEmpty(request.memoryId(), "memoryId");
+		requireNonEmpty(request.actorId(), "actorId");
+		requireNonEmpty(request.sessionId(), "sessionId");
+
+		List<Event> page;
+		String nextToken;
+		synchronized (this) {
+			// AgentCore lists events newest-first, so pages are read backwards from the
+			// end
+			// of the stored list, or from the last event of the previous page
+			var events = events(request.memoryId(), request.actorId(), request.sessionId());
+			int to = request.nextToken() != null ? eventIndex(events, request.nextToken()) : events.size();
+			int from = Math.max(0, to - maxResults(request.maxResults()));
+			page = new ArrayList<>(to - from);
+			for (int i = to - 1; i >= from; i--) {
+				page.add(events.get(i));
+			}
+			nextToken = from > 0 ? from + ":" + events.get(from).eventId() : null;
+		}
+		if (!Boolean.TRUE.equals(request.includePayloads())) {
+			page = page.stream()
+				.map(event -> event.toBuilder().payload((Collection<PayloadType>) null).build())
+				.toList();
+		}
+		return ListEventsResponse.builder().events(page).nextToken(nextToken).build();
+	}
+
+	@Override
+	public DeleteEventResponse deleteEvent(DeleteEventRequest request) {
+		simulateService();
+		requireNonEmpty(request.memoryId(), "memoryId");
+		synchronized (this) {
+			var events = events(request.memoryId(), request.actorId(), request.sessionId());
+			if (!events.removeIf(event -> event.eventId().equals(request.eventId()))) {
+				throw ResourceNotFoundException.builder()
+					.message("Event not found: " + request.eventId())
+					.statusCode(404)
+					.build();
+			}
+			append(LogEntry.deleted(request.memoryId(), request.actorId(), request.sessionId(), request.eventId()));
+		}
+		return DeleteEventResponse.builder().eventId(request.eventId()).build();
+	}
+
+	@Override
+	public ListActorsResponse listActors(ListActorsRequest request) {
+		simulateService();
+		requireNonEmpty(request.memoryId(), "memoryId");
+		List<String> actorIds;
+		synchronized (this) {
+			actorIds = memories.getOrDefault(request.memoryId(), new TreeMap<>())
+				.entrySet()
+				.stream()
+				.filter(actor -> actor.getValue().values().stream().anyMatch(events -> !events.isEmpty()))
+				.map(Map.Entry::getKey)
+				.toList();
+		}
+		int from = offset(request.nextToken());
+		int to = Math.min(actorIds.size(), from + maxResults(request.maxResults()));
+		return ListActorsResponse.builder()
+			.actorSummaries(actorIds.subList(Math.min(from, to), to)
+				.stream()
+				.map(actorId -> ActorSummary.builder().actorId(actorId).build())
+				.toList())
+			.nextToken(to < actorIds.size() ? String.valueOf(to) : null)
+			.build();
+	}
+
+	@Override
+	public ListSessionsResponse listSessions(ListSessionsRequest request) {
+		simulateService();
+		requireNonEmpty(request.memoryId(), "memoryId");
+		requireNonEmpty(request.actorId(), "actorId");
+		List<String> sessionIds;
+		synchronized (this) {
+			sessionIds = memories.getOrDefault(request.memoryId(), new TreeMap<>())
+				.getOrDefault(request.actorId(), new TreeMap<>())
+				.entrySet()
+				.stream()
+				.filter(session -> !session.getValue().isEmpty())
+				.map(Map.Entry::getKey)
+				.toList();
+		}
+		int from = offset(request.nextToken());
+		int to = Math.min(sessionIds.size(), from + maxResults(request.maxResults()));
+		return ListSessionsResponse.builder()
+			.sessionSummaries(sessionIds.subList(Math.min(from, to), to)
+				.stream()
+				.map(sessionId -> SessionSummary.builder().actorId(request.actorId()).sessionId(sessionId).build())
+				.toList())
+			.nextToken(to < sessionIds.size() ? String.valueOf(to) : null)
+			.build();
+	}
+
+	@Override
+	public synchronized void close() {
+		if (writer != null) {
+			try {
+				writer.close();
+			}
+			catch (IOException e) {
+				logger.warn("Failed to close local memory {}", file, e);
+			}
+			writer = null;
+		}
+	}
+
+	private void simulateService() {
+		long delay = latency.toMillis();
+		if (!latencyJitter.isZero()) {
+			delay += (long) (random.nextDouble() * latencyJitter.toMillis());
+		}
+		if (delay > 0) {
+			try {
+				Thread.sleep(delay);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw AbortedException.create("Interrupted while simulating AgentCore Memory latency");
+			}
+		}
+		if (throttleRate > 0 && random.nextDouble() < throttleRate) {
+			throw ThrottledException.builder().message("Rate exceeded").statusCode(429).build();
+		}
+	}
+
+	private List<Event> events(String memoryId, String actorId, String sessionId) {
+		return memories.computeIfAbsent(memoryId, id -> new TreeMap<>())
+			.computeIfAbsent(actorId, id -> new TreeMap<>())
+			.computeIfAbsent(sessionId, id -> new ArrayList<>());
+	}
+
+	/**
+	 * Returns the index of the event that a {@code nextToken} of {@link #listEvents}
+	 * refers to. The token holds the index and the id of the event, so that the event is
+	 * still found when events before it have been deleted since.
+	 */
+	private static int eventIndex(List<Event> events, String nextToken) {
+		int separator = nextToken.indexOf(':');
+		int index = offset(separator > 0 ? nextToken.substring(0, separator) : nextToken);
+		var eventId = nextToken.substring(separator + 1);
+		for (int i = Math.min(index, events.size() - 1); i >= 0; i--) {
+			if (events.get(i).eventId().equals(eventId)) {
+				return i;
+			}
+		}
+		return Math.min(index, events.size());
+	}
+
+	private static int offset(String nextToken) {
+		if (nextToken == null) {
+			return 0;
+		}
+		try {
+			int offset = Integer.parseInt(nextToken);
+			if (offset >= 0) {
+				return offset;
+			}
+		}
+		catch (NumberFormatException e) {
+			// rejected below
+		}
+		throw ValidationException.builder().message("Invalid nextToken: " + nextToken).statusCode(400).build();
+	}
+
+	private static int maxResults(Integer maxResults) {
+		return maxResults != null && maxResults > 0 ? maxResults : DEFAULT_MAX_RESULTS;
+	}
+
+	private static void requireNonEmpty(String value, String name) {
+		if (value == null || value.isEmpty()) {
+			throw ValidationException.builder().message(name + " is required").statusCode(400).build();
+		}
+	}
+
+	private void load() throws IOException {
+		for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			if (line.isBlank()) {
+				continue;
+			}
+			var entry = objectMapper.readValue(line, LogEntry.class);
+			var events = events(entry.memoryId(), entry.actorId(), entry.sessionId());
+			if (entry.deleted()) {
+				events.removeIf(event -> event.eventId().equals(entry.eventId()));
+			}
+			else {
+				events.add(entry.toEvent());
+			}
+		}
+	}
+
+	private void compact() throws IOException {
+		close();
+		var snapshot = file.resolveSibling(file.getFileName() + ".tmp");
+		try (var snapshotWriter = Files.newBufferedWriter(snapshot, StandardCharsets.UTF_8)) {
+			for (var actors : memories.values()) {
+				for (var sessions : actors.values()) {
+					for (var events : sessions.values()) {
+						for (var event : events) {
+							snapshotWriter.write(objectMapper.writeValueAsString(LogEntry.created(event)));
+							snapshotWriter.newLine();
+						}
+					}
+				}
+			}
+		}
+		Files.move(snapshot, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+	}
+
+	private void append(LogEntry entry) {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.write(objectMapper.writeValueAsString(entry));
+			writer.newLine();
+			writer.flush();
+		}
+		catch (JsonProcessingException e) {
+			throw new AgentCoreMemoryException("Failed to serialize event " + entry.eventId(), e);
+		}
+		catch (IOException e) {
+			throw new AgentCoreMemoryException("Failed to write local memory: " + file, e);
+		}
+	}
+
+	/**
+	 * One line of the local memory log.
+	 */
+	record LogEntry(boolean deleted, String memoryId, String actorId, String sessionId, String eventId, Long timestamp,
+			List<LogMessage> messages) {
+
+		static LogEntry created(Event event) {
+			var messages = event.payload()
+				.stream()
+				.filter(payload -> payload.conversational() != null)
+				.map(payload -> new LogMessage(payload.conversational().roleAsString(),
+						payload.conversational().content().text()))
+				.toList();
+			return new LogEntry(false, event.memoryId(), event.actorId(), event.sessionId(), event.eventId(),
+					event.eventTimestamp() != null ? event.eventTimestamp().toEpochMilli() : null, messages);
+		}
+
+		static LogEntry deleted(String memoryId, String actorId, String sessionId, String eventId) {
+			return new LogEntry(true, memoryId, actorId, sessionId, eventId, null, null);
+		}
+
+		Event toEvent() {
+			return Event.builder()
+				.memoryId(memoryId)
+				.actorId(actorId)
+				.sessionId(sessionId)
+				.eventId(eventId)
+				.eventTimestamp(timestamp != null ? Instant.ofEpochMilli(timestamp) : null)
+				.payload(messages.stream()
+					.map(message -> PayloadType.builder()
+						.conversational(Conversational.builder()
+							.role(message.role())
+							.content(Content.builder().text(message.text()).build())
+							.build())
+						.build())
+					.toList())
+				.build();
+		}
+
+	}
+
+	record LogMessage(String role, String text) {
+	}
+
+}
@@ -0,0 +1,80 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepository.ActorAndSession;
+import org.springframework.ai.chat.messages.Message;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The message instances each conversation is known to hold in AgentCore Memory: those
+ * last returned by a read of the conversation, or last given to a write. They let
+ * {@link AgentCoreShortMemoryRepository#saveAll} tell the messages it is given apart from
+ * those already stored by identity, so that new messages whose content repeats stored
+ * ones are still written. Only the most recently used conversations are tracked; saving
+ * one that is not tracked writes all of its messages.
+ */
+final class PersistedMessages {
+
+	private final Map<ActorAndSession, Set<Message>> conversations;
+
+	PersistedMessages(int maxConversations) {
+		this.conversations = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ActorAndSession, Set<Message>> eldest) {
+				return size() > maxConversations;
+			}
+		};
+	}
+
+	synchronized Set<Message> get(ActorAndSession actorAndSession) {
+		return conversations.get(actorAndSession);
+	}
+
+	synchronized void put(ActorAndSession actorAndSession, List<Message> messages) {
+		conversations.put(actorAndSession, identitySet(messages));
+	}
+
+	/**
+	 * Replaces the messages of a conversation unless they changed since {@code expected}
+	 * was read, so that a slow read does not overwrite what a write that completed in the
+	 * meantime recorded.
+	 */
+	synchronized void replace(ActorAndSession actorAndSession, Set<Message> expected, List<Message> messages) {
+		if (conversations.get(actorAndSession) == expected) {
+			conversations.put(actorAndSession, identitySet(messages));
+		}
+	}
+
+	synchronized void remove(ActorAndSession actorAndSession) {
+		conversations.remove(actorAndSession);
+	}
+
+	/**
+	 * Returns the number of leading {@code messages} that are known to be stored. A
+	 * window that was read, trimmed at its start and extended with new messages, like the
+	 * one {@code MessageWindowChatMemory} saves, starts with the instances that were
+	 * read.
+	 */
+	static int storedPrefix(Set<Message> known, List<Message> messages) {
+		if (known == null) {
+			return 0;
+		}
+		int stored = 0;
+		while (stored < messages.size() && known.contains(messages.get(stored))) {
+			stored++;
+		}
+		return stored;
+	}
+
+	private static Set<Message> identitySet(List<Message> messages) {
+		var set = Collections.<Message>newSetFromMap(new IdentityHashMap<>(messages.size() * 2));
+		set.addAll(messages);
+		return Collections.unmodifiableSet(set);
+	}
+
+}
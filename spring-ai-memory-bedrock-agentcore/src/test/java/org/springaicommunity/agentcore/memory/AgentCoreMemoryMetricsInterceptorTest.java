@@ -0,0 +1,63 @@
+package org.springaicommunity.agentcore.memory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.bedrockagentcore.model.ThrottledException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AgentCoreMemoryMetricsInterceptorTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final AgentCoreMemoryMetricsInterceptor interceptor = new AgentCoreMemoryMetricsInterceptor(meterRegistry);
+
+	@Test
+	void shouldCountThrottledAttemptsAndRetries() {
+		var attributes = new ExecutionAttributes();
+		attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "ListEvents");
+
+		interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+		interceptor.afterTransmission(transmission(429), attributes);
+		interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+		interceptor.afterTransmission(transmission(200), attributes);
+		interceptor.afterExecution(mock(Context.AfterExecution.class), attributes);
+
+		assertThat(
+				meterRegistry.get("agentcore.memory.sdk.throttles").tags("operation", "ListEvents").counter().count())
+			.isEqualTo(1);
+		assertThat(meterRegistry.get("agentcore.memory.sdk.retries")
+			.tags("operation", "ListEvents", "outcome", "success")
+			.counter()
+			.count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldTagFailedExecutionsByOutcome() {
+		var attributes = new ExecutionAttributes();
+		attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "CreateEvent");
+		var failure = mock(Context.FailedExecution.class);
+		when(failure.exception()).thenReturn(ThrottledException.builder().message("slow down").build());
+
+		interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+		interceptor.onExecutionFailure(failure, attributes);
+
+		assertThat(meterRegistry.get("agentcore.memory.sdk.retries")
+			.tags("operation", "CreateEvent", "outcome", "throttled")
+			.counter()
+			.count()).isZero();
+	}
+
+	private Context.AfterTransmission transmission(int statusCode) {
+		var context = mock(Context.AfterTransmission.class);
+		when(context.httpResponse()).thenReturn(SdkHttpResponse.builder().statusCode(statusCode).build());
+		return context;
+	}
+
+}
@@ -0,0 +1,61 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AgentCoreShortMemoryRepositoryAutoConfigurationTest {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(AgentCoreShortMemoryRepositoryAutoConfiguration.class))
+		.withPropertyValues("agentcore.memory.memory-id=testMemoryId", "agentcore.memory.local.enabled=true");
+
+	@Test
+	void shouldOnlyIndexConversationsWhenTheIndexSurvivesRestarts(@TempDir Path tempDir) {
+		contextRunner.run(context -> {
+			assertThat(context).doesNotHaveBean(ConversationIndex.class);
+			assertThatThrownBy(() -> context.getBean(AgentCoreShortMemoryRepository.class).findConversationIds())
+				.isInstanceOf(UnsupportedOperationException.class);
+		});
+		contextRunner.withPropertyValues("agentcore.memory.index.path=" + tempDir.resolve("index"))
+			.run(context -> assertThat(context).getBean(ConversationIndex.class)
+				.isInstanceOf(FileConversationIndex.class));
+		contextRunner.withPropertyValues("agentcore.memory.index.reconcile-on-startup=true")
+			.run(context -> assertThat(context).getBean(ConversationIndex.class)
+				.isInstanceOf(InMemoryConversationIndex.class));
+	}
+
+	@Test
+	void shouldShutDownBoundedMemoryTaskExecutorWithContext() {
+		var executor = new ThreadPoolTaskExecutor[1];
+		contextRunner.withPropertyValues("agentcore.memory.task-execution.pool-size=2").run(context -> {
+			executor[0] = context.getBean(
+					AgentCoreShortMemoryRepositoryAutoConfiguration.MEMORY_TASK_EXECUTOR_BEAN_NAME,
+					ThreadPoolTaskExecutor.class);
+			assertThat(executor[0].getMaxPoolSize()).isEqualTo(2);
+			assertThat(executor[0].getQueueCapacity()).isEqualTo(100);
+		});
+		assertThat(executor[0].getThreadPoolExecutor().isShutdown()).isTrue();
+	}
+
+	@Test
+	void shouldKeepApplicationTaskExecutorBesideMemoryTaskExecutor() {
+		contextRunner.withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class)).run(context -> {
+			assertThat(context).hasBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME);
+			assertThat(context).hasBean(AgentCoreShortMemoryRepositoryAutoConfiguration.MEMORY_TASK_EXECUTOR_BEAN_NAME);
+			// Only the application's executor is injected by type
+			assertThat(context.getBeanProvider(TaskExecutor.class).getIfUnique())
+				.isSameAs(context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME));
+		});
+	}
+
+}
@@ -25,4 +25,27 @@ public class AgentCoreShortMemoryRepositoryConfigurationTest {
 		assertThat(config.ignoreUnknownRoles()).isTrue();
 	}
 
+	@Test
+	void shouldDefaultPrefetchAndWindow() {
+		var config = new AgentCoreShortMemoryRepositoryConfiguration("test-memory-id", null, null, 0, false, null, 0,
+				null, null, null, null, null, null, null);
+
+		assertThat(config.prefetchPages()).isFalse();
+		assertThat(config.taskExecution().poolSize()).isEqualTo(8);
+		assertThat(config.taskExecution().queueCapacity()).isEqualTo(100);
+		assertThat(config.maxMessages()).isNull();
+		assertThat(config.index().enabled()).isTrue();
+		assertThat(config.index().path()).isNull();
+		assertThat(config.index().reconcileOnStartup()).isFalse();
+		assertThat(config.client().httpClient()).isNull();
+		assertThat(config.client().warmUpConnections()).isZero();
+		assertThat(config.circuitBreaker().enabled()).isFalse();
+		assertThat(config.coalesceReads()).isTrue();
+		assertThat(config.deltaWrites()).isFalse();
+		assertThat(config.local().enabled()).isFalse();
+		assertThat(config.circuitBreaker().failureThreshold()).isEqualTo(5);
+		assertThat(config.circuitBreaker().readFallback())
+			.isEqualTo(AgentCoreShortMemoryRepositoryConfiguration.ReadFallback.CACHE);
+	}
+
 }
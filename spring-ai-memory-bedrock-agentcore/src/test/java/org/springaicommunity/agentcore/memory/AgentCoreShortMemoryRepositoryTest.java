@@ -1,5 +1,8 @@
 package org.springaicommunity.agentcore.memory;
 
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,17 +12,30 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.messages.SystemMessage;
+import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.bedrockagentcore.BedrockAgentCoreClient;
 import software.amazon.awssdk.services.bedrockagentcore.model.*;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -309,4 +325,684 @@ public class AgentCoreShortMemoryRepositoryTest {
 			.hasMessageContaining("Unsupported message type: SystemMessage");
 	}
 
-}
\ No newline at end of file
+	@Test
+	void shouldPrefetchAllPagesInOrder() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			var prefetchingRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, null,
+					"default-session", 2, false, executor, null, null);
+			stubPages();
+
+			List<Message> memoryMessages = prefetchingRepository.findByConversationId("testActorId:testSessionId");
+
+			assertThat(memoryMessages).extracting(Message::getText)
+				.containsExactly("message 0", "message 1", "message 2", "message 3", "message 4");
+			ArgumentCaptor<ListEventsRequest> requestCaptor = ArgumentCaptor.forClass(ListEventsRequest.class);
+			verify(client, times(3)).listEvents(requestCaptor.capture());
+			assertThat(requestCaptor.getAllValues()).extracting(ListEventsRequest::nextToken)
+				.containsExactly(null, "page-1", "page-2");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldNotPrefetchPastTotalLimit() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			var prefetchingRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, 3, "default-session",
+					2, false, executor, null, null);
+			stubPages();
+
+			List<Message> memoryMessages = prefetchingRepository.findByConversationId("testActorId:testSessionId");
+
+			assertThat(memoryMessages).extracting(Message::getText)
+				.containsExactly("message 0", "message 1", "message 2");
+			verify(client, times(2)).listEvents(any(ListEventsRequest.class));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldWrapFailureOfPrefetchedPage() {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			var prefetchingRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, null,
+					"default-session", 2, false, executor, null, null);
+			when(client.listEvents(any(ListEventsRequest.class))).thenAnswer(invocation -> {
+				ListEventsRequest request = invocation.getArgument(0);
+				if (request.nextToken() == null) {
+					return ListEventsResponse.builder().events(buildEvent("message 0")).nextToken("page-1").build();
+				}
+				throw SdkClientException.create("connection reset");
+			});
+
+			assertThatThrownBy(() -> prefetchingRepository.findByConversationId("testActorId:testSessionId"))
+				.isInstanceOf(AgentCoreMemoryException.class)
+				.hasMessage("Failed to fetch events")
+				.hasCauseInstanceOf(SdkClientException.class);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldFetchPagesSequentiallyWithoutExecutor() {
+		var sequentialRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, null, "default-session",
+				2, false);
+		stubPages();
+
+		List<Message> memoryMessages = sequentialRepository.findByConversationId("testActorId:testSessionId");
+
+		assertThat(memoryMessages).hasSize(5);
+		verify(client, times(3)).listEvents(any(ListEventsRequest.class));
+	}
+
+	private void stubPages() {
+		when(client.listEvents(any(ListEventsRequest.class))).thenAnswer(invocation -> {
+			ListEventsRequest request = invocation.getArgument(0);
+			if (request.nextToken() == null) {
+				return ListEventsResponse.builder()
+					.events(buildEvent("message 0"), buildEvent("message 1"))
+					.nextToken("page-1")
+					.build();
+			}
+			if (request.nextToken().equals("page-1")) {
+				return ListEventsResponse.builder()
+					.events(buildEvent("message 2"), buildEvent("message 3"))
+					.nextToken("page-2")
+					.build();
+			}
+			return ListEventsResponse.builder().events(buildEvent("message 4")).build();
+		});
+	}
+
+	private Event buildEvent(String text) {
+		return Event.builder()
+			.payload(PayloadType.builder()
+				.conversational(
+						Conversational.builder().role(Role.USER).content(Content.builder().text(text).build()).build())
+				.build())
+			.build();
+	}
+
+	@Test
+	void shouldReadOnlyTheRecentWindowWhenEventsAreNewestFirst() {
+		var base = Instant.parse("2025-01-01T00:00:00Z");
+		when(client.listEvents(any(ListEventsRequest.class))).thenReturn(ListEventsResponse.builder()
+			.events(buildEvent("message 9", base.plusSeconds(9)), buildEvent("message 8", base.plusSeconds(8)),
+					buildEvent("message 7", base.plusSeconds(7)))
+			.nextToken("page-1")
+			.build());
+
+		List<Message> memoryMessages = memoryRepository.findRecentMessages("testActorId:testSessionId", 3);
+
+		assertThat(memoryMessages).extracting(Message::getText).containsExactly("message 7", "message 8", "message 9");
+		ArgumentCaptor<ListEventsRequest> requestCaptor = ArgumentCaptor.forClass(ListEventsRequest.class);
+		verify(client, times(1)).listEvents(requestCaptor.capture());
+		assertThat(requestCaptor.getValue().maxResults()).isEqualTo(100);
+	}
+
+	@Test
+	void shouldTellNewestFirstOrderAcrossPagesOfEqualTimestamps() {
+		var pagedRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, null, "default-session", 2,
+				false);
+		var base = Instant.parse("2025-01-01T00:00:00Z");
+		when(client.listEvents(any(ListEventsRequest.class))).thenAnswer(invocation -> {
+			ListEventsRequest request = invocation.getArgument(0);
+			if (request.nextToken() == null) {
+				return ListEventsResponse.builder()
+					.events(buildEvent("message 9", base.plusSeconds(9)), buildEvent("message 8", base.plusSeconds(9)))
+					.nextToken("page-1")
+					.build();
+			}
+			return ListEventsResponse.builder()
+				.events(buildEvent("message 7", base.plusSeconds(7)), buildEvent("message 6", base.plusSeconds(6)))
+				.nextToken("page-2")
+				.build();
+		});
+
+		assertThat(pagedRepository.findRecentMessages("actor", 1)).extracting(Message::getText)
+			.containsExactly("message 9");
+		assertThat(pagedRepository.findRecentMessages("actor", 3)).extracting(Message::getText)
+			.containsExactly("message 7", "message 8", "message 9");
+		verify(client, times(4)).listEvents(any(ListEventsRequest.class));
+	}
+
+	@Test
+	void shouldReadRecentWindowWithinTotalEventsLimit() {
+		var limitedRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, 2, "default-session", 100,
+				false, null, 5, null);
+		var base = Instant.parse("2025-01-01T00:00:00Z");
+		when(client.listEvents(any(ListEventsRequest.class))).thenReturn(ListEventsResponse.builder()
+			.events(buildEvent("message 9", base.plusSeconds(9)), buildEvent("message 8", base.plusSeconds(8)),
+					buildEvent("message 7", base.plusSeconds(7)))
+			.nextToken("page-1")
+			.build());
+
+		assertThat(limitedRepository.findByConversationId("actor")).extracting(Message::getText)
+			.containsExactly("message 8", "message 9");
+		verify(client, times(1)).listEvents(argThat((ListEventsRequest request) -> request.maxResults() == 2));
+	}
+
+	@Test
+	void shouldKeepTrailingWindowWhenEventsAreChronological() {
+		var windowedRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, null, "default-session", 2,
+				false, null, 3, null);
+		stubPages();
+
+		List<Message> memoryMessages = windowedRepository.findByConversationId("testActorId:testSessionId");
+
+		assertThat(memoryMessages).extracting(Message::getText).containsExactly("message 2", "message 3", "message 4");
+		verify(client, times(3)).listEvents(any(ListEventsRequest.class));
+	}
+
+	@Test
+	void shouldTrimMultiMessageEventsToWindow() {
+		var base = Instant.parse("2025-01-01T00:00:00Z");
+		var multiMessageEvent = Event.builder()
+			.eventTimestamp(base.plusSeconds(2))
+			.payload(buildEvent("message 2", null).payload().get(0), buildEvent("message 3", null).payload().get(0))
+			.build();
+		when(client.listEvents(any(ListEventsRequest.class))).thenReturn(ListEventsResponse.builder()
+			.events(multiMessageEvent, buildEvent("message 1", base.plusSeconds(1)), buildEvent("message 0", base))
+			.build());
+
+		List<Message> memoryMessages = memoryRepository.findRecentMessages("testActorId:testSessionId", 3);
+
+		assertThat(memoryMessages).extracting(Message::getText).containsExactly("message 1", "message 2", "message 3");
+	}
+
+	@Test
+	void shouldServeMessageWindowChatMemoryFromRecentWindow() {
+		var windowedRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, null, "default-session",
+				100, false, null, 2, null);
+		var base = Instant.parse("2025-01-01T00:00:00Z");
+		when(client.listEvents(any(ListEventsRequest.class))).thenReturn(ListEventsResponse.builder()
+			.events(buildEvent("newest", base.plusSeconds(2)), buildEvent("older", base.plusSeconds(1)))
+			.nextToken("page-1")
+			.build());
+
+		var chatMemory = MessageWindowChatMemory.builder()
+			.chatMemoryRepository(windowedRepository)
+			.maxMessages(2)
+			.build();
+
+		assertThat(chatMemory.get("testActorId:testSessionId")).extracting(Message::getText)
+			.containsExactly("older", "newest");
+		verify(client, times(1)).listEvents(any(ListEventsRequest.class));
+	}
+
+	@Test
+	void shouldRejectNonPositiveWindow() {
+		assertThatThrownBy(() -> memoryRepository.findRecentMessages("testActorId:testSessionId", 0))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("MaxMessages must be greater than zero");
+	}
+
+	@Test
+	void shouldStreamMessagesLazily() {
+		var pagedRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, null, "default-session", 2,
+				false);
+		stubPages();
+
+		var firstThree = pagedRepository.streamByConversationId("testActorId:testSessionId").limit(3).toList();
+
+		assertThat(firstThree).extracting(Message::getText).containsExactly("message 0", "message 1", "message 2");
+		verify(client, times(2)).listEvents(any(ListEventsRequest.class));
+	}
+
+	@Test
+	void shouldStreamMessagesOfMultiMessageEventsNewestFirst() {
+		var base = Instant.parse("2025-01-01T00:00:00Z");
+		when(client.listEvents(any(ListEventsRequest.class))).thenReturn(ListEventsResponse.builder()
+			.events(buildExchangeEvent("question 2", "answer 2", base.plusSeconds(2)),
+					buildExchangeEvent("question 1", "answer 1", base.plusSeconds(1)))
+			.build());
+
+		var streamed = memoryRepository.streamByConversationId("testActorId:testSessionId").toList();
+		var found = memoryRepository.findByConversationId("testActorId:testSessionId");
+
+		assertThat(streamed).extracting(Message::getText)
+			.containsExactly("answer 2", "question 2", "answer 1", "question 1");
+		assertThat(found).extracting(Message::getText)
+			.containsExactly("question 1", "answer 1", "question 2", "answer 2");
+		assertThat(memoryRepository.fluxByConversationId("testActorId:testSessionId").collectList().block())
+			.extracting(Message::getText)
+			.containsExactly("answer 2", "question 2", "answer 1", "question 1");
+	}
+
+	@Test
+	void shouldNotFetchBeforeStreamIsConsumed() {
+		var stream = memoryRepository.streamByConversationId("testActorId:testSessionId");
+
+		verifyNoInteractions(client);
+		stream.close();
+	}
+
+	@Test
+	void shouldStreamAllPagesAsFlux() {
+		var pagedRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, null, "default-session", 2,
+				false);
+		stubPages();
+
+		List<Message> memoryMessages = pagedRepository.fluxByConversationId("testActorId:testSessionId")
+			.collectList()
+			.block();
+
+		assertThat(memoryMessages).extracting(Message::getText)
+			.containsExactly("message 0", "message 1", "message 2", "message 3", "message 4");
+	}
+
+	@Test
+	void shouldWrapStreamingFailures() {
+		when(client.listEvents(any(ListEventsRequest.class))).thenThrow(SdkClientException.create("connection reset"));
+
+		assertThatThrownBy(() -> memoryRepository.streamByConversationId("testActorId:testSessionId").toList())
+			.isInstanceOf(AgentCoreMemoryException.class)
+			.hasCauseInstanceOf(SdkClientException.class);
+	}
+
+	@Test
+	void shouldNotSupportConversationIdsWithoutIndex() {
+		assertThatThrownBy(() -> memoryRepository.findConversationIds())
+			.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void shouldMaintainConversationIndexOnSaveAndDelete() {
+		var indexedRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, null, "default-session", 100,
+				false, null, null, new InMemoryConversationIndex());
+		when(client.createEvent(any(CreateEventRequest.class)))
+			.thenReturn(CreateEventResponse.builder().event(buildTestEvent()).build());
+		when(client.listEvents(any(ListEventsRequest.class)))
+			.thenReturn(ListEventsResponse.builder().events(buildTestEvent()).build());
+
+		indexedRepository.saveAll("actor1:session1", List.of(new UserMessage("hello")));
+		indexedRepository.saveAll("actor2", List.of(new UserMessage("hello")));
+		indexedRepository.saveAll("actor2:default-session", List.of(new UserMessage("again")));
+
+		assertThat(indexedRepository.findConversationIds()).containsExactly("actor1:session1", "actor2");
+
+		indexedRepository.deleteByConversationId("actor1:session1");
+
+		assertThat(indexedRepository.findConversationIds()).containsExactly("actor2");
+		verify(client, times(1)).listEvents(any(ListEventsRequest.class));
+	}
+
+	@Test
+	void shouldReconcileConversationIndexFromActorsAndSessions() {
+		var index = new InMemoryConversationIndex();
+		index.add("stale");
+		var indexedRepository = new AgentCoreShortMemoryRepository("testMemoryId", client, null, "default-session", 100,
+				false, null, null, index);
+		when(client.listActors(any(ListActorsRequest.class))).thenAnswer(invocation -> {
+			ListActorsRequest request = invocation.getArgument(0);
+			if (request.nextToken() == null) {
+				return ListActorsResponse.builder()
+					.actorSummaries(ActorSummary.builder().actorId("actor1").build())
+					.nextToken("actors-1")
+					.build();
+			}
+			return ListActorsResponse.builder()
+				.actorSummaries(ActorSummary.builder().actorId("actor2").build())
+				.build();
+		});
+		when(client.listSessions(any(ListSessionsRequest.class))).thenAnswer(invocation -> {
+			ListSessionsRequest request = invocation.getArgument(0);
+			return ListSessionsResponse.builder()
+				.sessionSummaries(SessionSummary.builder().actorId(request.actorId()).sessionId("session1").build(),
+						SessionSummary.builder().actorId(request.actorId()).sessionId("default-session").build())
+				.build();
+		});
+
+		int reconciled = indexedRepository.reconcileConversationIds();
+
+		assertThat(reconciled).isEqualTo(4);
+		assertThat(indexedRepository.findConversationIds()).containsExactly("actor1", "actor1:session1", "actor2",
+				"actor2:session1");
+		verifyNoMoreInteractions(ignoreStubs(client));
+	}
+
+	@Test
+	void shouldLoadManyConversationsConcurrently() {
+		when(client.listEvents(any(ListEventsRequest.class))).thenAnswer(invocation -> {
+			ListEventsRequest request = invocation.getArgument(0);
+			return ListEventsResponse.builder().events(buildEvent("hello " + request.actorId())).build();
+		});
+
+		var results = memoryRepository.findByConversationIds(List.of("actor1", "actor2:session1", "actor3", "actor1"))
+			.collectMap(AgentCoreShortMemoryRepository.ConversationMessages::conversationId,
+					AgentCoreShortMemoryRepository.ConversationMessages::messages)
+			.block();
+
+		assertThat(results).containsOnlyKeys("actor1", "actor2:session1", "actor3");
+		assertThat(results.get("actor2:session1")).extracting(Message::getText).containsExactly("hello actor2");
+		verify(client, times(3)).listEvents(any(ListEventsRequest.class));
+	}
+
+	@Test
+	void shouldBoundBatchConcurrency() throws Exception {
+		var inFlight = new AtomicInteger();
+		var maxInFlight = new AtomicInteger();
+		var started = new CountDownLatch(2);
+		when(client.listEvents(any(ListEventsRequest.class))).thenAnswer(invocation -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			started.countDown();
+			started.await(1, TimeUnit.SECONDS);
+			Thread.sleep(20);
+			inFlight.decrementAndGet();
+			return ListEventsResponse.builder().events(buildEvent("message")).build();
+		});
+
+		var results = memoryRepository.findByConversationIds(List.of("a1", "a2", "a3", "a4", "a5", "a6"), 2)
+			.collectList()
+			.block();
+
+		assertThat(results).hasSize(6);
+		assertThat(maxInFlight.get()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldFailBatchWhenOneConversationFails() {
+		when(client.listEvents(any(ListEventsRequest.class))).thenThrow(SdkClientException.create("connection reset"));
+
+		assertThatThrownBy(() -> memoryRepository.findByConversationIds(List.of("actor1", "actor2")).blockLast())
+			.isInstanceOf(AgentCoreMemoryException.class);
+	}
+
+	@Test
+	void shouldObserveReadsWithPageAndPayloadMetrics() {
+		var meterRegistry = new SimpleMeterRegistry();
+		memoryRepository.setObservationRegistry(observationRegistry(meterRegistry));
+		stubPages();
+
+		memoryRepository.findByConversationId("actor");
+
+		assertThat(meterRegistry.get("agentcore.memory.operations")
+			.tags("operation", "find", "outcome", "success")
+			.timer()
+			.count()).isEqualTo(1);
+		var fetchTags = new String[] { "operation", "fetch", "outcome", "success" };
+		assertThat(meterRegistry.get("agentcore.memory.pages").tags(fetchTags).summary().totalAmount()).isEqualTo(3);
+		assertThat(meterRegistry.get("agentcore.memory.events").tags(fetchTags).summary().totalAmount()).isEqualTo(5);
+		assertThat(meterRegistry.get("agentcore.memory.payload").tags(fetchTags).summary().totalAmount())
+			.isEqualTo(5 * "message 0".length());
+	}
+
+	@Test
+	void shouldObserveWritesAndThrottledFailures() {
+		var meterRegistry = new SimpleMeterRegistry();
+		memoryRepository.setObservationRegistry(observationRegistry(meterRegistry));
+		when(client.createEvent(any(CreateEventRequest.class)))
+			.thenReturn(CreateEventResponse.builder().event(buildTestEvent()).build())
+			.thenThrow(ThrottledException.builder().message("slow down").build());
+
+		memoryRepository.saveAll("actor", List.of(new UserMessage("héllo")));
+		assertThatThrownBy(() -> memoryRepository.saveAll("actor", List.of(new UserMessage("hello"))))
+			.isInstanceOf(AgentCoreMemoryException.class);
+
+		assertThat(meterRegistry.get("agentcore.memory.payload")
+			.tags("operation", "save", "outcome", "success")
+			.summary()
+			.totalAmount()).isEqualTo(6);
+		assertThat(meterRegistry.get("agentcore.memory.operations")
+			.tags("operation", "save", "outcome", "throttled")
+			.timer()
+			.count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldCoalesceConcurrentReadsOfTheSameConversation() throws Exception {
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		when(client.listEvents(any(ListEventsRequest.class))).thenAnswer(invocation -> {
+			started.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return ListEventsResponse.builder().events(buildEvent("shared")).build();
+		});
+		var results = new ConcurrentLinkedQueue<List<Message>>();
+
+		var leader = new Thread(() -> results.add(memoryRepository.findByConversationId("actor")));
+		leader.start();
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		var followers = List.of(new Thread(() -> results.add(memoryRepository.findByConversationId("actor"))),
+				new Thread(() -> results.add(memoryRepository.findByConversationId("actor:default-session"))));
+		followers.forEach(Thread::start);
+		await().atMost(Duration.ofSeconds(5))
+			.until(() -> followers.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING));
+		release.countDown();
+		leader.join();
+		for (var follower : followers) {
+			follower.join();
+		}
+
+		verify(client, times(1)).listEvents(any(ListEventsRequest.class));
+		assertThat(results).hasSize(3)
+			.allSatisfy(messages -> assertThat(messages).extracting(Message::getText).containsExactly("shared"));
+		results.poll().clear();
+		assertThat(results).allSatisfy(messages -> assertThat(messages).hasSize(1));
+	}
+
+	@Test
+	void shouldReleaseJoinedReadsWhenTheFetchFailsWithAnError() throws Exception {
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		when(client.listEvents(any(ListEventsRequest.class))).thenAnswer(invocation -> {
+			started.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			throw new StackOverflowError("mapping");
+		}).thenReturn(ListEventsResponse.builder().events(buildEvent("recovered")).build());
+		var failures = new ConcurrentLinkedQueue<Throwable>();
+
+		var leader = new Thread(() -> {
+			try {
+				memoryRepository.findByConversationId("actor");
+			}
+			catch (Throwable e) {
+				failures.add(e);
+			}
+		});
+		leader.start();
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		var follower = new Thread(() -> {
+			try {
+				memoryRepository.findByConversationId("actor");
+			}
+			catch (Throwable e) {
+				failures.add(e);
+			}
+		});
+		follower.start();
+		await().atMost(Duration.ofSeconds(5)).until(() -> follower.getState() == Thread.State.WAITING);
+		release.countDown();
+		leader.join(5000);
+		follower.join(5000);
+
+		assertThat(leader.isAlive()).isFalse();
+		assertThat(follower.isAlive()).isFalse();
+		assertThat(failures).hasSize(2)
+			.anySatisfy(e -> assertThat(e).isInstanceOf(StackOverflowError.class))
+			.anySatisfy(e -> assertThat(e).isInstanceOf(AgentCoreMemoryException.class)
+				.hasCauseInstanceOf(StackOverflowError.class));
+		assertThat(memoryRepository.findByConversationId("actor")).extracting(Message::getText)
+			.containsExactly("recovered");
+		verify(client, times(2)).listEvents(any(ListEventsRequest.class));
+	}
+
+	@Test
+	void shouldNotJoinFetchStartedBeforeWrite() throws Exception {
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		when(client.listEvents(any(ListEventsRequest.class))).thenAnswer(invocation -> {
+			if (started.getCount() > 0) {
+				started.countDown();
+				release.await(5, TimeUnit.SECONDS);
+			}
+			return ListEventsResponse.builder().events(buildEvent("message")).build();
+		});
+		when(client.createEvent(any(CreateEventRequest.class)))
+			.thenReturn(CreateEventResponse.builder().event(buildTestEvent()).build());
+
+		var leader = new Thread(() -> memoryRepository.findByConversationId("actor"));
+		leader.start();
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		memoryRepository.saveAll("actor", List.of(new UserMessage("hello")));
+		memoryRepository.findByConversationId("actor");
+		release.countDown();
+		leader.join();
+
+		verify(client, times(2)).listEvents(any(ListEventsRequest.class));
+	}
+
+	@Test
+	void shouldFetchIndependentlyWhenCoalescingIsDisabled() {
+		memoryRepository.setCoalesceReads(false);
+		when(client.listEvents(any(ListEventsRequest.class)))
+			.thenReturn(ListEventsResponse.builder().events(buildEvent("message")).build());
+
+		memoryRepository.findByConversationIds(List.of("actor", "actor:default-session"), 2).blockLast();
+
+		verify(client, times(2)).listEvents(any(ListEventsRequest.class));
+	}
+
+	@Test
+	void shouldOnlyWriteMessagesBeyondTheStoredWindow() {
+		memoryRepository.setDeltaWrites(true);
+		when(client.listEvents(any(ListEventsRequest.class)))
+			.thenReturn(ListEventsResponse.builder().events(buildEvent("message 0"), buildEvent("message 1")).build());
+		when(client.createEvent(any(CreateEventRequest.class)))
+			.thenReturn(CreateEventResponse.builder().event(buildTestEvent()).build());
+
+		var chatMemory = MessageWindowChatMemory.builder()
+			.chatMemoryRepository(memoryRepository)
+			.maxMessages(2)
+			.build();
+		chatMemory.add("actor", List.of(new UserMessage("message 2")));
+
+		var requestCaptor = ArgumentCaptor.forClass(CreateEventRequest.class);
+		verify(client).createEvent(requestCaptor.capture());
+		assertThat(requestCaptor.getValue().payload()).extracting(p -> p.conversational().content().text())
+			.containsExactly("message 2");
+	}
+
+	@Test
+	void shouldWriteNewMessagesThatRepeatTheStoredWindow() {
+		memoryRepository.setDeltaWrites(true);
+		when(client.listEvents(any(ListEventsRequest.class))).thenReturn(ListEventsResponse.builder()
+			.events(buildEvent("ping"), buildAssistantEvent("pong"), buildEvent("ping"), buildAssistantEvent("pong"))
+			.build());
+		when(client.createEvent(any(CreateEventRequest.class)))
+			.thenReturn(CreateEventResponse.builder().event(buildTestEvent()).build());
+
+		var chatMemory = MessageWindowChatMemory.builder()
+			.chatMemoryRepository(memoryRepository)
+			.maxMessages(4)
+			.build();
+		chatMemory.add("actor", List.of(new UserMessage("ping"), new AssistantMessage("pong")));
+
+		var requestCaptor = ArgumentCaptor.forClass(CreateEventRequest.class);
+		verify(client).createEvent(requestCaptor.capture());
+		assertThat(requestCaptor.getValue().payload())
+			.extracting(p -> p.conversational().role(), p -> p.conversational().content().text())
+			.containsExactly(tuple(Role.USER, "ping"), tuple(Role.ASSISTANT, "pong"));
+	}
+
+	@Test
+	void shouldTrackMessagesWithoutText() {
+		memoryRepository.setDeltaWrites(true);
+		when(client.createEvent(any(CreateEventRequest.class)))
+			.thenReturn(CreateEventResponse.builder().event(buildTestEvent()).build());
+		var toolCallOnly = new AssistantMessage(null);
+
+		memoryRepository.saveAll("actor", List.of(toolCallOnly));
+		memoryRepository.saveAll("actor", List.of(toolCallOnly));
+
+		verify(client, times(1)).createEvent(any(CreateEventRequest.class));
+	}
+
+	@Test
+	void shouldSkipWritesOfMessagesAlreadySaved() {
+		memoryRepository.setDeltaWrites(true);
+		when(client.createEvent(any(CreateEventRequest.class)))
+			.thenReturn(CreateEventResponse.builder().event(buildTestEvent()).build());
+		var hi = new UserMessage("hi");
+		var hello = new AssistantMessage("hello");
+
+		memoryRepository.saveAll("actor", List.of(hi, hello));
+		memoryRepository.saveAll("actor", List.of(hi, hello));
+		memoryRepository.saveAll("actor", List.of(hello, new UserMessage("hi"), new AssistantMessage("hello")));
+
+		var requestCaptor = ArgumentCaptor.forClass(CreateEventRequest.class);
+		verify(client, times(2)).createEvent(requestCaptor.capture());
+		assertThat(requestCaptor.getAllValues().get(1).payload())
+			.extracting(p -> p.conversational().role(), p -> p.conversational().content().text())
+			.containsExactly(tuple(Role.USER, "hi"), tuple(Role.ASSISTANT, "hello"));
+	}
+
+	@Test
+	void shouldWriteAllMessagesAfterDeleteOrWhenDeltaWritesAreDisabled() {
+		when(client.createEvent(any(CreateEventRequest.class)))
+			.thenReturn(CreateEventResponse.builder().event(buildTestEvent()).build());
+		when(client.listEvents(any(ListEventsRequest.class))).thenReturn(ListEventsResponse.builder().build());
+
+		memoryRepository.setDeltaWrites(true);
+		var hi = new UserMessage("hi");
+
+		memoryRepository.saveAll("actor", List.of(hi));
+		memoryRepository.deleteByConversationId("actor");
+		memoryRepository.saveAll("actor", List.of(hi));
+		memoryRepository.saveAll("actor", List.of(hi));
+		memoryRepository.setDeltaWrites(false);
+		memoryRepository.saveAll("actor", List.of(hi));
+
+		verify(client, times(3)).createEvent(any(CreateEventRequest.class));
+	}
+
+	private ObservationRegistry observationRegistry(SimpleMeterRegistry meterRegistry) {
+		var observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig()
+			.observationHandler(new DefaultMeterObservationHandler(meterRegistry))
+			.observationHandler(new AgentCoreMemoryMeterObservationHandler(meterRegistry));
+		return observationRegistry;
+	}
+
+	private Event buildAssistantEvent(String text) {
+		return Event.builder()
+			.payload(PayloadType.builder()
+				.conversational(Conversational.builder()
+					.role(Role.ASSISTANT)
+					.content(Content.builder().text(text).build())
+					.build())
+				.build())
+			.build();
+	}
+
+	private Event buildExchangeEvent(String question, String answer, Instant timestamp) {
+		return Event.builder()
+			.eventTimestamp(timestamp)
+			.payload(
+					PayloadType.builder()
+						.conversational(Conversational.builder()
+							.role(Role.USER)
+							.content(Content.builder().text(question).build())
+							.build())
+						.build(),
+					PayloadType.builder()
+						.conversational(Conversational.builder()
+							.role(Role.ASSISTANT)
+							.content(Content.builder().text(answer).build())
+							.build())
+						.build())
+			.build();
+	}
+
+	private Event buildEvent(String text, Instant timestamp) {
+		return buildEvent(text).toBuilder().eventTimestamp(timestamp).build();
+	}
+
+}
@@ -0,0 +1,90 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepositoryConfiguration.HttpClientType;
+import software.amazon.awssdk.services.bedrockagentcore.BedrockAgentCoreClient;
+import software.amazon.awssdk.services.bedrockagentcore.model.ListActorsRequest;
+import software.amazon.awssdk.services.bedrockagentcore.model.ListEventsRequest;
+import software.amazon.awssdk.services.bedrockagentcore.model.ListEventsResponse;
+import software.amazon.awssdk.services.bedrockagentcore.model.ThrottledException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BedrockAgentCoreClientFactoryTest {
+
+	@Test
+	void shouldPreferApacheClientWhenNotConfigured() {
+		assertThat(BedrockAgentCoreClientFactory.resolveHttpClientType(null)).isEqualTo(HttpClientType.APACHE);
+	}
+
+	@Test
+	void shouldUseConfiguredClient() {
+		assertThat(BedrockAgentCoreClientFactory.resolveHttpClientType(HttpClientType.URL_CONNECTION))
+			.isEqualTo(HttpClientType.URL_CONNECTION);
+	}
+
+	@Test
+	void shouldFailWhenConfiguredClientIsMissing() {
+		assertThatThrownBy(() -> BedrockAgentCoreClientFactory.resolveHttpClientType(HttpClientType.CRT))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("AwsCrtHttpClient");
+	}
+
+	@Test
+	void shouldWarmUpConnectionsAndIgnoreFailures() {
+		var client = mock(BedrockAgentCoreClient.class);
+		when(client.listEvents(any(ListEventsRequest.class)))
+			.thenThrow(ThrottledException.builder().message("slow down").build());
+
+		AgentCoreShortMemoryRepositoryAutoConfiguration.warmUp(client, "testMemoryId", 3, Duration.ofSeconds(1),
+				Runnable::run);
+
+		verify(client, times(3)).listEvents(any(ListEventsRequest.class));
+		verify(client, never()).listActors(any(ListActorsRequest.class));
+	}
+
+	@Test
+	void shouldNotWaitForWarmUpLongerThanTimeout() throws Exception {
+		var client = mock(BedrockAgentCoreClient.class);
+		var release = new CountDownLatch(1);
+		when(client.listEvents(any(ListEventsRequest.class))).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return ListEventsResponse.builder().build();
+		});
+		var executor = Executors.newSingleThreadExecutor();
+		try {
+			long start = System.nanoTime();
+			AgentCoreShortMemoryRepositoryAutoConfiguration.warmUp(client, "testMemoryId", 1, Duration.ofMillis(50),
+					executor);
+
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+		}
+		finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldSkipWarmUpWhenDisabled() {
+		var client = mock(BedrockAgentCoreClient.class);
+
+		AgentCoreShortMemoryRepositoryAutoConfiguration.warmUp(client, "testMemoryId", 0, Duration.ofSeconds(1),
+				Runnable::run);
+
+		verify(client, never()).listEvents(any(ListEventsRequest.class));
+	}
+
+}
@@ -0,0 +1,202 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepositoryConfiguration.CircuitBreaker;
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepositoryConfiguration.ReadFallback;
+import org.springaicommunity.agentcore.memory.AgentCoreShortMemoryRepositoryConfiguration.WriteFallback;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakingChatMemoryRepositoryTest {
+
+	private static final AgentCoreMemoryException OUTAGE = new AgentCoreMemoryException("Failed to fetch events");
+
+	@Mock
+	private ChatMemoryRepository delegate;
+
+	private final MutableClock clock = new MutableClock();
+
+	@Test
+	void shouldServeCachedHistoryOnceOpen() {
+		var repository = repository(ReadFallback.CACHE, WriteFallback.BUFFER);
+		List<Message> history = List.of(new UserMessage("hello"), new AssistantMessage("hi"));
+		when(delegate.findByConversationId("actor")).thenReturn(history).thenThrow(OUTAGE);
+
+		assertThat(repository.findByConversationId("actor")).isEqualTo(history);
+		assertThat(repository.findByConversationId("actor")).isEqualTo(history);
+		assertThat(repository.findByConversationId("actor")).isEqualTo(history);
+
+		assertThat(repository.getCircuitBreaker().getState()).isEqualTo(AgentCoreMemoryCircuitBreaker.State.OPEN);
+		assertThat(repository.findByConversationId("actor")).isEqualTo(history);
+		verify(delegate, times(3)).findByConversationId("actor");
+	}
+
+	@Test
+	void shouldBufferWritesAndReplayThemInOrder() {
+		var repository = repository(ReadFallback.EMPTY, WriteFallback.BUFFER);
+		var first = List.<Message>of(new UserMessage("first"));
+		var second = List.<Message>of(new UserMessage("second"));
+		when(delegate.findByConversationId("actor")).thenThrow(OUTAGE).thenThrow(OUTAGE).thenReturn(List.of());
+		repository.findByConversationId("actor");
+		repository.findByConversationId("actor");
+
+		repository.saveAll("actor", first);
+		repository.saveAll("actor", second);
+
+		assertThat(repository.getBufferedWriteCount()).isEqualTo(2);
+		assertThat(repository.findByConversationId("actor")).extracting(Message::getText).containsExactly("second");
+		verify(delegate, never()).saveAll(any(), any());
+
+		clock.advance(Duration.ofSeconds(31));
+		repository.findByConversationId("actor");
+
+		InOrder inOrder = inOrder(delegate);
+		inOrder.verify(delegate).saveAll("actor", first);
+		inOrder.verify(delegate).saveAll("actor", second);
+		assertThat(repository.getBufferedWriteCount()).isZero();
+		assertThat(repository.getCircuitBreaker().getState()).isEqualTo(AgentCoreMemoryCircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void shouldReplaceCachedHistoryWithSavedWindow() {
+		var repository = repository(ReadFallback.CACHE, WriteFallback.BUFFER);
+		var a = new UserMessage("a");
+		var b = new AssistantMessage("b");
+		var c = new UserMessage("c");
+		var d = new AssistantMessage("d");
+		when(delegate.findByConversationId("actor")).thenReturn(List.of(a, b)).thenThrow(OUTAGE);
+
+		repository.findByConversationId("actor");
+		repository.saveAll("actor", List.of(a, b, c, d));
+
+		assertThat(repository.findByConversationId("actor")).containsExactly(a, b, c, d);
+		repository.saveAll("actor", List.of(c, d, new UserMessage("e")));
+		assertThat(repository.findByConversationId("actor")).extracting(Message::getText)
+			.containsExactly("c", "d", "e");
+	}
+
+	@Test
+	void shouldReopenWhenTrialCallFails() {
+		var repository = repository(ReadFallback.EMPTY, WriteFallback.BUFFER);
+		when(delegate.findByConversationId("actor")).thenThrow(OUTAGE);
+		repository.findByConversationId("actor");
+		repository.findByConversationId("actor");
+
+		clock.advance(Duration.ofSeconds(31));
+		assertThat(repository.findByConversationId("actor")).isEmpty();
+
+		assertThat(repository.getCircuitBreaker().getState()).isEqualTo(AgentCoreMemoryCircuitBreaker.State.OPEN);
+		verify(delegate, times(3)).findByConversationId("actor");
+	}
+
+	@Test
+	void shouldFailFastWithFailPolicies() {
+		var repository = repository(ReadFallback.FAIL, WriteFallback.FAIL);
+		when(delegate.findByConversationId("actor")).thenThrow(OUTAGE);
+
+		assertThatThrownBy(() -> repository.findByConversationId("actor")).isSameAs(OUTAGE);
+		assertThatThrownBy(() -> repository.findByConversationId("actor")).isSameAs(OUTAGE);
+		assertThatThrownBy(() -> repository.saveAll("actor", List.of(new UserMessage("hello"))))
+			.isInstanceOf(AgentCoreMemoryException.class)
+			.hasMessageContaining("circuit breaker is open");
+		verify(delegate, never()).saveAll(any(), any());
+	}
+
+	@Test
+	void shouldNotCountInvalidRequestsAsOutages() {
+		var repository = repository(ReadFallback.EMPTY, WriteFallback.BUFFER);
+		when(delegate.findByConversationId("actor")).thenThrow(new IllegalStateException("Unsupported role"));
+
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> repository.findByConversationId("actor"))
+				.isInstanceOf(IllegalStateException.class);
+		}
+		assertThat(repository.getCircuitBreaker().getState()).isEqualTo(AgentCoreMemoryCircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void shouldNotCloseHalfOpenBreakerOnInvalidRequests() {
+		var repository = repository(ReadFallback.EMPTY, WriteFallback.BUFFER);
+		when(delegate.findByConversationId("actor")).thenThrow(OUTAGE);
+		repository.findByConversationId("actor");
+		repository.findByConversationId("actor");
+		clock.advance(Duration.ofSeconds(31));
+		when(delegate.findByConversationId("invalid")).thenThrow(new IllegalStateException("Unsupported role"));
+
+		assertThatThrownBy(() -> repository.findByConversationId("invalid")).isInstanceOf(IllegalStateException.class);
+		assertThat(repository.getCircuitBreaker().getState()).isEqualTo(AgentCoreMemoryCircuitBreaker.State.HALF_OPEN);
+
+		repository.findByConversationId("actor");
+		assertThat(repository.getCircuitBreaker().getState()).isEqualTo(AgentCoreMemoryCircuitBreaker.State.OPEN);
+	}
+
+	@Test
+	void shouldReportBreakerStateAsHealthDetails() {
+		var repository = repository(ReadFallback.EMPTY, WriteFallback.BUFFER);
+		var healthIndicator = new AgentCoreMemoryHealthIndicator(repository,
+				new CircuitBreaker(true, null, null, null, null, null, null, null).healthStatusWhenOpen());
+		var strictHealthIndicator = new AgentCoreMemoryHealthIndicator(repository, "DOWN");
+		assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+
+		when(delegate.findByConversationId("actor")).thenThrow(OUTAGE);
+		repository.findByConversationId("actor");
+		repository.findByConversationId("actor");
+
+		var health = healthIndicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("circuitBreaker", AgentCoreMemoryCircuitBreaker.State.OPEN)
+			.containsEntry("bufferedWrites", 0);
+		assertThat(strictHealthIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+	}
+
+	private CircuitBreakingChatMemoryRepository repository(ReadFallback readFallback, WriteFallback writeFallback) {
+		var settings = new CircuitBreaker(true, 2, Duration.ofSeconds(30), readFallback, writeFallback, null, null,
+				null);
+		return new CircuitBreakingChatMemoryRepository(delegate, settings, null, clock);
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant instant = Instant.parse("2025-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			instant = instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+
+	}
+
+}
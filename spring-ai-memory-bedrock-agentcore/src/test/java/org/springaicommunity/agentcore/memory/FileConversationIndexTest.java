@@ -0,0 +1,70 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileConversationIndexTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void shouldPersistChangesAcrossReopen() throws Exception {
+		var file = tempDir.resolve("index/conversations.log");
+		try (var index = new FileConversationIndex(file)) {
+			index.add("actor1");
+			index.add("actor2:session1");
+			index.add("actor3");
+			index.remove("actor1");
+		}
+
+		try (var reopened = new FileConversationIndex(file)) {
+			assertThat(reopened.conversationIds()).containsExactly("actor2:session1", "actor3");
+		}
+	}
+
+	@Test
+	void shouldCompactLogOnOpen() throws Exception {
+		var file = tempDir.resolve("conversations.log");
+		try (var index = new FileConversationIndex(file)) {
+			index.add("actor1");
+			index.remove("actor1");
+			index.add("actor2");
+		}
+
+		try (var reopened = new FileConversationIndex(file)) {
+			assertThat(Files.readAllLines(file)).containsExactly("+actor2");
+		}
+	}
+
+	@Test
+	void shouldReplaceAllConversations() throws Exception {
+		var file = tempDir.resolve("conversations.log");
+		try (var index = new FileConversationIndex(file)) {
+			index.add("stale");
+			index.replaceAll(List.of("actor1", "actor2:session1"));
+			index.add("actor3");
+
+			assertThat(index.conversationIds()).containsExactly("actor1", "actor2:session1", "actor3");
+		}
+
+		try (var reopened = new FileConversationIndex(file)) {
+			assertThat(reopened.conversationIds()).containsExactly("actor1", "actor2:session1", "actor3");
+		}
+	}
+
+	@Test
+	void shouldRejectLineBreaksInConversationIds() throws Exception {
+		try (var index = new FileConversationIndex(tempDir.resolve("conversations.log"))) {
+			assertThatThrownBy(() -> index.add("actor\nsession")).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+}
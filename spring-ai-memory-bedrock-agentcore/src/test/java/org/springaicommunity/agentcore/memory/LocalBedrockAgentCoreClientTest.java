@@ -0,0 +1,142 @@
+package org.springaicommunity.agentcore.memory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import software.amazon.awssdk.services.bedrockagentcore.model.ListEventsRequest;
+import software.amazon.awssdk.services.bedrockagentcore.model.ThrottledException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalBedrockAgentCoreClientTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void shouldPaginateEventsPerActorAndSession() {
+		var client = new LocalBedrockAgentCoreClient();
+		var repository = repository(client);
+		IntStream.range(0, 5)
+			.forEach(i -> repository.saveAll("actor:session", List.of(new UserMessage("message " + i))));
+		repository.saveAll("actor", List.of(new UserMessage("other session")));
+
+		assertThat(repository.findByConversationId("actor:session")).extracting(Message::getText)
+			.containsExactly("message 0", "message 1", "message 2", "message 3", "message 4");
+
+		var firstPage = client.listEvents(ListEventsRequest.builder()
+			.memoryId("memory")
+			.actorId("actor")
+			.sessionId("session")
+			.maxResults(2)
+			.includePayloads(false)
+			.build());
+		assertThat(firstPage.events()).hasSize(2).allMatch(event -> event.payload().isEmpty());
+		assertThat(firstPage.nextToken()).isNotNull();
+	}
+
+	@Test
+	void shouldListEventsNewestFirstLikeAgentCore() {
+		var client = new LocalBedrockAgentCoreClient();
+		var repository = repository(client);
+		IntStream.range(0, 5).forEach(i -> repository.saveAll("actor", List.of(new UserMessage("message " + i))));
+
+		var firstPage = client.listEvents(ListEventsRequest.builder()
+			.memoryId("memory")
+			.actorId("actor")
+			.sessionId("default-session")
+			.maxResults(2)
+			.includePayloads(true)
+			.build());
+
+		assertThat(firstPage.events()).extracting(event -> event.payload().get(0).conversational().content().text())
+			.containsExactly("message 4", "message 3");
+		assertThat(repository.findRecentMessages("actor", 2)).extracting(Message::getText)
+			.containsExactly("message 3", "message 4");
+	}
+
+	@Test
+	void shouldNotShiftPagesWhenEventsAreCreatedInBetween() {
+		var client = new LocalBedrockAgentCoreClient();
+		var repository = repository(client);
+		IntStream.range(0, 5).forEach(i -> repository.saveAll("actor", List.of(new UserMessage("message " + i))));
+		var request = ListEventsRequest.builder()
+			.memoryId("memory")
+			.actorId("actor")
+			.sessionId("default-session")
+			.maxResults(2)
+			.includePayloads(true)
+			.build();
+
+		var texts = new ArrayList<String>();
+		var page = client.listEvents(request);
+		repository.saveAll("actor", List.of(new UserMessage("message 5")));
+		while (true) {
+			page.events().forEach(event -> texts.add(event.payload().get(0).conversational().content().text()));
+			if (page.nextToken() == null) {
+				break;
+			}
+			page = client.listEvents(request.toBuilder().nextToken(page.nextToken()).build());
+			repository.saveAll("actor", List.of(new UserMessage("message " + (texts.size() + 4))));
+		}
+
+		assertThat(texts).containsExactly("message 4", "message 3", "message 2", "message 1", "message 0");
+	}
+
+	@Test
+	void shouldPersistEventsAndDeletesAcrossRestarts() {
+		var file = tempDir.resolve("memory.log");
+		try (var client = new LocalBedrockAgentCoreClient(file, null, null, 0, new Random())) {
+			var repository = repository(client);
+			repository.saveAll("actor", List.of(new UserMessage("hello"), new AssistantMessage("hi")));
+			repository.saveAll("deleted", List.of(new UserMessage("bye")));
+			repository.deleteByConversationId("deleted");
+		}
+
+		try (var client = new LocalBedrockAgentCoreClient(file, null, null, 0, new Random())) {
+			var repository = new AgentCoreShortMemoryRepository("memory", client, null, "default-session", 2, false,
+					null, null, new InMemoryConversationIndex());
+
+			assertThat(repository.findByConversationId("actor")).extracting(Message::getText)
+				.containsExactly("hello", "hi");
+			assertThat(repository.findByConversationId("deleted")).isEmpty();
+			assertThat(repository.reconcileConversationIds()).isEqualTo(1);
+			assertThat(repository.findConversationIds()).containsExactly("actor");
+		}
+	}
+
+	@Test
+	void shouldInjectThrottling() {
+		var client = new LocalBedrockAgentCoreClient(null, null, null, 1, new Random());
+
+		assertThatThrownBy(() -> repository(client).findByConversationId("actor"))
+			.isInstanceOf(AgentCoreMemoryException.class)
+			.hasCauseInstanceOf(ThrottledException.class);
+	}
+
+	@Test
+	void shouldInjectLatency() {
+		var client = new LocalBedrockAgentCoreClient(null, Duration.ofMillis(50), Duration.ofMillis(10), 0,
+				new Random(42));
+
+		long start = System.nanoTime();
+		repository(client).findByConversationId("actor");
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+	}
+
+	private AgentCoreShortMemoryRepository repository(LocalBedrockAgentCoreClient client) {
+		return new AgentCoreShortMemoryRepository("memory", client, null, "default-session", 2, false);
+	}
+
+}